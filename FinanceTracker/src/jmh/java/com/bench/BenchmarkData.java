@@ -0,0 +1,75 @@
+package com.bench;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import com.entity.Budget;
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.tools.DatasetGenerator;
+
+/**
+ * One synthetic user with a fixed number of transactions, from the seeded DatasetGenerator,
+ * so runs are comparable across commits.
+ *
+ * Transactions are spread over {@link #MONTHS} months starting at {@link #FIRST_MONTH} and are
+ * sorted by date; budgets, spent counters and monthly rollups match them.
+ */
+public class BenchmarkData {
+
+    public static final long SEED = 42L;
+    public static final YearMonth FIRST_MONTH = YearMonth.of(2024, 1);
+    public static final int MONTHS = 24;
+
+    // Month queried by the benchmarks, in the middle of the generated range
+    public static final YearMonth TARGET_MONTH = FIRST_MONTH.plusMonths(MONTHS / 2);
+
+    private final DatasetGenerator.UserData data;
+
+    private BenchmarkData(int transactionCount, long seed) {
+        data = new DatasetGenerator(seed, FIRST_MONTH.plusMonths(MONTHS - 1), MONTHS)
+                .generateUser(0, transactionCount);
+    }
+
+    public static BenchmarkData generate(int transactions) {
+        return new BenchmarkData(transactions, SEED);
+    }
+
+    public static BenchmarkData generate(int transactions, long seed) {
+        return new BenchmarkData(transactions, seed);
+    }
+
+    /**
+     * An expense in the target month, for validateExpense
+     */
+    public Transaction sampleExpense() {
+        // Groceries: every generated user has it
+        Category category = getCategories().stream()
+                .filter(c -> "Groceries".equals(c.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        Transaction tx = new Transaction();
+        tx.setUserId(getUser().getId());
+        tx.setType(TransactionType.EXPENSE);
+        tx.setAmount(Money.ofMinor(42_50L));
+        tx.setDate(LocalDate.of(TARGET_MONTH.getYear(), TARGET_MONTH.getMonthValue(), 15));
+        tx.setCategoryId(category.getId());
+        return tx;
+    }
+
+    public User getUser() { return data.getUser(); }
+
+    public List<Category> getCategories() { return data.getCategories(); }
+
+    public List<Transaction> getTransactions() { return data.getTransactions(); }
+
+    public List<Budget> getBudgets() { return data.getBudgets(); }
+
+    public List<MonthlyRollup> getRollups() { return data.getRollups(); }
+}
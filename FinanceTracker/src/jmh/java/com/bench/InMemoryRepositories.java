@@ -0,0 +1,172 @@
+package com.bench;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.dto.CategoryTypeTotal;
+import com.entity.Budget;
+import com.entity.Category;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.repository.BudgetRepository;
+import com.repository.CategoryRepository;
+import com.repository.MonthlyRollupRepository;
+import com.repository.TransactionRepository;
+
+/**
+ * Read-only, in-memory stand-ins for the repositories used on the benchmarked paths.
+ *
+ * Each stand-in is a dynamic proxy that answers the query methods those paths call, indexed
+ * the way the MongoDB indexes are (budgets and rollups by user/month, transactions by date),
+ * so cost scales like the real queries without the network hop. Any other method throws.
+ * Every answered query counts as one database round trip (see roundTrips()).
+ */
+public final class InMemoryRepositories {
+
+    private static final LongAdder ROUND_TRIPS = new LongAdder();
+
+    private InMemoryRepositories() {
+    }
+
+    public static BudgetRepository budgets(BenchmarkData data) {
+        Map<String, List<Budget>> byMonth = data.getBudgets().stream()
+                .collect(Collectors.groupingBy(b -> monthKey(b.getUserId(), b.getYear(), b.getMonth())));
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findByUserIdAndYearAndMonth", args -> byMonth.getOrDefault(
+                monthKey(args[0], args[1], args[2]), List.of()));
+        methods.put("findByUserIdAndYearAndMonthAndCategoryId", args -> byMonth
+                .getOrDefault(monthKey(args[0], args[1], args[2]), List.of()).stream()
+                .filter(b -> Objects.equals(b.getCategoryId(), args[3]))
+                .findFirst());
+        methods.put("findByUserIdAndYearAndMonthAndCategoryIdIsNull", args -> byMonth
+                .getOrDefault(monthKey(args[0], args[1], args[2]), List.of()).stream()
+                .filter(Budget::isOverallBudget)
+                .findFirst());
+        return proxy(BudgetRepository.class, methods);
+    }
+
+    public static CategoryRepository categories(BenchmarkData data) {
+        Map<String, Category> byId = data.getCategories().stream()
+                .collect(Collectors.toMap(Category::getId, c -> c));
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findByUserId", args -> data.getCategories().stream()
+                .filter(c -> c.getUserId().equals(args[0]))
+                .collect(Collectors.toList()));
+        methods.put("findById", args -> Optional.ofNullable(byId.get(args[0])));
+        methods.put("findAllById", args -> {
+            List<Category> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) args[0]) {
+                Category category = byId.get(id);
+                if (category != null) {
+                    found.add(category);
+                }
+            }
+            return found;
+        });
+        return proxy(CategoryRepository.class, methods);
+    }
+
+    public static MonthlyRollupRepository rollups(BenchmarkData data) {
+        Map<String, List<MonthlyRollup>> byMonth = data.getRollups().stream()
+                .collect(Collectors.groupingBy(r -> monthKey(r.getUserId(), r.getYear(), r.getMonth())));
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("findByUserIdAndYearAndMonth", args -> byMonth.getOrDefault(
+                monthKey(args[0], args[1], args[2]), List.of()));
+        return proxy(MonthlyRollupRepository.class, methods);
+    }
+
+    /**
+     * Answers sumByCategoryAndType by scanning the date range, as the $match/$group pipeline does
+     */
+    public static TransactionRepository transactions(BenchmarkData data) {
+        List<Transaction> byDate = data.getTransactions();
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("sumByCategoryAndType", args -> {
+            String userId = (String) args[0];
+            LocalDate start = (LocalDate) args[1];
+            LocalDate end = (LocalDate) args[2];
+
+            Map<String, CategoryTypeTotal> groups = new HashMap<>();
+            for (int i = firstOnOrAfter(byDate, start); i < byDate.size(); i++) {
+                Transaction tx = byDate.get(i);
+                if (tx.getDate().isAfter(end)) {
+                    break;
+                }
+                if (!userId.equals(tx.getUserId())) {
+                    continue;
+                }
+                CategoryTypeTotal group = groups.computeIfAbsent(tx.getCategoryId() + "|" + tx.getType(),
+                        key -> new CategoryTypeTotal(tx.getCategoryId(), tx.getType(), 0, 0));
+                group.setTotal(group.getTotal() + tx.getAmount().minor());
+                group.setCount(group.getCount() + 1);
+            }
+            return new ArrayList<>(groups.values());
+        });
+        return proxy(TransactionRepository.class, methods);
+    }
+
+    private static int firstOnOrAfter(List<Transaction> byDate, LocalDate date) {
+        int low = 0;
+        int high = byDate.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byDate.get(mid).getDate().isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Queries answered so far by all stand-ins, i.e. the round trips the real repositories would make
+     */
+    public static long roundTrips() {
+        return ROUND_TRIPS.sum();
+    }
+
+    private static String monthKey(Object userId, Object year, Object month) {
+        return userId + "|" + year + "|" + month;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        Set<String> supported = new HashSet<>(methods.keySet());
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "InMemory" + type.getSimpleName() + supported;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    Function<Object[], Object> impl = methods.get(method.getName());
+                    if (impl == null) {
+                        throw new UnsupportedOperationException(
+                                type.getSimpleName() + "." + method.getName() + " is not stubbed for benchmarks");
+                    }
+                    ROUND_TRIPS.increment();
+                    return impl.apply(args);
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+}
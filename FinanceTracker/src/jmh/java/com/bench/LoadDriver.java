@@ -0,0 +1,243 @@
+package com.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tools.DatasetGenerator;
+
+/**
+ * Closed-loop HTTP load driver for comparing the platform-thread and virtual-thread modes.
+ *
+ * Each of {@code clients} simulated clients sends a request, waits for the response, and sends
+ * the next one, rotating through {@code paths}; no thread is held per client, so thousands of
+ * clients run from one process. Clients log in as seeded users (see DatasetSeedRunner).
+ * Throughput, error count and latency percentiles measured after the warmup are printed and
+ * written as JSON to {@code out}, tagged with {@code label}.
+ *
+ * Arguments are key=value pairs (defaults): url=http://localhost:8080 clients=1000 users=100
+ *   password=password warmup=10s duration=60s timeout=30s label=run
+ *   paths=/api/budgets/status,/api/budgets/monthly-summary,/api/analytics/category-breakdown
+ *   out=target/load-result.json
+ */
+public class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String baseUrl;
+    private final int clients;
+    private final int users;
+    private final String password;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+    private final String label;
+    private final List<String> paths;
+    private final File out;
+
+    private final HttpClient http;
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile long measureFrom;
+    private volatile long measureUntil;
+
+    LoadDriver(Map<String, String> options) {
+        baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        users = Integer.parseInt(options.getOrDefault("users", "100"));
+        password = options.getOrDefault("password", "password");
+        warmup = parseSeconds(options.getOrDefault("warmup", "10s"));
+        duration = parseSeconds(options.getOrDefault("duration", "60s"));
+        timeout = parseSeconds(options.getOrDefault("timeout", "30s"));
+        label = options.getOrDefault("label", "run");
+        paths = Arrays.asList(options.getOrDefault("paths",
+                "/api/budgets/status,/api/budgets/monthly-summary,/api/analytics/category-breakdown").split(","));
+        out = new File(options.getOrDefault("out", "target/load-result.json"));
+
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        new LoadDriver(options).run();
+    }
+
+    void run() throws Exception {
+        List<String> tokens = login();
+        System.out.printf("Logged in %d users; %d clients, warmup %ds, measuring %ds%n",
+                tokens.size(), clients, warmup.toSeconds(), duration.toSeconds());
+
+        long start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        measureUntil = measureFrom + duration.toNanos();
+
+        List<Client> all = new ArrayList<>(clients);
+        List<CompletableFuture<Void>> done = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(tokens.get(i % tokens.size()), i);
+            all.add(client);
+            done.add(client.start());
+        }
+        CompletableFuture.allOf(done.toArray(new CompletableFuture[0]))
+                .get(warmup.plus(duration).plus(timeout).toSeconds() + 30, TimeUnit.SECONDS);
+
+        report(all);
+    }
+
+    private List<String> login() throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String body = MAPPER.writeValueAsString(Map.of(
+                    "email", DatasetGenerator.emailFor(i), "password", password));
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                tokens.add(MAPPER.readTree(response.body()).path("token").asText());
+            }
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalStateException("No seeded user could log in at " + baseUrl
+                    + "; seed users with finance.seed.users first");
+        }
+        return tokens;
+    }
+
+    private void report(List<Client> all) throws IOException {
+        int total = 0;
+        for (Client c : all) {
+            total += c.count;
+        }
+        long[] latencies = new long[total];
+        int n = 0;
+        for (Client c : all) {
+            System.arraycopy(c.latencies, 0, latencies, n, c.count);
+            n += c.count;
+        }
+        Arrays.sort(latencies);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", label);
+        result.put("clients", clients);
+        result.put("paths", paths);
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("requests", total);
+        result.put("errors", errors.get());
+        result.put("throughputPerSecond", total / (double) duration.toSeconds());
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double p : new double[] { 50, 90, 99, 99.9 }) {
+            percentiles.put("p" + (p == (long) p ? String.valueOf((long) p) : String.valueOf(p)),
+                    millis(percentile(latencies, p)));
+        }
+        percentiles.put("max", millis(total > 0 ? latencies[total - 1] : 0));
+        result.put("latencyMillis", percentiles);
+
+        String json = MAPPER.writeValueAsString(result);
+        System.out.println(json);
+        if (out.getParentFile() != null) {
+            out.getParentFile().mkdirs();
+        }
+        MAPPER.writeValue(out, result);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static Duration parseSeconds(String value) {
+        return value.startsWith("P") ? Duration.parse(value)
+                : Duration.ofSeconds(Long.parseLong(value.replaceFirst("s$", "")));
+    }
+
+    /**
+     * One simulated client: requests are strictly sequential, so its state needs no locking
+     */
+    private class Client {
+        private final String token;
+        private final CompletableFuture<Void> finished = new CompletableFuture<>();
+        private int next;
+        private long[] latencies = new long[1024];
+        private int count;
+
+        Client(String token, int offset) {
+            this.token = token;
+            this.next = offset % paths.size();
+        }
+
+        CompletableFuture<Void> start() {
+            send();
+            return finished;
+        }
+
+        // Each response triggers the next request from its callback; nothing is chained or nested
+        private void send() {
+            long sent = System.nanoTime();
+            if (sent >= measureUntil) {
+                finished.complete(null);
+                return;
+            }
+            String path = paths.get(next);
+            next = (next + 1) % paths.size();
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long now = System.nanoTime();
+                        boolean failed = error != null || response.statusCode() >= 400;
+                        if (sent >= measureFrom && now <= measureUntil) {
+                            if (failed) {
+                                errors.incrementAndGet();
+                            } else {
+                                record(now - sent);
+                            }
+                        }
+                        send();
+                    });
+        }
+
+        private void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Token signing and verification. extractEmail cycles through a pool of live tokens,
+ * one per simulated user, so tokenCache=true measures the verified-token cache hit path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean tokenCache;
+
+    @Param({ "1000" })
+    private int users;
+
+    private JwtUtil jwtUtil;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheEnabled", tokenCache);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheTtl", Duration.ofMinutes(1));
+        jwtUtil.init();
+
+        tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = jwtUtil.generateToken("user" + i + "@example.com");
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("bench@example.com");
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        String token = tokens[next];
+        next = next + 1 == tokens.length ? 0 : next + 1;
+        return jwtUtil.extractEmail(token);
+    }
+}
@@ -0,0 +1,77 @@
+package com.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bench.BenchmarkData;
+import com.bench.InMemoryRepositories;
+import com.service.RollupService;
+
+/**
+ * The analytics endpoints' aggregation loops, called directly on the controller
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class AnalyticsControllerBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int transactions;
+
+    @Param({ "true", "false" })
+    private boolean rollups;
+
+    private AnalyticsController controller;
+    private Authentication auth;
+    private int year;
+    private int month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(transactions);
+
+        RollupService rollupService = new RollupService();
+        ReflectionTestUtils.setField(rollupService, "rollupRepository", InMemoryRepositories.rollups(data));
+        ReflectionTestUtils.setField(rollupService, "transactionRepository", InMemoryRepositories.transactions(data));
+        ReflectionTestUtils.setField(rollupService, "enabled", rollups);
+        ReflectionTestUtils.setField(rollupService, "backfilled", true);
+
+        controller = new AnalyticsController();
+        ReflectionTestUtils.setField(controller, "rollupService", rollupService);
+        ReflectionTestUtils.setField(controller, "categoryRepository", InMemoryRepositories.categories(data));
+
+        auth = new UsernamePasswordAuthenticationToken(data.getUser(), null, List.of());
+        year = BenchmarkData.TARGET_MONTH.getYear();
+        month = BenchmarkData.TARGET_MONTH.getMonthValue();
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlySummary() {
+        return controller.monthlySummary(auth, year, month);
+    }
+
+    @Benchmark
+    public Map<String, Double> categoryBreakdown() {
+        return controller.categoryBreakdown(auth, year, month);
+    }
+}
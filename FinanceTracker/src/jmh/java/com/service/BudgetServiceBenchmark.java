@@ -0,0 +1,114 @@
+package com.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bench.BenchmarkData;
+import com.bench.InMemoryRepositories;
+import com.dto.BudgetStatusResponse;
+import com.dto.MonthlySummaryResponse;
+import com.entity.Transaction;
+import com.entity.User;
+
+/**
+ * Budget status, monthly summary and expense validation for one user/month.
+ * rollups=true reads the monthly rollups; rollups=false aggregates the month's transactions.
+ *
+ * The roundTrips secondary result counts repository queries at the same rate as the primary
+ * score, so roundTrips / score is the number of database round trips per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class BudgetServiceBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int transactions;
+
+    @Param({ "true", "false" })
+    private boolean rollups;
+
+    private BudgetService budgetService;
+    private User user;
+    private Transaction expense;
+    private int year;
+    private int month;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(transactions);
+
+        RollupService rollupService = new RollupService();
+        ReflectionTestUtils.setField(rollupService, "rollupRepository", InMemoryRepositories.rollups(data));
+        ReflectionTestUtils.setField(rollupService, "transactionRepository", InMemoryRepositories.transactions(data));
+        ReflectionTestUtils.setField(rollupService, "enabled", rollups);
+        ReflectionTestUtils.setField(rollupService, "backfilled", true);
+
+        budgetService = new BudgetService();
+        ReflectionTestUtils.setField(budgetService, "budgetRepository", InMemoryRepositories.budgets(data));
+        ReflectionTestUtils.setField(budgetService, "categoryRepository", InMemoryRepositories.categories(data));
+        ReflectionTestUtils.setField(budgetService, "rollupService", rollupService);
+
+        // Measure the computation itself, not closed-month snapshot reads
+        SnapshotService snapshotService = new SnapshotService();
+        ReflectionTestUtils.setField(snapshotService, "enabled", false);
+        ReflectionTestUtils.setField(budgetService, "snapshotService", snapshotService);
+
+        user = data.getUser();
+        expense = data.sampleExpense();
+        year = BenchmarkData.TARGET_MONTH.getYear();
+        month = BenchmarkData.TARGET_MONTH.getMonthValue();
+    }
+
+    @Benchmark
+    public BudgetStatusResponse getBudgetStatus(RoundTrips counter) {
+        long before = InMemoryRepositories.roundTrips();
+        BudgetStatusResponse status = budgetService.getBudgetStatus(user, year, month);
+        counter.roundTrips += InMemoryRepositories.roundTrips() - before;
+        return status;
+    }
+
+    @Benchmark
+    public MonthlySummaryResponse getMonthlySummary(RoundTrips counter) {
+        long before = InMemoryRepositories.roundTrips();
+        MonthlySummaryResponse summary = budgetService.getMonthlySummary(user, year, month);
+        counter.roundTrips += InMemoryRepositories.roundTrips() - before;
+        return summary;
+    }
+
+    @Benchmark
+    public BudgetService.BudgetValidationResult validateExpense(RoundTrips counter) {
+        long before = InMemoryRepositories.roundTrips();
+        BudgetService.BudgetValidationResult result = budgetService.validateExpense(user, expense);
+        counter.roundTrips += InMemoryRepositories.roundTrips() - before;
+        return result;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RoundTrips {
+        public long roundTrips;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+        }
+    }
+}
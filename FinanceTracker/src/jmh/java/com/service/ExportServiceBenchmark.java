@@ -0,0 +1,100 @@
+package com.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bench.BenchmarkData;
+import com.bench.InMemoryRepositories;
+import com.entity.Transaction;
+import com.entity.User;
+
+/**
+ * Excel export row writing: every transaction is written through the SXSSF row window and the
+ * workbook is streamed to a null output, as GET /api/export/excel does minus the cursor.
+ * Documents are shaped like the export projection; one in ten lacks categoryName, so the
+ * per-export category cache is exercised too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ExportServiceBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int transactions;
+
+    private ExportService exportService;
+    private User user;
+    private List<Document> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(transactions);
+
+        exportService = new ExportService();
+        ReflectionTestUtils.setField(exportService, "categoryRepository", InMemoryRepositories.categories(data));
+        ReflectionTestUtils.setField(exportService, "rowWindow", 100);
+
+        user = data.getUser();
+        rows = new ArrayList<>(data.getTransactions().size());
+        int i = 0;
+        for (Transaction tx : data.getTransactions()) {
+            Document doc = new Document("_id", new ObjectId(tx.getId()))
+                    .append("amount", tx.getAmount().minor())
+                    .append("type", tx.getType().name())
+                    .append("date", Date.from(tx.getDate().atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                    .append("note", tx.getNote())
+                    .append("categoryId", tx.getCategoryId());
+            if (i++ % 10 != 0) {
+                doc.append("categoryName", tx.getCategoryName());
+            }
+            rows.add(doc);
+        }
+    }
+
+    @Benchmark
+    public int writeRows() throws IOException {
+        ExportService.CategoryNames categoryNames = exportService.new CategoryNames(user);
+
+        SXSSFWorkbook wb = new SXSSFWorkbook(100);
+        wb.setCompressTempFiles(true);
+        try {
+            Sheet s = wb.createSheet("transactions");
+            ExportService.writeHeader(s.createRow(0));
+            int r = 1;
+            for (Document row : rows) {
+                ExportService.writeRow(s.createRow(r++), row, categoryNames);
+            }
+            wb.write(OutputStream.nullOutputStream());
+            return r;
+        } finally {
+            wb.close();
+            wb.dispose();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+
+/**
+ * POST /api/transactions write path under concurrent load (64 request threads), against a
+ * MongoDB stand-in that costs one round trip per call plus a small per-document cost:
+ *
+ * - direct:    one insert per request, as TransactionService.save does
+ * - persisted: write-behind queue, each request waits for its batch (ack=persisted)
+ * - accepted:  write-behind queue, requests return once queued (ack=accepted); sustained
+ *              throughput is bounded by the writers, with the full queue pushing back
+ *
+ * Validation and budget reservation are the same in every mode and left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Threads(64)
+@Fork(1)
+public class IngestQueueBenchmark {
+
+    @Param({ "direct", "persisted", "accepted" })
+    private String mode;
+
+    @Param({ "500" })
+    private long roundTripMicros;
+
+    @Param({ "5" })
+    private long perDocumentMicros;
+
+    @Param({ "2" })
+    private int writers;
+
+    private MongoTemplate mongoTemplate;
+    private TransactionIngestQueue ingestQueue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        BulkOperations bulk = mock(BulkOperations.class, withSettings().stubOnly());
+        // Batch size seen by insert, read back by execute on the same writer thread
+        ThreadLocal<Integer> pending = new ThreadLocal<>();
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Transaction.class)).thenReturn(bulk);
+        when(bulk.insert(anyList())).thenAnswer(invocation -> {
+            pending.set(invocation.<List<?>>getArgument(0).size());
+            return bulk;
+        });
+        when(bulk.execute()).thenAnswer(invocation -> {
+            roundTrip(pending.get());
+            return null;
+        });
+        doAnswer(invocation -> {
+            roundTrip(1);
+            return invocation.getArgument(0);
+        }).when(mongoTemplate).insert(any(Transaction.class));
+
+        ingestQueue = new TransactionIngestQueue();
+        ReflectionTestUtils.setField(ingestQueue, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(ingestQueue, "rollupService", mock(RollupService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(ingestQueue, "budgetReservationService",
+                mock(BudgetReservationService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(ingestQueue, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        ReflectionTestUtils.setField(ingestQueue, "enabled", !"direct".equals(mode));
+        ReflectionTestUtils.setField(ingestQueue, "capacity", 10000);
+        ReflectionTestUtils.setField(ingestQueue, "writers", writers);
+        ReflectionTestUtils.setField(ingestQueue, "batchSize", 500);
+        ReflectionTestUtils.setField(ingestQueue, "offerTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(ingestQueue, "persistTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(ingestQueue, "drainTimeout", Duration.ofSeconds(30));
+        ingestQueue.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ingestQueue.stop();
+    }
+
+    @Benchmark
+    public Object create() {
+        Transaction tx = new Transaction();
+        tx.setUserId("bench-user");
+        tx.setAmount(Money.of(12.5));
+        tx.setType(TransactionType.EXPENSE);
+        tx.setDate(LocalDate.of(2025, 3, 14));
+
+        switch (mode) {
+            case "direct":
+                return mongoTemplate.insert(tx);
+            case "persisted":
+                return ingestQueue.awaitPersisted(ingestQueue.submit(tx));
+            default:
+                return ingestQueue.submit(tx);
+        }
+    }
+
+    private void roundTrip(int documents) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros + documents * perDocumentMicros));
+    }
+}
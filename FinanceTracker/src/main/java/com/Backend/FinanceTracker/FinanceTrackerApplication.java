@@ -2,10 +2,14 @@ package com.Backend.FinanceTracker;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 @SpringBootApplication(scanBasePackages = {"com"})
 @EnableMongoRepositories(basePackages = {"com.repository"})
+// Registers every @Document up front, including the ones used only through MongoTemplate
+// (snapshots, data versions), so MongoIndexInitializer creates their indexes too
+@EntityScan(basePackages = {"com.entity"})
 public class FinanceTrackerApplication {
 
 	public static void main(String[] args) {
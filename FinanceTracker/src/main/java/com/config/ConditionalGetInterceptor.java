@@ -0,0 +1,57 @@
+package com.config;
+
+import java.time.YearMonth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.entity.User;
+import com.service.DataVersionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET for the read endpoints the frontend refetches on every navigation
+ * (registered in WebConfig).
+ *
+ * The strong ETag is the user's data version plus the current month (which the endpoints
+ * default to). A matching If-None-Match is answered with 304 before the handler runs, so
+ * neither the queries nor the serialization happen. The version is read before the handler,
+ * and bumped as the last step of every write, after the state derived from it was updated
+ * (the TransactionsChangedEvent listeners order themselves ahead of the bump).
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof User user)) {
+            return true;
+        }
+
+        // Responses differ per user and must be revalidated every time
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+
+        String etag = etagOf(dataVersionService.current(user.getId()), YearMonth.now());
+        // Sets the ETag header, and the 304 status when it matches
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    static String etagOf(long version, YearMonth currentMonth) {
+        return "\"" + version + "-" + currentMonth + "\"";
+    }
+}
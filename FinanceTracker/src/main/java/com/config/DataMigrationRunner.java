@@ -0,0 +1,111 @@
+package com.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.service.BudgetReservationService;
+import com.service.DbRefMigrationService;
+import com.service.MoneyMigrationService;
+import com.service.RollupService;
+
+/**
+ * Runs the online data migrations on startup, in dependency order:
+ *  1. DBRef user/category -> userId/categoryId (finance.migration.dbref.enabled)
+ *  2. Double amounts -> int64 minor units (finance.migration.money.enabled)
+ *  3. Rebuild rollups and spent counters in minor units, once, after the cut-over
+ *     (finance.migration.money.rebuild-derived)
+ *  4. Backfill the monthly rollups, once (finance.rollups.enabled); until then they are not read
+ *  5. Seed budget spent counters from the rollups (finance.budgets.atomic-reservation)
+ *  6. Drop the DBRef fields (finance.migration.dbref.drop-legacy)
+ *
+ * Every step is batched and checkpointed, so in a web application it runs on a
+ * background thread and only has to catch up on documents written since the last
+ * start. For the initial pass, run it as a one-off command next to the still-serving
+ * old version:
+ *   java -jar FinanceTracker.jar --spring.main.web-application-type=none
+ */
+@Component
+public class DataMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataMigrationRunner.class);
+
+    @Autowired
+    private DbRefMigrationService dbRefMigrationService;
+
+    @Autowired
+    private MoneyMigrationService moneyMigrationService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private BudgetReservationService budgetReservationService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MongoIndexInitializer mongoIndexInitializer;
+
+    @Value("${finance.migration.dbref.enabled:true}")
+    private boolean dbRefEnabled;
+
+    @Value("${finance.migration.dbref.drop-legacy:false}")
+    private boolean dropLegacy;
+
+    @Value("${finance.migration.money.enabled:true}")
+    private boolean moneyEnabled;
+
+    @Value("${finance.migration.money.rebuild-derived:false}")
+    private boolean moneyRebuildDerived;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (applicationContext instanceof WebApplicationContext) {
+            Thread thread = new Thread(this::migrate, "data-migration");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            migrate();
+        }
+    }
+
+    private void migrate() {
+        // The copies and counter seeding rely on the unique budget/rollup keys
+        mongoIndexInitializer.awaitIndexes();
+        try {
+            if (dbRefEnabled) {
+                dbRefMigrationService.copyIds();
+            }
+            if (moneyEnabled) {
+                moneyMigrationService.convertAmounts();
+                if (moneyRebuildDerived) {
+                    moneyMigrationService.rebuildDerived();
+                }
+            }
+            if (rollupService.isEnabled()) {
+                rollupService.backfill();
+            } else {
+                rollupService.forgetBackfill();
+            }
+            if (budgetReservationService.isEnabled()) {
+                long seeded = budgetReservationService.initializeMissing();
+                if (seeded > 0) {
+                    log.info("Seeded spent counters for {} budgets", seeded);
+                }
+            }
+            if (dbRefEnabled && dropLegacy) {
+                dbRefMigrationService.dropLegacy();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Data migration did not complete, it will resume on next start: {}", e.getMessage());
+        }
+    }
+}
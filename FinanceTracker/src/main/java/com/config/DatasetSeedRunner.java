@@ -0,0 +1,64 @@
+package com.config;
+
+import java.time.YearMonth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.tools.DatasetGenerator;
+import com.tools.DatasetSeeder;
+
+/**
+ * Seeds the database with synthetic users for load testing (see DatasetGenerator).
+ *
+ * Usage, against the mongod from docker-compose:
+ *   java -jar FinanceTracker.jar --spring.main.web-application-type=none \
+ *        --finance.seed.users=10000 --finance.seed.seed=42
+ * Seeded users log in as seed.user{N}@example.com with finance.seed.password.
+ */
+@Component
+@ConditionalOnExpression("${finance.seed.users:0} > 0")
+public class DatasetSeedRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeedRunner.class);
+
+    @Autowired
+    private DatasetSeeder datasetSeeder;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${finance.seed.users:0}")
+    private int users;
+
+    @Value("${finance.seed.seed:42}")
+    private long seed;
+
+    @Value("${finance.seed.months:36}")
+    private int months;
+
+    // Newest month with data; defaults to the current month
+    @Value("${finance.seed.last-month:}")
+    private String lastMonth;
+
+    @Value("${finance.seed.password:password}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        YearMonth last = lastMonth.isBlank() ? YearMonth.now() : YearMonth.parse(lastMonth);
+        DatasetGenerator generator = new DatasetGenerator(seed, last, months);
+
+        log.info("Seeding {} users (seed {}, {} to {})", users, seed, generator.getFirstMonth(), last);
+        // One bcrypt hash shared by all users; hashing per user would dominate the run
+        DatasetSeeder.SeedResult result = datasetSeeder.seed(generator, users, passwordEncoder.encode(password));
+        log.info("Seeding finished: {}", result);
+    }
+}
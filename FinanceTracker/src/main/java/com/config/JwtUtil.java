@@ -1,16 +1,26 @@
 package com.config;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
@@ -18,8 +28,58 @@ public class JwtUtil {
     // At least 256-bit (32 bytes) for HS256
     private static final String SECRET = "finance_secret_key_finance_secret_key_123";
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    // Key and parser are immutable and thread-safe, so they are built once
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
+    @Value("${finance.security.token-cache.enabled:true}")
+    private boolean tokenCacheEnabled;
+
+    @Value("${finance.security.token-cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    @Value("${finance.security.token-cache.ttl:PT1M}")
+    private Duration tokenCacheTtl;
+
+    // Verified token -> claims; an entry never outlives the token's own expiry
+    private Cache<String, Claims> verifiedTokens;
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        if (tokenCacheEnabled) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(tokenCacheMaxSize)
+                    .expireAfter(new Expiry<String, Claims>() {
+                        @Override
+                        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                            long ttl = tokenCacheTtl.toNanos();
+                            if (claims.getExpiration() != null) {
+                                long untilExpiry = TimeUnit.MILLISECONDS.toNanos(
+                                        claims.getExpiration().getTime() - System.currentTimeMillis());
+                                ttl = Math.max(0, Math.min(ttl, untilExpiry));
+                            }
+                            return ttl;
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+
+                        @Override
+                        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
     }
 
     public String generateToken(String email) {
@@ -30,16 +90,55 @@ public class JwtUtil {
                 .setSubject(email)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public String extractEmail(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return extractClaims(token).getSubject();
+    }
+
+    /**
+     * Verifies the token, or returns the claims of an earlier successful verification.
+     * Invalid tokens are never cached.
+     */
+    public Claims extractClaims(String token) {
+        if (verifiedTokens != null) {
+            Claims cached = verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                cacheHits.increment();
+                return cached;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (verifiedTokens != null) {
+                verifiedTokens.put(token, claims);
+            }
+            return claims;
+        } finally {
+            verifications.increment();
+            verificationNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /** Signature verifications performed (cache misses and invalid tokens included) */
+    public long getVerificationCount() {
+        return verifications.sum();
+    }
+
+    /** Total time spent verifying signatures */
+    public long getVerificationNanos() {
+        return verificationNanos.sum();
+    }
+
+    public long getTokenCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getTokenCacheSize() {
+        return verifiedTokens != null ? verifiedTokens.estimatedSize() : 0;
     }
 }
@@ -0,0 +1,130 @@
+package com.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.service.AlertStreamService;
+import com.service.TransactionIngestQueue;
+import com.service.TrendService;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Application metrics on top of what Spring Boot already records
+ * (HTTP server requests, JVM/GC, Mongo command latency and connection pool):
+ *
+ * - @Timed on service methods (see BudgetService)
+ * - Documents per Mongo command and collection (MongoCommandMetrics)
+ * - Per-request command counts and N+1 detection (QueryTrackingListener, QueryTrackingFilter)
+ * - JWT verification time and the auth caches' hit rates and sizes
+ * - Hit rate and size of the closed-month trend cache
+ * - Open budget alert streams
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(MeterRegistry registry) {
+        return builder -> builder.addCommandListener(new MongoCommandMetrics(registry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "finance.query-tracking.enabled", havingValue = "true", matchIfMissing = true)
+    public MongoClientSettingsBuilderCustomizer queryTrackingCustomizer() {
+        return builder -> builder.addCommandListener(new QueryTrackingListener());
+    }
+
+    @Bean
+    public MeterBinder trendCacheMetrics(TrendService trendService) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", trendService, s -> s.stats().hitCount())
+                    .tag("cache", "trend-months").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", trendService, s -> s.stats().missCount())
+                    .tag("cache", "trend-months").tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("cache.size", trendService, TrendService::size)
+                    .tag("cache", "trend-months")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder alertStreamMetrics(AlertStreamService alertStreamService) {
+        return registry -> {
+            Gauge.builder("finance.alerts.stream.connections", alertStreamService,
+                            AlertStreamService::connections)
+                    .description("Open /api/budgets/alerts/stream connections on this node")
+                    .register(registry);
+            FunctionCounter.builder("finance.alerts.stream.dropped", alertStreamService,
+                            AlertStreamService::dropped)
+                    .description("Alert streams closed because they fell too far behind")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder ingestMetrics(TransactionIngestQueue ingestQueue) {
+        return registry -> {
+            Gauge.builder("finance.ingest.queue.size", ingestQueue, TransactionIngestQueue::size)
+                    .description("Transactions queued for write-behind and not yet written")
+                    .register(registry);
+            FunctionCounter.builder("finance.ingest.written", ingestQueue, TransactionIngestQueue::written)
+                    .description("Queued transactions written to MongoDB")
+                    .register(registry);
+            FunctionCounter.builder("finance.ingest.failed", ingestQueue, TransactionIngestQueue::failed)
+                    .description("Queued transactions whose write failed")
+                    .register(registry);
+            FunctionCounter.builder("finance.ingest.derived-failed", ingestQueue, TransactionIngestQueue::derivedFailed)
+                    .description("Written queued transactions whose rollup update or change listeners failed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authMetrics(JwtUtil jwtUtil, PrincipalCache principalCache) {
+        return registry -> {
+            FunctionTimer.builder("jwt.verifications", jwtUtil,
+                            JwtUtil::getVerificationCount, JwtUtil::getVerificationNanos, TimeUnit.NANOSECONDS)
+                    .description("JWT signature verifications (token cache misses)")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", jwtUtil, JwtUtil::getTokenCacheHits)
+                    .tag("cache", "jwt-tokens").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", jwtUtil, JwtUtil::getVerificationCount)
+                    .tag("cache", "jwt-tokens").tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("cache.size", jwtUtil, JwtUtil::getTokenCacheSize)
+                    .tag("cache", "jwt-tokens")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", principalCache, c -> c.stats().hitCount())
+                    .tag("cache", "principals").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", principalCache, c -> c.stats().missCount())
+                    .tag("cache", "principals").tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", principalCache, c -> c.stats().evictionCount())
+                    .tag("cache", "principals")
+                    .register(registry);
+            Gauge.builder("cache.size", principalCache, PrincipalCache::size)
+                    .tag("cache", "principals")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records how many documents each MongoDB command returned or wrote, per command and collection
+ * ({@code mongodb.driver.commands.documents}).
+ *
+ * Latency per command/collection and the connection pool gauges come from Spring Boot's own
+ * Mongo listeners ({@code mongodb.driver.commands}, {@code mongodb.driver.pool.*}); this adds the
+ * document counts needed to tell a slow query from a large one.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+    static final String METRIC = "mongodb.driver.commands.documents";
+
+    private final MeterRegistry registry;
+
+    // The collection is only in the command document, so it is remembered until the reply
+    private final Map<Integer, String> inFlightCollections = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = collectionName(event.getCommandName(), event.getCommand());
+        if (collection != null) {
+            inFlightCollections.put(event.getRequestId(), collection);
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = inFlightCollections.remove(event.getRequestId());
+        long documents = documentCount(event.getCommandName(), event.getResponse());
+        if (documents < 0) {
+            return;
+        }
+        DistributionSummary.builder(METRIC)
+                .description("Documents returned or written by a MongoDB command")
+                .baseUnit("documents")
+                .tag("command", event.getCommandName())
+                .tag("collection", collection != null ? collection : "unknown")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(documents);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlightCollections.remove(event.getRequestId());
+    }
+
+    static String collectionName(String commandName, BsonDocument command) {
+        if (command == null) {
+            return null;
+        }
+        // getMore names the collection in a field; other commands use the command key's value
+        BsonValue value = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    /**
+     * Documents in the reply, or -1 for commands that do not work on documents (hello, ping, ...)
+     */
+    static long documentCount(String commandName, BsonDocument response) {
+        if (response == null) {
+            return -1;
+        }
+        switch (commandName) {
+            case "find":
+            case "aggregate":
+                return batchSize(response, "firstBatch");
+            case "getMore":
+                return batchSize(response, "nextBatch");
+            case "insert":
+            case "update": // matched plus upserted
+            case "delete":
+            case "count":
+                return numberOr(response, "n", 0);
+            case "findAndModify":
+                BsonValue value = response.get("value");
+                return value != null && value.isDocument() ? 1 : 0;
+            case "distinct":
+                BsonValue values = response.get("values");
+                return values != null && values.isArray() ? values.asArray().size() : 0;
+            default:
+                return -1;
+        }
+    }
+
+    private static long batchSize(BsonDocument response, String batchField) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor == null || !cursor.isDocument()) {
+            return 0;
+        }
+        BsonValue batch = cursor.asDocument().get(batchField);
+        return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+    }
+
+    private static long numberOr(BsonDocument response, String field, long fallback) {
+        BsonValue value = response.get(field);
+        return value != null && value.isNumber() ? value.asNumber().longValue() : fallback;
+    }
+}
@@ -0,0 +1,99 @@
+package com.config;
+
+import java.util.List;
+
+import org.bson.types.Decimal128;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import com.entity.Money;
+import com.entity.TransactionType;
+
+/**
+ * Money is stored as int64 minor units.
+ *
+ * Documents written before that hold amounts as doubles in major units; they are
+ * converted on read until MoneyMigrationService has rewritten them.
+ */
+@Configuration
+public class MongoConversionConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(
+                MoneyToLong.INSTANCE,
+                LongToMoney.INSTANCE,
+                IntegerToMoney.INSTANCE,
+                DoubleToMoney.INSTANCE,
+                Decimal128ToMoney.INSTANCE,
+                StringToTransactionType.INSTANCE));
+    }
+
+    @WritingConverter
+    enum MoneyToLong implements Converter<Money, Long> {
+        INSTANCE;
+
+        @Override
+        public Long convert(Money source) {
+            return source.minor();
+        }
+    }
+
+    @ReadingConverter
+    enum LongToMoney implements Converter<Long, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Long source) {
+            return Money.ofMinor(source);
+        }
+    }
+
+    // Small values written by $inc with an int, or by hand
+    @ReadingConverter
+    enum IntegerToMoney implements Converter<Integer, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Integer source) {
+            return Money.ofMinor(source);
+        }
+    }
+
+    // Legacy: major units as a double
+    @ReadingConverter
+    enum DoubleToMoney implements Converter<Double, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Double source) {
+            return Money.of(source);
+        }
+    }
+
+    // Legacy/manual: major units as a decimal
+    @ReadingConverter
+    enum Decimal128ToMoney implements Converter<Decimal128, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Decimal128 source) {
+            return Money.of(source.bigDecimalValue());
+        }
+    }
+
+    // Legacy documents may hold "expense"/"Income"
+    @ReadingConverter
+    enum StringToTransactionType implements Converter<String, TransactionType> {
+        INSTANCE;
+
+        @Override
+        public TransactionType convert(String source) {
+            return TransactionType.parse(source);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.config;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the @Indexed / @CompoundIndex indexes declared on the entities.
+ *
+ * Spring Boot no longer creates them automatically (auto-index-creation is off by default),
+ * so without this the date-bounded aggregations and the unique budget/rollup keys
+ * would have no index behind them. Runs once on a daemon thread after startup,
+ * so an unreachable database neither delays startup nor blocks shutdown.
+ *
+ * It starts before the ApplicationRunners; the ones that write (migrations, rollup rebuild)
+ * call awaitIndexes() first, so their upserts already run against the unique keys.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Value("${finance.mongo.ensure-indexes:true}")
+    private boolean ensureIndexes;
+
+    @Value("${finance.mongo.ensure-indexes-timeout:PT5M}")
+    private Duration ensureIndexesTimeout;
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (!ensureIndexes) {
+            done.complete(null);
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                createIndexes();
+            } finally {
+                done.complete(null);
+            }
+        }, "mongo-index-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Block until index creation has finished (or given up), at most ensure-indexes-timeout
+     */
+    public void awaitIndexes() {
+        try {
+            done.get(ensureIndexesTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Indexes not created after {}, continuing without them", ensureIndexesTimeout);
+        } catch (ExecutionException e) {
+            // createIndexes handles its own failures
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void createIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+                resolver.resolveIndexFor(entity.getTypeInformation()).forEach(indexOps::createIndex);
+            } catch (DataAccessResourceFailureException e) {
+                log.warn("Could not create indexes, database unreachable: {}", e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Could not create indexes for {}: {}", entity.getCollection(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bounded, TTL-based cache of authenticated users keyed by JWT subject (email).
+ *
+ * - Saves and deletes of a User made through this instance evict it immediately
+ * - Changes made elsewhere (another instance, the shell) are visible after finance.security.principal-cache.ttl
+ * - Unknown subjects are not cached
+ */
+@Component
+public class PrincipalCache extends AbstractMongoEventListener<User> {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${finance.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${finance.security.principal-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Cache<String, User> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findByEmail(String email) {
+        User cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Looked up outside the cache so that a missing user is not remembered
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(u -> cache.put(email, u));
+        return user;
+    }
+
+    /**
+     * Hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public void invalidateUser(String userId) {
+        // The email may have changed, so match on id
+        cache.asMap().values().removeIf(u -> userId.equals(u.getId()));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        User user = event.getSource();
+        if (user.getId() != null) {
+            invalidateUser(user.getId());
+        }
+        if (user.getEmail() != null) {
+            cache.invalidate(user.getEmail());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Object id = event.getSource().get("_id");
+        if (id instanceof String || id instanceof ObjectId) {
+            invalidateUser(id.toString());
+        } else {
+            // Deleted by an arbitrary query
+            invalidateAll();
+        }
+    }
+}
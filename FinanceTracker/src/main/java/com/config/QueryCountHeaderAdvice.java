@@ -0,0 +1,40 @@
+package com.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev mode: adds {@code X-Query-Count: commands=N; documents=M} to JSON responses.
+ *
+ * Set just before the body is written, so it covers everything the handler did without
+ * buffering the response; streamed responses (Excel export) carry no header.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "finance.query-tracking.header", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String HEADER = "X-Query-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryTracker.RequestQueries queries = QueryTracker.current();
+        if (queries != null) {
+            response.getHeaders().set(HEADER,
+                    "commands=" + queries.getCommands() + "; documents=" + queries.getDocuments());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,142 @@
+package com.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * Per-request count of MongoDB commands, documents and query shapes.
+ *
+ * Bound to the request thread by QueryTrackingFilter and fed by QueryTrackingListener; the
+ * synchronous driver publishes command events on the calling thread, so no other context
+ * needs to be propagated. Work on other threads (startup migrations, async tasks) is not tracked.
+ */
+public final class QueryTracker {
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    private QueryTracker() {
+    }
+
+    public static RequestQueries start() {
+        RequestQueries queries = new RequestQueries();
+        CURRENT.set(queries);
+        return queries;
+    }
+
+    /**
+     * Queries recorded so far on this thread, or null outside a tracked request
+     */
+    public static RequestQueries current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Command name, collection and the filter with every value replaced by "?", e.g.
+     * {@code find budgets {userId:?,year:?,month:?}}. Two queries with the same shape differ only
+     * in parameters, so many of them in one request usually mean a per-row query in a loop.
+     */
+    static String shapeOf(String commandName, String collection, BsonDocument command) {
+        StringBuilder shape = new StringBuilder(commandName).append(' ').append(collection);
+        BsonValue filter = filterOf(commandName, command);
+        if (filter != null) {
+            shape.append(' ');
+            appendShape(shape, filter, 0);
+        }
+        return shape.toString();
+    }
+
+    private static BsonValue filterOf(String commandName, BsonDocument command) {
+        switch (commandName) {
+            case "find":
+            case "distinct":
+                return command.get("filter", command.get("query"));
+            case "count":
+            case "findAndModify":
+                return command.get("query");
+            case "aggregate":
+                return command.get("pipeline");
+            case "update":
+            case "delete":
+                // First statement only; bulk writes are one command whatever their size
+                BsonValue statements = command.get("update".equals(commandName) ? "updates" : "deletes");
+                if (statements != null && statements.isArray() && !statements.asArray().isEmpty()
+                        && statements.asArray().get(0).isDocument()) {
+                    return statements.asArray().get(0).asDocument().get("q");
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static void appendShape(StringBuilder out, BsonValue value, int depth) {
+        if (depth > 6) {
+            out.append('…');
+        } else if (value.isDocument()) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) out.append(',');
+                first = false;
+                out.append(entry.getKey()).append(':');
+                appendShape(out, entry.getValue(), depth + 1);
+            }
+            out.append('}');
+        } else if (value.isArray()) {
+            // Consecutive elements of the same shape collapse, so $in lists of any length match
+            BsonArray array = value.asArray();
+            out.append('[');
+            String previous = null;
+            for (BsonValue element : array) {
+                StringBuilder elementShape = new StringBuilder();
+                appendShape(elementShape, element, depth + 1);
+                String s = elementShape.toString();
+                if (!s.equals(previous)) {
+                    if (previous != null) out.append(',');
+                    out.append(s);
+                    previous = s;
+                }
+            }
+            out.append(']');
+        } else {
+            out.append('?');
+        }
+    }
+
+    public static class RequestQueries {
+        private final long startedNanos = System.nanoTime();
+        private int commands;
+        private long documents;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+        void recordCommand(String shape) {
+            commands++;
+            if (shape != null) {
+                shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        void recordDocuments(long count) {
+            documents += count;
+        }
+
+        public int getCommands() { return commands; }
+
+        public long getDocuments() { return documents; }
+
+        // Shape -> times seen in this request, in first-seen order
+        public Map<String, Integer> getShapes() { return shapes; }
+
+        public long elapsedMillis() {
+            return (System.nanoTime() - startedNanos) / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.config;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Tracks MongoDB commands per /api request (see QueryTracker) and logs requests that
+ * exceed the configured thresholds, or repeat one query shape often enough to suggest N+1.
+ *
+ * Runs ahead of the security filters, so principal lookups are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "finance.query-tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTrackingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryTrackingFilter.class);
+
+    @Value("${finance.query-tracking.max-commands:20}")
+    private int maxCommands;
+
+    @Value("${finance.query-tracking.max-documents:5000}")
+    private long maxDocuments;
+
+    // Same query shape this many times in one request is reported as a suspected N+1
+    @Value("${finance.query-tracking.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        QueryTracker.RequestQueries queries = QueryTracker.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryTracker.stop();
+            report(request, queries);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryTracker.RequestQueries queries) {
+        String route = request.getMethod() + " " + request.getRequestURI();
+
+        if (queries.getCommands() > maxCommands || queries.getDocuments() > maxDocuments) {
+            log.warn("{}: {} Mongo commands, {} documents in {} ms",
+                    route, queries.getCommands(), queries.getDocuments(), queries.elapsedMillis());
+        }
+        repeatedShapes(queries).forEach((shape, count) ->
+                log.warn("Suspected N+1 in {}: {}x {}", route, count, shape));
+    }
+
+    /**
+     * Query shapes seen at least repeat-threshold times
+     */
+    Map<String, Integer> repeatedShapes(QueryTracker.RequestQueries queries) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        queries.getShapes().forEach((shape, count) -> {
+            if (count >= repeatThreshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,38 @@
+package com.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Feeds MongoDB command events into the current request's QueryTracker, if any
+ */
+public class QueryTrackingListener implements CommandListener {
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryTracker.RequestQueries queries = QueryTracker.current();
+        if (queries == null) {
+            return;
+        }
+        String commandName = event.getCommandName();
+        String collection = MongoCommandMetrics.collectionName(commandName, event.getCommand());
+        // getMore continues a cursor; it is a round trip but not a new query shape
+        String shape = collection != null && !"getMore".equals(commandName)
+                ? QueryTracker.shapeOf(commandName, collection, event.getCommand())
+                : null;
+        queries.recordCommand(shape);
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        QueryTracker.RequestQueries queries = QueryTracker.current();
+        if (queries == null) {
+            return;
+        }
+        long documents = MongoCommandMetrics.documentCount(event.getCommandName(), event.getResponse());
+        if (documents > 0) {
+            queries.recordDocuments(documents);
+        }
+    }
+}
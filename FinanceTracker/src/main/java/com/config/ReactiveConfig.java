@@ -0,0 +1,20 @@
+package com.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive stack option (--spring.profiles.active=reactive).
+ *
+ * Runs alongside the servlet endpoints rather than replacing them: the reactive MongoDB
+ * client and repositories (com.repository.Reactive*) back the /api/reactive routes in
+ * ReactiveController, which Spring MVC serves asynchronously, so no request thread waits
+ * on the database. Outside this profile the reactive client is not created at all
+ * (see spring.autoconfigure.exclude in application.properties).
+ */
+@Configuration
+@Profile("reactive")
+@EnableReactiveMongoRepositories(basePackages = {"com.repository"})
+public class ReactiveConfig {
+}
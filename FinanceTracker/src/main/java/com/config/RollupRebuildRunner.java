@@ -0,0 +1,36 @@
+package com.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.service.DerivedStateService;
+
+/**
+ * Rebuilds all monthly rollups from raw transactions on startup,
+ * then resets the budget spent counters and rollover carry-overs from them, re-evaluates the
+ * stored alert levels and marks all snapshots stale.
+ *
+ * Usage:
+ *   java -jar FinanceTracker.jar --finance.rollups.rebuild=true
+ * Add --spring.main.web-application-type=none to run it as a one-off command.
+ */
+@Component
+@ConditionalOnProperty(name = "finance.rollups.rebuild", havingValue = "true")
+public class RollupRebuildRunner implements ApplicationRunner {
+
+    @Autowired
+    private DerivedStateService derivedStateService;
+
+    @Autowired
+    private MongoIndexInitializer mongoIndexInitializer;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // The rebuild upserts rollups by their unique key
+        mongoIndexInitializer.awaitIndexes();
+        derivedStateService.rebuildAll();
+    }
+}
@@ -0,0 +1,12 @@
+package com.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs (@Scheduled), e.g. SnapshotRegenerationJob
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
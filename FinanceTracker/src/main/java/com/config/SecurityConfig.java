@@ -15,6 +15,8 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -28,6 +30,11 @@ public class SecurityConfig {
         http.cors().and().csrf().disable()
             .authorizeHttpRequests()
             .requestMatchers("/api/auth/**").permitAll()
+            // Health checks and Prometheus scrapes carry no JWT
+            .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+            // Async results (reactive endpoints) are written on a second dispatch without the JWT filter;
+            // the request itself was authorized on the first
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .anyRequest().authenticated()
             .and()
             .sessionManagement()
@@ -43,7 +50,9 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(Arrays.asList("http://localhost:5173"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        config.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "If-None-Match"));
+        // Conditional GETs (ConditionalGetInterceptor) need the ETag readable by the frontend
+        config.setExposedHeaders(Arrays.asList("ETag"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
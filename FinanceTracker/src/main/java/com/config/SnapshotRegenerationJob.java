@@ -0,0 +1,64 @@
+package com.config;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.entity.MonthlySnapshot;
+import com.entity.User;
+import com.service.BudgetService;
+import com.service.SnapshotService;
+
+/**
+ * Rebuilds the closed-month snapshots that late writes marked stale (see SnapshotService).
+ * Only stale snapshots are touched; a month nobody edits is never recomputed.
+ */
+@Component
+@ConditionalOnProperty(name = "finance.snapshots.enabled", havingValue = "true", matchIfMissing = true)
+public class SnapshotRegenerationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotRegenerationJob.class);
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Value("${finance.snapshots.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${finance.snapshots.regenerate-interval:PT1M}",
+               fixedDelayString = "${finance.snapshots.regenerate-interval:PT1M}")
+    public void regenerate() {
+        int regenerated = 0;
+        try {
+            List<MonthlySnapshot> stale;
+            do {
+                stale = snapshotService.findStale(batchSize);
+                for (MonthlySnapshot snapshot : stale) {
+                    User user = new User();
+                    user.setId(snapshot.getUserId());
+                    budgetService.refreshSnapshot(user,
+                            YearMonth.of(snapshot.getYear(), snapshot.getMonth()), snapshot);
+                    regenerated++;
+                }
+                // Bounded per run: a month invalidated again while it was rebuilt stays stale until the next run
+            } while (stale.size() == batchSize && regenerated < 10 * batchSize);
+        } catch (DataAccessException e) {
+            log.warn("Snapshot regeneration stopped after {}: {}", regenerated, e.getMessage());
+            return;
+        }
+        if (regenerated > 0) {
+            log.info("Regenerated {} stale monthly snapshots", regenerated);
+        }
+    }
+}
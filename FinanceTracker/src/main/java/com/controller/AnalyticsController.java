@@ -1,6 +1,5 @@
 package com.controller;
 
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
@@ -12,16 +11,27 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.entity.Transaction;
+import com.dto.TrendResponse;
+import com.entity.Category;
+import com.entity.Money;
 import com.entity.User;
-import com.service.TransactionService;
+import com.repository.CategoryRepository;
+import com.service.MonthlyTotals;
+import com.service.RollupService;
+import com.service.TrendService;
 
 @RestController
 @RequestMapping("/api/analytics")
 public class AnalyticsController {
 
     @Autowired
-    private TransactionService transactionService;
+    private RollupService rollupService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TrendService trendService;
 
     @GetMapping("/monthly-summary")
     public Map<String, Object> monthlySummary(Authentication auth,
@@ -31,24 +41,19 @@ public class AnalyticsController {
         User user = (User) auth.getPrincipal();
         YearMonth ym = (year != null && month != null) ? YearMonth.of(year, month) : YearMonth.now();
 
-        LocalDate start = ym.atDay(1);
-        LocalDate end = ym.atEndOfMonth();
+        return summaryOf(ym, rollupService.getMonthlyTotals(user, ym));
+    }
 
-        double income = 0.0, expense = 0.0;
-        for (Transaction t : transactionService.findByUser(user)) {
-            if (t.getDate() == null) continue;
-            if (!t.getDate().isBefore(start) && !t.getDate().isAfter(end)) {
-                if ("INCOME".equalsIgnoreCase(t.getType())) income += t.getAmount() != null ? t.getAmount() : 0.0;
-                else expense += t.getAmount() != null ? t.getAmount() : 0.0;
-            }
-        }
+    static Map<String, Object> summaryOf(YearMonth ym, MonthlyTotals totals) {
+        double income = Money.toMajor(totals.getTotalIncome());
+        double expense = Money.toMajor(totals.getTotalExpenses());
 
         Map<String,Object> res = new HashMap<>();
         res.put("year", ym.getYear());
         res.put("month", ym.getMonthValue());
         res.put("income", income);
         res.put("expense", expense);
-        res.put("net", income - expense);
+        res.put("net", Money.toMajor(totals.getTotalIncome() - totals.getTotalExpenses()));
         return res;
     }
 
@@ -58,20 +63,49 @@ public class AnalyticsController {
                                                  @RequestParam(required = false) Integer month) {
         User user = (User) auth.getPrincipal();
         YearMonth ym = (year != null && month != null) ? YearMonth.of(year, month) : YearMonth.now();
-        LocalDate start = ym.atDay(1);
-        LocalDate end = ym.atEndOfMonth();
 
-        Map<String, Double> map = new HashMap<>();
-        for (Transaction t : transactionService.findByUser(user)) {
-            if (t.getDate() == null) continue;
-            // Only include expenses for category breakdown
-            if (!"EXPENSE".equalsIgnoreCase(t.getType())) continue;
-            
-            if (!t.getDate().isBefore(start) && !t.getDate().isAfter(end)) {
-                String cat = t.getCategory() != null ? t.getCategory().getName() : "Uncategorized";
-                map.put(cat, map.getOrDefault(cat, 0.0) + (t.getAmount() != null ? t.getAmount() : 0.0));
-            }
+        // Only include expenses for category breakdown
+        MonthlyTotals totals = rollupService.getMonthlyTotals(user, ym);
+
+        Map<String, String> names = new HashMap<>();
+        for (Category c : categoryRepository.findAllById(totals.getCategories().keySet())) {
+            names.put(c.getId(), c.getName());
         }
+        return breakdownOf(totals, names);
+    }
+
+    /**
+     * Income, expenses, savings rate and category spend per month, with month-over-month
+     * and year-over-year changes
+     * Query params (optional): months (default 12), year + month of the last month (default current)
+     */
+    @GetMapping("/trends")
+    public TrendResponse trends(Authentication auth,
+                                @RequestParam(defaultValue = "12") int months,
+                                @RequestParam(required = false) Integer year,
+                                @RequestParam(required = false) Integer month) {
+        User user = (User) auth.getPrincipal();
+        YearMonth ym = (year != null && month != null) ? YearMonth.of(year, month) : YearMonth.now();
+        return trendService.getTrend(user, ym, months);
+    }
+
+    /**
+     * Expenses per category name for a month, given the names of the month's categories
+     */
+    static Map<String, Double> breakdownOf(MonthlyTotals totals, Map<String, String> names) {
+        // Summed in minor units, converted once per category
+        Map<String, Long> minor = new HashMap<>();
+        totals.getCategories().forEach((categoryId, cat) -> {
+            if (cat.getExpenses() <= 0) return;
+            String name = names.getOrDefault(categoryId, "Uncategorized");
+            minor.merge(name, cat.getExpenses(), Long::sum);
+        });
+        if (totals.getUncategorized().getExpenses() > 0) {
+            minor.merge("Uncategorized", totals.getUncategorized().getExpenses(), Long::sum);
+        }
+
+        Map<String, Double> map = new HashMap<>();
+        minor.forEach((name, amount) -> map.put(name, Money.toMajor(amount)));
         return map;
     }
 }
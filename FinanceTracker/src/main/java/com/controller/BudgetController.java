@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,12 +16,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.dto.BudgetRequest;
 import com.dto.BudgetStatusResponse;
 import com.dto.MonthlySummaryResponse;
 import com.entity.Budget;
 import com.entity.User;
+import com.service.AlertStreamService;
 import com.service.BudgetService;
 
 /**
@@ -31,6 +34,7 @@ import com.service.BudgetService;
  * - GET /api/budgets - List all budgets for user
  * - GET /api/budgets/status - Get budget status for month/year
  * - GET /api/budgets/monthly-summary - Get monthly financial summary
+ * - GET /api/budgets/alerts/stream - Budget alerts as Server-Sent Events
  * - DELETE /api/budgets/{id} - Delete budget
  */
 @RestController
@@ -40,6 +44,9 @@ public class BudgetController {
     @Autowired
     private BudgetService budgetService;
 
+    @Autowired
+    private AlertStreamService alertStreamService;
+
     /**
      * Create or update a budget
      * If budget exists for user+year+month+category, it will be updated
@@ -118,6 +125,16 @@ public class BudgetController {
         return ResponseEntity.ok(summary);
     }
 
+    /**
+     * Server-Sent Events with the current month's budget alerts: a "snapshot" on connect,
+     * then an "alert" event whenever a transaction write crosses a 50/75/90/100% threshold
+     */
+    @GetMapping(value = "/alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(Authentication auth) {
+        User user = (User) auth.getPrincipal();
+        return alertStreamService.subscribe(user);
+    }
+
     /**
      * Delete a budget
      */
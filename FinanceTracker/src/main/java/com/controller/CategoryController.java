@@ -3,7 +3,7 @@ package com.controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
-import com.repository.CategoryRepository;
+import com.service.CategoryService;
 import com.entity.Category;
 import com.entity.User;
 import java.util.List;
@@ -13,20 +13,20 @@ import java.util.List;
 public class CategoryController {
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryService categoryService;
 
     @PostMapping
     public Category create(@RequestBody Category category,
                            Authentication auth) {
 
         User user = (User) auth.getPrincipal();
-        category.setUser(user);
-        return categoryRepository.save(category);
+        category.setUserId(user.getId());
+        return categoryService.save(category);
     }
 
     @GetMapping
     public List<Category> getAll(Authentication auth) {
         User user = (User) auth.getPrincipal();
-        return categoryRepository.findByUser(user);
+        return categoryService.findByUser(user);
     }
 }
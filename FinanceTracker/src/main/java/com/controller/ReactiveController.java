@@ -0,0 +1,92 @@
+package com.controller;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dto.BudgetStatusResponse;
+import com.dto.MonthlySummaryResponse;
+import com.dto.TransactionFilter;
+import com.entity.Transaction;
+import com.entity.User;
+import com.service.ReactiveReadService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the dashboard reads (reactive profile only)
+ *
+ * Same responses as AnalyticsController, BudgetController and TransactionController under
+ * /api/reactive; the request thread is released while MongoDB works.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@Profile("reactive")
+public class ReactiveController {
+
+    @Autowired
+    private ReactiveReadService readService;
+
+    @GetMapping("/analytics/monthly-summary")
+    public Mono<Map<String, Object>> analyticsMonthlySummary(Authentication auth,
+                                                             @RequestParam(required = false) Integer year,
+                                                             @RequestParam(required = false) Integer month) {
+        User user = (User) auth.getPrincipal();
+        YearMonth ym = yearMonth(year, month);
+        return readService.getMonthlyTotals(user, ym)
+                .map(totals -> AnalyticsController.summaryOf(ym, totals));
+    }
+
+    @GetMapping("/analytics/category-breakdown")
+    public Mono<Map<String, Double>> categoryBreakdown(Authentication auth,
+                                                       @RequestParam(required = false) Integer year,
+                                                       @RequestParam(required = false) Integer month) {
+        User user = (User) auth.getPrincipal();
+        return readService.getMonthlyTotals(user, yearMonth(year, month))
+                .flatMap(totals -> readService.categoryNames(totals.getCategories().keySet())
+                        .map(names -> AnalyticsController.breakdownOf(totals, names)));
+    }
+
+    @GetMapping("/budgets/status")
+    public Mono<BudgetStatusResponse> budgetStatus(Authentication auth,
+                                                   @RequestParam(required = false) Integer year,
+                                                   @RequestParam(required = false) Integer month) {
+        User user = (User) auth.getPrincipal();
+        return readService.getBudgetStatus(user, yearMonth(year, month));
+    }
+
+    @GetMapping("/budgets/monthly-summary")
+    public Mono<MonthlySummaryResponse> budgetMonthlySummary(Authentication auth,
+                                                             @RequestParam(required = false) Integer year,
+                                                             @RequestParam(required = false) Integer month) {
+        User user = (User) auth.getPrincipal();
+        return readService.getMonthlySummary(user, yearMonth(year, month));
+    }
+
+    /**
+     * Every matching transaction, newest first, as newline-delimited JSON
+     * Query params (all optional): from, to, type, categoryId, minAmount, maxAmount
+     *
+     * Each line is written as soon as it is read; the next one is only requested once the
+     * previous write has gone out, so a slow client slows the MongoDB cursor down instead
+     * of making the server buffer the list.
+     */
+    @GetMapping(value = "/transactions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> transactions(TransactionFilter filter, Authentication auth) {
+        User user = (User) auth.getPrincipal();
+        return readService.streamTransactions(user, filter);
+    }
+
+    private static YearMonth yearMonth(Integer year, Integer month) {
+        return (year != null && month != null) ? YearMonth.of(year, month) : YearMonth.now();
+    }
+}
@@ -2,39 +2,97 @@ package com.controller;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import com.repository.TransactionRepository;
+import com.dto.ImportResult;
+import com.dto.TransactionFilter;
+import com.dto.TransactionPage;
 import com.entity.Transaction;
 import com.entity.User;
+import com.service.ImportService;
+import com.service.TransactionIngestQueue;
+import com.service.TransactionIngestQueue.Ack;
 import com.service.TransactionService;
-import com.service.BudgetService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private TransactionService transactionService;
 
     @Autowired
-    private TransactionService transactionService;
+    private ImportService importService;
 
     @Autowired
-    private BudgetService budgetService;
+    private TransactionIngestQueue ingestQueue;
 
+    /**
+     * Create a transaction
+     * With write-behind ingestion on, ack=accepted answers 202 once it is queued and
+     * ack=persisted (default: finance.ingest.ack) answers 200 once it is written; case-insensitive
+     */
     @PostMapping
-    public Transaction add(@RequestBody Transaction transaction,
-                           Authentication auth) {
+    public ResponseEntity<Transaction> add(@RequestBody Transaction transaction,
+                                           @RequestParam(required = false) String ack,
+                                           Authentication auth) {
+
+        User user = (User) auth.getPrincipal();
+        if (!ingestQueue.isEnabled()) {
+            return ResponseEntity.ok(transactionService.save(transaction, user));
+        }
 
+        Ack level = ingestQueue.ackOrDefault(ack);
+        CompletableFuture<Transaction> written = transactionService.enqueue(transaction, user);
+        if (level == Ack.PERSISTED) {
+            Transaction saved = ingestQueue.awaitPersisted(written);
+            if (saved != null) {
+                return ResponseEntity.ok(saved);
+            }
+        }
+        // Queued (with its id) but not written yet
+        return ResponseEntity.accepted().body(transaction);
+    }
+
+    /**
+     * Bulk import from a JSON array of transactions
+     * Returns a per-row ACCEPTED/REJECTED result
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportResult importJson(@RequestBody List<Transaction> transactions,
+                                   Authentication auth) {
         User user = (User) auth.getPrincipal();
-        return transactionService.save(transaction, user);
+        return importService.importTransactions(user, transactions);
     }
 
+    /**
+     * Bulk import from CSV with a header row (the Excel export's columns)
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE })
+    public ImportResult importCsv(InputStream body, Authentication auth) throws IOException {
+        User user = (User) auth.getPrincipal();
+        return importService.importCsv(user, new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * List transactions newest first, one page at a time
+     * Query params (all optional): cursor, limit, from, to, type, categoryId, minAmount, maxAmount
+     */
     @GetMapping
-    public List<Transaction> getAll(Authentication auth) {
+    public TransactionPage getAll(TransactionFilter filter,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer limit,
+                                  Authentication auth) {
         User user = (User) auth.getPrincipal();
-        return transactionRepository.findByUser(user);
+        return transactionService.findPage(user, filter, cursor, limit);
     }
 
     @PutMapping("/{id}")
@@ -43,42 +101,12 @@ public class TransactionController {
                               Authentication auth) {
 
         User user = (User) auth.getPrincipal();
-        Transaction tx = transactionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Transaction not found"));
-
-        if (!tx.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized");
-        }
-
-        // Update fields
-        tx.setAmount(updated.getAmount());
-        tx.setDate(updated.getDate());
-        tx.setNote(updated.getNote());
-        tx.setCategory(updated.getCategory());
-        tx.setType(updated.getType());
-
-        // Validate budget if it's an expense
-        if (tx.getType() != null && tx.getType().equals("EXPENSE")) {
-            BudgetService.BudgetValidationResult validation = 
-                    budgetService.validateExpense(user, tx);
-            
-            if (!validation.isAllowed()) {
-                throw new IllegalArgumentException(validation.getMessage());
-            }
-        }
-
-        return transactionRepository.save(tx);
+        return transactionService.update(id, updated, user);
     }
 
     @DeleteMapping("/{id}")
     public void delete(@PathVariable String id, Authentication auth) {
         User user = (User) auth.getPrincipal();
-        Transaction tx = transactionRepository.findById(id).orElseThrow();
-
-        if (!tx.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized");
-        }
-
-        transactionRepository.delete(tx);
+        transactionService.delete(id, user);
     }
 }
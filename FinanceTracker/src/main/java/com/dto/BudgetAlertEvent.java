@@ -0,0 +1,37 @@
+package com.dto;
+
+import java.util.List;
+
+/**
+ * Data of an event on /api/budgets/alerts/stream:
+ * "snapshot" (the month's active alerts, sent on connect) or "alert" (a threshold just crossed,
+ * up or down: the budget's alert now active, if any, and the one it replaced, if any)
+ */
+public class BudgetAlertEvent {
+
+    private Integer year;
+    private Integer month;
+    private List<BudgetStatusResponse.BudgetAlert> alerts;
+    private List<BudgetStatusResponse.BudgetAlert> cleared = List.of();
+
+    public BudgetAlertEvent() {
+    }
+
+    public BudgetAlertEvent(Integer year, Integer month, List<BudgetStatusResponse.BudgetAlert> alerts) {
+        this.year = year;
+        this.month = month;
+        this.alerts = alerts;
+    }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+
+    public List<BudgetStatusResponse.BudgetAlert> getAlerts() { return alerts; }
+    public void setAlerts(List<BudgetStatusResponse.BudgetAlert> alerts) { this.alerts = alerts; }
+
+    public List<BudgetStatusResponse.BudgetAlert> getCleared() { return cleared; }
+    public void setCleared(List<BudgetStatusResponse.BudgetAlert> cleared) { this.cleared = cleared; }
+}
@@ -18,7 +18,8 @@ public class BudgetStatusResponse {
     }
 
     private BudgetStatus overallStatus;
-    private Double overallBudget;
+    private Double overallBudget; // monthly limit + carried over
+    private Double overallCarriedOver;
     private Double overallSpent;
     private Double overallRemaining;
     private Double overallUsagePercentage;
@@ -33,6 +34,9 @@ public class BudgetStatusResponse {
     public Double getOverallBudget() { return overallBudget; }
     public void setOverallBudget(Double overallBudget) { this.overallBudget = overallBudget; }
 
+    public Double getOverallCarriedOver() { return overallCarriedOver; }
+    public void setOverallCarriedOver(Double overallCarriedOver) { this.overallCarriedOver = overallCarriedOver; }
+
     public Double getOverallSpent() { return overallSpent; }
     public void setOverallSpent(Double overallSpent) { this.overallSpent = overallSpent; }
 
@@ -54,7 +58,8 @@ public class BudgetStatusResponse {
     public static class CategoryBudgetStatus {
         private String categoryId;
         private String categoryName;
-        private Double budget;
+        private Double budget; // monthly limit + carried over
+        private Double carriedOver;
         private Double spent;
         private Double remaining;
         private Double usagePercentage;
@@ -69,6 +74,9 @@ public class BudgetStatusResponse {
         public Double getBudget() { return budget; }
         public void setBudget(Double budget) { this.budget = budget; }
 
+        public Double getCarriedOver() { return carriedOver; }
+        public void setCarriedOver(Double carriedOver) { this.carriedOver = carriedOver; }
+
         public Double getSpent() { return spent; }
         public void setSpent(Double spent) { this.spent = spent; }
 
@@ -0,0 +1,37 @@
+package com.dto;
+
+import com.entity.TransactionType;
+
+/**
+ * One row of the server-side spending aggregation:
+ * the summed amount of a transaction type within a category.
+ * categoryId is null for uncategorized transactions.
+ */
+public class CategoryTypeTotal {
+    private String categoryId;
+    private TransactionType type;
+    private long total; // minor units
+    private long count;
+
+    public CategoryTypeTotal() {
+    }
+
+    public CategoryTypeTotal(String categoryId, TransactionType type, long total, long count) {
+        this.categoryId = categoryId;
+        this.type = type;
+        this.total = total;
+        this.count = count;
+    }
+
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
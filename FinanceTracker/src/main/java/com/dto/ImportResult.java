@@ -0,0 +1,59 @@
+package com.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk transaction import, with one entry per input row (1-based).
+ * Accepted rows carry the new transaction id; rejected rows carry the reason.
+ * A message on an accepted row is a budget warning.
+ */
+public class ImportResult {
+    private int received;
+    private int accepted;
+    private int rejected;
+    private int warnings;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void accept(int row, String id, String warning) {
+        rows.add(new RowResult(row, RowResult.ACCEPTED, id, warning));
+        accepted++;
+        if (warning != null) warnings++;
+    }
+
+    public void reject(int row, String reason) {
+        rows.add(new RowResult(row, RowResult.REJECTED, null, reason));
+        rejected++;
+    }
+
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+
+    public int getAccepted() { return accepted; }
+    public int getRejected() { return rejected; }
+    public int getWarnings() { return warnings; }
+
+    public List<RowResult> getRows() { return rows; }
+
+    public static class RowResult {
+        public static final String ACCEPTED = "ACCEPTED";
+        public static final String REJECTED = "REJECTED";
+
+        private final int row;
+        private final String status;
+        private final String id;
+        private final String message;
+
+        public RowResult(int row, String status, String id, String message) {
+            this.row = row;
+            this.status = status;
+            this.id = id;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public String getStatus() { return status; }
+        public String getId() { return id; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,28 @@
+package com.dto;
+
+import com.entity.TransactionType;
+
+/**
+ * One row of the multi-month spending aggregation:
+ * a CategoryTypeTotal for one calendar month.
+ */
+public class MonthlyCategoryTypeTotal extends CategoryTypeTotal {
+    private int year;
+    private int month;
+
+    public MonthlyCategoryTypeTotal() {
+    }
+
+    public MonthlyCategoryTypeTotal(int year, int month, String categoryId, TransactionType type,
+                                    long total, long count) {
+        super(categoryId, type, total, count);
+        this.year = year;
+        this.month = month;
+    }
+
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+
+    public int getMonth() { return month; }
+    public void setMonth(int month) { this.month = month; }
+}
@@ -0,0 +1,45 @@
+package com.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position (date, id) of the last transaction on a page.
+ * Encoded as an opaque URL-safe token: base64("yyyy-MM-dd|id"), date empty when null.
+ */
+public class TransactionCursor {
+    private final LocalDate date;
+    private final String id;
+
+    public TransactionCursor(LocalDate date, String id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public LocalDate getDate() { return date; }
+    public String getId() { return id; }
+
+    public String encode() {
+        String raw = (date != null ? date.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDate date = sep == 0 ? null : LocalDate.parse(raw.substring(0, sep));
+            return new TransactionCursor(date, raw.substring(sep + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dto;
+
+import java.util.List;
+
+import com.entity.Transaction;
+
+/**
+ * One page of transactions, newest first.
+ * Pass nextCursor back as ?cursor= to get the following page; null when there are no more.
+ */
+public class TransactionPage {
+    private List<Transaction> items;
+    private String nextCursor;
+
+    public TransactionPage(List<Transaction> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Transaction> getItems() { return items; }
+    public void setItems(List<Transaction> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,85 @@
+package com.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Month-by-month income, expenses, savings and category spend over a rolling window,
+ * oldest month first, with month-over-month and year-over-year changes
+ */
+public class TrendResponse {
+    private Integer months;
+    private List<MonthTrend> trend;
+
+    public Integer getMonths() { return months; }
+    public void setMonths(Integer months) { this.months = months; }
+
+    public List<MonthTrend> getTrend() { return trend; }
+    public void setTrend(List<MonthTrend> trend) { this.trend = trend; }
+
+    public static class MonthTrend {
+        private Integer year;
+        private Integer month;
+        private Double income;
+        private Double expenses;
+        private Double savings; // income - expenses
+        private Double savingsRate; // (savings / income) * 100
+        private Map<String, Double> categoryExpenses; // by category name
+        private Change monthOverMonth;
+        private Change yearOverYear;
+
+        public Integer getYear() { return year; }
+        public void setYear(Integer year) { this.year = year; }
+
+        public Integer getMonth() { return month; }
+        public void setMonth(Integer month) { this.month = month; }
+
+        public Double getIncome() { return income; }
+        public void setIncome(Double income) { this.income = income; }
+
+        public Double getExpenses() { return expenses; }
+        public void setExpenses(Double expenses) { this.expenses = expenses; }
+
+        public Double getSavings() { return savings; }
+        public void setSavings(Double savings) { this.savings = savings; }
+
+        public Double getSavingsRate() { return savingsRate; }
+        public void setSavingsRate(Double savingsRate) { this.savingsRate = savingsRate; }
+
+        public Map<String, Double> getCategoryExpenses() { return categoryExpenses; }
+        public void setCategoryExpenses(Map<String, Double> categoryExpenses) { this.categoryExpenses = categoryExpenses; }
+
+        public Change getMonthOverMonth() { return monthOverMonth; }
+        public void setMonthOverMonth(Change monthOverMonth) { this.monthOverMonth = monthOverMonth; }
+
+        public Change getYearOverYear() { return yearOverYear; }
+        public void setYearOverYear(Change yearOverYear) { this.yearOverYear = yearOverYear; }
+    }
+
+    /**
+     * Difference to an earlier month (this month - that month)
+     * Percentages are null when the earlier value is 0
+     */
+    public static class Change {
+        private Double income;
+        private Double expenses;
+        private Double savings;
+        private Double incomePercentage;
+        private Double expensesPercentage;
+
+        public Double getIncome() { return income; }
+        public void setIncome(Double income) { this.income = income; }
+
+        public Double getExpenses() { return expenses; }
+        public void setExpenses(Double expenses) { this.expenses = expenses; }
+
+        public Double getSavings() { return savings; }
+        public void setSavings(Double savings) { this.savings = savings; }
+
+        public Double getIncomePercentage() { return incomePercentage; }
+        public void setIncomePercentage(Double incomePercentage) { this.incomePercentage = incomePercentage; }
+
+        public Double getExpensesPercentage() { return expensesPercentage; }
+        public void setExpensesPercentage(Double expensesPercentage) { this.expensesPercentage = expensesPercentage; }
+    }
+}
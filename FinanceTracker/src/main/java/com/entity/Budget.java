@@ -4,32 +4,35 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.dto.BudgetStatusResponse;
+
 /**
  * Budget entity supporting:
- * - Overall monthly budget (category = null)
- * - Category-wise budgets (category != null)
+ * - Overall monthly budget (categoryId = null)
+ * - Category-wise budgets (categoryId != null)
  * - Scoped by user + year + month
  * - Optional budget rollover
  */
 @Document(collection = "budgets")
-@CompoundIndex(name = "user_year_month_category_idx", 
-                def = "{'user': 1, 'year': 1, 'month': 1, 'category': 1}", 
-                unique = true)
+// Partial: legacy DBRef budgets have no userId until the migration copies it, and would all collide on null
+@CompoundIndex(name = "userId_year_month_categoryId_idx", 
+                def = "{'userId': 1, 'year': 1, 'month': 1, 'categoryId': 1}", 
+                unique = true,
+                partialFilter = "{'userId': {$exists: true}}")
 public class Budget {
 
     @Id
     private String id;
 
-    @DBRef
-    private Category category; // null for overall budget, non-null for category budget
+    private String categoryId; // null for overall budget, non-null for category budget
+
+    private String categoryName; // denormalized from Category, set on write
 
-    private Double monthlyLimit; // Budget limit for the month
+    private Money monthlyLimit; // Budget limit for the month
 
-    @DBRef
-    private User user;
+    private String userId;
 
     private Integer year; // Budget year (e.g., 2024)
     private Integer month; // Budget month (1-12)
@@ -37,6 +40,21 @@ public class Budget {
     private Boolean allowRollover = false; // If true, unused budget rolls to next month
     private Boolean preventExceed = false; // If true, prevent expenses exceeding budget
 
+    // Net spent this month (expenses - income), maintained with atomic $inc by
+    // BudgetReservationService. Edits go through BudgetRepository.updateSettings
+    // so they never overwrite a concurrent reservation.
+    private Money spent;
+
+    // Unused amount carried in from the previous month's budget (when that one allows rollover),
+    // maintained by RolloverService so the effective limit is read without walking older months
+    private Money carriedOver;
+
+    // Alert state kept by BudgetAlertService on every write: the highest threshold reached
+    // (0, 50, 75, 90, 100; null until first evaluated) and the alert raised for it
+    private Double alertLevel;
+    private BudgetStatusResponse.BudgetAlert alert;
+    private LocalDateTime alertChangedAt;
+
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt = LocalDateTime.now();
 
@@ -44,14 +62,17 @@ public class Budget {
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
-    public Category getCategory() { return category; }
-    public void setCategory(Category category) { this.category = category; }
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
 
-    public Double getMonthlyLimit() { return monthlyLimit; }
-    public void setMonthlyLimit(Double monthlyLimit) { this.monthlyLimit = monthlyLimit; }
+    public Money getMonthlyLimit() { return monthlyLimit; }
+    public void setMonthlyLimit(Money monthlyLimit) { this.monthlyLimit = monthlyLimit; }
 
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
 
     public Integer getYear() { return year; }
     public void setYear(Integer year) { this.year = year; }
@@ -65,6 +86,21 @@ public class Budget {
     public Boolean getPreventExceed() { return preventExceed; }
     public void setPreventExceed(Boolean preventExceed) { this.preventExceed = preventExceed; }
 
+    public Money getSpent() { return spent; }
+    public void setSpent(Money spent) { this.spent = spent; }
+
+    public Money getCarriedOver() { return carriedOver; }
+    public void setCarriedOver(Money carriedOver) { this.carriedOver = carriedOver; }
+
+    public Double getAlertLevel() { return alertLevel; }
+    public void setAlertLevel(Double alertLevel) { this.alertLevel = alertLevel; }
+
+    public BudgetStatusResponse.BudgetAlert getAlert() { return alert; }
+    public void setAlert(BudgetStatusResponse.BudgetAlert alert) { this.alert = alert; }
+
+    public LocalDateTime getAlertChangedAt() { return alertChangedAt; }
+    public void setAlertChangedAt(LocalDateTime alertChangedAt) { this.alertChangedAt = alertChangedAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -75,6 +111,14 @@ public class Budget {
      * Check if this is an overall budget (not category-specific)
      */
     public boolean isOverallBudget() {
-        return category == null;
+        return categoryId == null;
+    }
+
+    /**
+     * Limit that applies this month: monthly limit plus the amount carried over, in minor units
+     */
+    public long effectiveLimitMinor() {
+        long limit = monthlyLimit != null ? monthlyLimit.minor() : 0;
+        return carriedOver != null ? limit + carriedOver.minor() : limit;
     }
 }
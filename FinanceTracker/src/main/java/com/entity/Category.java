@@ -1,7 +1,7 @@
 package com.entity;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "categories")
@@ -12,8 +12,8 @@ public class Category {
 
     private String name;
 
-    @DBRef
-    private User user;
+    @Indexed
+    private String userId;
 
     // getters & setters
     public String getId() { return id; }
@@ -22,6 +22,6 @@ public class Category {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
 }
@@ -0,0 +1,24 @@
+package com.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Per-user data version (data_versions), _id = userId.
+ * Incremented by every transaction, budget or category write of the user;
+ * conditional GETs use it as their ETag (see DataVersionService).
+ */
+@Document(collection = "data_versions")
+public class DataVersion {
+
+    @Id
+    private String id;
+
+    private long version;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -0,0 +1,119 @@
+package com.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.bson.types.Decimal128;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * An exact amount of money as a count of minor units (cents).
+ *
+ * Stored in MongoDB as int64 minor units (see MongoConversionConfig), and
+ * exchanged as a decimal number in JSON, e.g. 12.5 <-> 1250 minor units.
+ * Sums over many rows should use the primitive minor() values.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /**
+     * Rounds to the nearest cent (half-even), so 0.1 + 0.2 style binary noise disappears
+     */
+    public static Money of(double major) {
+        return of(BigDecimal.valueOf(major));
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal major) {
+        return ofMinor(toMinor(major));
+    }
+
+    public static long toMinor(BigDecimal major) {
+        return major.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static long toMinor(double major) {
+        return toMinor(BigDecimal.valueOf(major));
+    }
+
+    /**
+     * Minor units of a raw amount read from a document without mapping:
+     * int64/int32 are minor units, doubles and decimals are legacy major units
+     */
+    public static long minorOf(Object stored) {
+        if (stored instanceof Long l) return l;
+        if (stored instanceof Integer i) return i;
+        if (stored instanceof Double d) return toMinor(d);
+        if (stored instanceof Decimal128 d) return toMinor(d.bigDecimalValue());
+        if (stored instanceof Number n) return toMinor(n.doubleValue());
+        return 0;
+    }
+
+    public static double toMajor(long minor) {
+        return minor / 100.0;
+    }
+
+    public long minor() {
+        return minor;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public double toDouble() {
+        return toMajor(minor);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minor, other.minor));
+    }
+
+    public boolean isPositive() {
+        return minor > 0;
+    }
+
+    public boolean isNegative() {
+        return minor < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money m && m.minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
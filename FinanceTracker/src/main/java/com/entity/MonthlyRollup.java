@@ -0,0 +1,58 @@
+package com.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Pre-aggregated income/expense totals per user + year + month + category.
+ * - categoryId = null holds uncategorized transactions
+ * - Maintained with $inc on every transaction write (see RollupService)
+ * - Can always be recomputed from the transactions collection
+ */
+@Document(collection = "monthly_rollups")
+@CompoundIndex(name = "user_year_month_category_idx",
+                def = "{'userId': 1, 'year': 1, 'month': 1, 'categoryId': 1}",
+                unique = true)
+public class MonthlyRollup {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private Integer year;
+    private Integer month;
+
+    private String categoryId; // null for uncategorized
+
+    // Minor units (cents)
+    private long income;
+    private long expenses;
+    private long count; // number of transactions rolled into this bucket
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+    public long getIncome() { return income; }
+    public void setIncome(long income) { this.income = income; }
+
+    public long getExpenses() { return expenses; }
+    public void setExpenses(long expenses) { this.expenses = expenses; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,68 @@
+package com.entity;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.dto.MonthlySummaryResponse;
+
+/**
+ * Stored monthly summary (with its embedded budget status) of a closed month.
+ * - _id is userId + month, so a historical read is a single lookup by id
+ * - stale = true once a late write touched the month; readers then compute live
+ *   until SnapshotRegenerationJob has rebuilt it
+ * - version is bumped by every invalidation, so a snapshot computed before a
+ *   concurrent write cannot overwrite the stale marker (see SnapshotService)
+ */
+@Document(collection = "monthly_snapshots")
+public class MonthlySnapshot {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private Integer year;
+    private Integer month;
+
+    private MonthlySummaryResponse summary;
+
+    @Indexed(name = "stale_idx", partialFilter = "{ 'stale': true }")
+    private boolean stale;
+
+    private long version;
+
+    private LocalDateTime generatedAt;
+
+    public static String idOf(String userId, YearMonth yearMonth) {
+        return userId + ":" + yearMonth;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getMonth() { return month; }
+    public void setMonth(Integer month) { this.month = month; }
+
+    public MonthlySummaryResponse getSummary() { return summary; }
+    public void setSummary(MonthlySummaryResponse summary) { this.summary = summary; }
+
+    public boolean isStale() { return stale; }
+    public void setStale(boolean stale) { this.stale = stale; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
@@ -3,38 +3,47 @@ package com.entity;
 import java.time.LocalDate;
 
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
+
 @Document(collection = "transactions")
+@CompoundIndexes({
+    // Keyset pagination, date-range filters and monthly aggregations; amount last for range filters
+    @CompoundIndex(name = "userId_date_id_amount_idx", def = "{'userId': 1, 'date': -1, '_id': -1, 'amount': 1}"),
+    @CompoundIndex(name = "userId_type_date_id_idx", def = "{'userId': 1, 'type': 1, 'date': -1, '_id': -1}"),
+    @CompoundIndex(name = "userId_categoryId_date_id_idx", def = "{'userId': 1, 'categoryId': 1, 'date': -1, '_id': -1}")
+})
 public class Transaction {
 
     @Id
     private String id;
 
-    private Double amount;
+    private Money amount;
 
-    private String type; // INCOME / EXPENSE
+    private TransactionType type;
 
     private LocalDate date;
 
     private String note;
 
-    @DBRef
-    private Category category;
+    private String categoryId; // null for uncategorized
+
+    private String categoryName; // denormalized from Category, set on write
 
-    @DBRef
-    private User user;
+    private String userId;
 
     // getters & setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
-    public Double getAmount() { return amount; }
-    public void setAmount(Double amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
 
-    public String getType() { return type; }
-    public void setType(String type) { this.type = type; }
+    public TransactionType getType() { return type; }
+    public void setType(TransactionType type) { this.type = type; }
 
     public LocalDate getDate() { return date; }
     public void setDate(LocalDate date) { this.date = date; }
@@ -42,9 +51,20 @@ public class Transaction {
     public String getNote() { return note; }
     public void setNote(String note) { this.note = note; }
 
-    public Category getCategory() { return category; }
-    public void setCategory(Category category) { this.category = category; }
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
 
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
+    /**
+     * Accepts the legacy request shape "category": {"id": "..."}
+     */
+    @JsonSetter("category")
+    public void setCategoryRef(Category category) {
+        this.categoryId = category != null ? category.getId() : null;
+    }
 }
@@ -0,0 +1,34 @@
+package com.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public enum TransactionType {
+    INCOME,
+    EXPENSE;
+
+    /**
+     * Case-insensitive, so legacy documents and CSV rows with "expense" still map.
+     * Returns null for blank or unknown values.
+     */
+    public static TransactionType parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        for (TransactionType type : values()) {
+            if (type.name().equalsIgnoreCase(trimmed)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @JsonCreator
+    static TransactionType fromJson(String value) {
+        TransactionType type = parse(value);
+        if (type == null && value != null && !value.isBlank()) {
+            throw new IllegalArgumentException("Type must be INCOME or EXPENSE");
+        }
+        return type;
+    }
+}
@@ -0,0 +1,17 @@
+package com.repository;
+
+import com.entity.Budget;
+import com.entity.Money;
+
+public interface BudgetRepositoryCustom {
+
+    /**
+     * $set the user-editable fields of an existing budget, leaving the spent counter alone
+     */
+    void updateSettings(Budget budget);
+
+    /**
+     * $set the amount carried over into a budget, leaving everything else alone
+     */
+    void setCarriedOver(String budgetId, Money carriedOver);
+}
@@ -0,0 +1,34 @@
+package com.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.entity.Budget;
+import com.entity.Money;
+
+public class BudgetRepositoryCustomImpl implements BudgetRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void updateSettings(Budget budget) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(budget.getId())),
+                new Update()
+                        .set("categoryName", budget.getCategoryName())
+                        .set("monthlyLimit", budget.getMonthlyLimit())
+                        .set("allowRollover", budget.getAllowRollover())
+                        .set("preventExceed", budget.getPreventExceed())
+                        .set("updatedAt", budget.getUpdatedAt()),
+                Budget.class);
+    }
+
+    @Override
+    public void setCarriedOver(String budgetId, Money carriedOver) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(budgetId)),
+                new Update().set("carriedOver", carriedOver), Budget.class);
+    }
+}
@@ -0,0 +1,16 @@
+package com.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.entity.MonthlyRollup;
+
+public interface MonthlyRollupRepository extends MongoRepository<MonthlyRollup, String> {
+    // All category buckets for a user/month (one document per category used that month)
+    List<MonthlyRollup> findByUserIdAndYearAndMonth(String userId, Integer year, Integer month);
+
+    // Buckets for a range of years, inclusive (trends narrow it down to months)
+    List<MonthlyRollup> findByUserIdAndYearGreaterThanEqualAndYearLessThanEqual(
+            String userId, Integer fromYear, Integer toYear);
+}
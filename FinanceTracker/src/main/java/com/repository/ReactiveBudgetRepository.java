@@ -0,0 +1,15 @@
+package com.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.entity.Budget;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of BudgetRepository for the reactive profile (reads only)
+ */
+public interface ReactiveBudgetRepository extends ReactiveMongoRepository<Budget, String> {
+    // Find all budgets for a user in a specific month/year
+    Flux<Budget> findByUserIdAndYearAndMonth(String userId, Integer year, Integer month);
+}
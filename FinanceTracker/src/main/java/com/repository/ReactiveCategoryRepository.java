@@ -0,0 +1,11 @@
+package com.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.entity.Category;
+
+/**
+ * Non-blocking counterpart of CategoryRepository for the reactive profile (reads only)
+ */
+public interface ReactiveCategoryRepository extends ReactiveMongoRepository<Category, String> {
+}
@@ -0,0 +1,15 @@
+package com.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.entity.MonthlyRollup;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of MonthlyRollupRepository for the reactive profile (reads only)
+ */
+public interface ReactiveMonthlyRollupRepository extends ReactiveMongoRepository<MonthlyRollup, String> {
+    // All category buckets for a user/month (one document per category used that month)
+    Flux<MonthlyRollup> findByUserIdAndYearAndMonth(String userId, Integer year, Integer month);
+}
@@ -0,0 +1,12 @@
+package com.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.entity.Transaction;
+
+/**
+ * Non-blocking counterpart of TransactionRepository for the reactive profile
+ */
+public interface ReactiveTransactionRepository
+        extends ReactiveMongoRepository<Transaction, String>, ReactiveTransactionRepositoryCustom {
+}
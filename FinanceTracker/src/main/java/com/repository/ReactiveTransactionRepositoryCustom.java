@@ -0,0 +1,21 @@
+package com.repository;
+
+import java.time.LocalDate;
+
+import com.dto.CategoryTypeTotal;
+import com.dto.TransactionFilter;
+import com.entity.Transaction;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive versions of the TransactionRepositoryCustom queries
+ */
+public interface ReactiveTransactionRepositoryCustom {
+
+    // Same pipeline as TransactionRepositoryCustom.sumByCategoryAndType
+    Flux<CategoryTypeTotal> sumByCategoryAndType(String userId, LocalDate startDate, LocalDate endDate);
+
+    // Every matching transaction, (date desc, id desc), fetched batchSize documents at a time as demand allows
+    Flux<Transaction> stream(String userId, TransactionFilter filter, int batchSize);
+}
@@ -0,0 +1,43 @@
+package com.repository;
+
+import java.time.LocalDate;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.dto.CategoryTypeTotal;
+import com.dto.TransactionFilter;
+import com.entity.Transaction;
+
+import reactor.core.publisher.Flux;
+
+public class ReactiveTransactionRepositoryCustomImpl implements ReactiveTransactionRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<CategoryTypeTotal> sumByCategoryAndType(String userId, LocalDate startDate, LocalDate endDate) {
+        return reactiveMongoTemplate.aggregate(
+                        TransactionRepositoryCustomImpl.categoryTypeAggregation(userId, startDate, endDate),
+                        Document.class)
+                .map(TransactionRepositoryCustomImpl::toCategoryTypeTotal);
+    }
+
+    /**
+     * One cursor over the same index as findPage. The driver only asks the server for the
+     * next batch once the subscriber has requested past the current one, so at most one
+     * batch is held in memory however slowly the client reads.
+     */
+    @Override
+    public Flux<Transaction> stream(String userId, TransactionFilter filter, int batchSize) {
+        Query query = new Query(new Criteria().andOperator(
+                        TransactionRepositoryCustomImpl.filterCriteria(userId, filter)))
+                .with(TransactionRepositoryCustomImpl.NEWEST_FIRST)
+                .cursorBatchSize(batchSize);
+        return reactiveMongoTemplate.find(query, Transaction.class);
+    }
+}
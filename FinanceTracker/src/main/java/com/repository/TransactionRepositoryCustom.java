@@ -0,0 +1,26 @@
+package com.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.dto.CategoryTypeTotal;
+import com.dto.MonthlyCategoryTypeTotal;
+import com.dto.TransactionCursor;
+import com.dto.TransactionFilter;
+import com.entity.Transaction;
+
+/**
+ * Transaction queries that need the aggregation framework
+ * rather than derived query methods.
+ */
+public interface TransactionRepositoryCustom {
+
+    // Sum amounts per (category, type) for a user in a date range, in a single round trip
+    List<CategoryTypeTotal> sumByCategoryAndType(String userId, LocalDate startDate, LocalDate endDate);
+
+    // Same sums, additionally grouped by calendar month of the transaction date, in a single round trip
+    List<MonthlyCategoryTypeTotal> sumByMonthCategoryAndType(String userId, LocalDate startDate, LocalDate endDate);
+
+    // Keyset page ordered by (date desc, id desc), starting after the cursor (null for the first page)
+    List<Transaction> findPage(String userId, TransactionFilter filter, TransactionCursor after, int limit);
+}
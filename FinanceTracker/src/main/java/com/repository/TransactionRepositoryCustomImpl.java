@@ -0,0 +1,168 @@
+package com.repository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.dto.CategoryTypeTotal;
+import com.dto.MonthlyCategoryTypeTotal;
+import com.dto.TransactionCursor;
+import com.dto.TransactionFilter;
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    // Amount in minor units; legacy double (major unit) amounts are converted in the pipeline
+    private static final Document MINOR_UNITS = new Document("$cond", Arrays.asList(
+            new Document("$eq", Arrays.asList(new Document("$type", "$amount"), "double")),
+            new Document("$toLong", new Document("$round", Arrays.asList(
+                    new Document("$multiply", Arrays.asList("$amount", 100)), 0))),
+            "$amount"));
+
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * $match user + date range, then $group by (categoryId, upper-cased type).
+     * Only one document per category/type pair comes back over the wire.
+     */
+    @Override
+    public List<CategoryTypeTotal> sumByCategoryAndType(String userId, LocalDate startDate, LocalDate endDate) {
+        List<CategoryTypeTotal> totals = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(categoryTypeAggregation(userId, startDate, endDate),
+                Document.class).getMappedResults()) {
+            totals.add(toCategoryTypeTotal(row));
+        }
+        return totals;
+    }
+
+    /**
+     * The sumByCategoryAndType pipeline; shared with ReactiveTransactionRepositoryCustomImpl
+     */
+    static TypedAggregation<Transaction> categoryTypeAggregation(String userId, LocalDate startDate,
+                                                                 LocalDate endDate) {
+        return Aggregation.newAggregation(Transaction.class,
+                Aggregation.match(Criteria.where("userId").is(userId)
+                        .and("date").gte(startDate).lte(endDate)),
+                context -> new Document("$project", new Document("categoryId", 1)
+                        .append("type", new Document("$toUpper", "$type"))
+                        .append("amount", MINOR_UNITS)),
+                Aggregation.group("categoryId", "type")
+                        .sum("amount").as("total")
+                        .count().as("count"));
+    }
+
+    /**
+     * As sumByCategoryAndType, with the calendar month added to the group key.
+     * Dates are stored as start of day in the default time zone, so months are
+     * taken in that zone.
+     */
+    @Override
+    public List<MonthlyCategoryTypeTotal> sumByMonthCategoryAndType(String userId, LocalDate startDate,
+                                                                    LocalDate endDate) {
+        Document dateInZone = new Document("date", "$date").append("timezone", ZoneId.systemDefault().getId());
+        TypedAggregation<Transaction> aggregation = Aggregation.newAggregation(Transaction.class,
+                Aggregation.match(Criteria.where("userId").is(userId)
+                        .and("date").gte(startDate).lte(endDate)),
+                context -> new Document("$project", new Document("categoryId", 1)
+                        .append("type", new Document("$toUpper", "$type"))
+                        .append("amount", MINOR_UNITS)
+                        .append("year", new Document("$year", dateInZone))
+                        .append("month", new Document("$month", dateInZone))),
+                Aggregation.group("year", "month", "categoryId", "type")
+                        .sum("amount").as("total")
+                        .count().as("count"));
+
+        List<MonthlyCategoryTypeTotal> totals = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, Document.class).getMappedResults()) {
+            Document key = row.get("_id", Document.class);
+            CategoryTypeTotal total = toCategoryTypeTotal(row);
+            totals.add(new MonthlyCategoryTypeTotal(
+                    ((Number) key.get("year")).intValue(),
+                    ((Number) key.get("month")).intValue(),
+                    total.getCategoryId(), total.getType(), total.getTotal(), total.getCount()));
+        }
+        return totals;
+    }
+
+    static CategoryTypeTotal toCategoryTypeTotal(Document row) {
+        Document key = row.get("_id", Document.class);
+        return new CategoryTypeTotal(
+                key.getString("categoryId"),
+                TransactionType.parse(key.getString("type")),
+                ((Number) row.getOrDefault("total", 0)).longValue(),
+                ((Number) row.getOrDefault("count", 0)).longValue());
+    }
+
+    /**
+     * Each filter maps onto one of the (userId, ..., date, _id) indexes on Transaction,
+     * and the keyset condition seeks straight to the cursor position, so page N
+     * costs the same as page 1.
+     */
+    @Override
+    public List<Transaction> findPage(String userId, TransactionFilter filter, TransactionCursor after, int limit) {
+        List<Criteria> criteria = filterCriteria(userId, filter);
+
+        if (after != null) {
+            if (after.getDate() != null) {
+                // Descending order puts undated transactions last
+                criteria.add(new Criteria().orOperator(
+                        Criteria.where("date").lt(after.getDate()),
+                        Criteria.where("date").is(after.getDate()).and("id").lt(after.getId()),
+                        Criteria.where("date").is(null)));
+            } else {
+                criteria.add(Criteria.where("date").is(null).and("id").lt(after.getId()));
+            }
+        }
+
+        Query query = new Query(new Criteria().andOperator(criteria))
+                .with(NEWEST_FIRST)
+                .limit(limit);
+        return mongoTemplate.find(query, Transaction.class);
+    }
+
+    /**
+     * The user plus whichever TransactionFilter fields are set
+     */
+    static List<Criteria> filterCriteria(String userId, TransactionFilter filter) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("userId").is(userId));
+
+        if (filter != null) {
+            if (filter.getType() != null && !filter.getType().isEmpty()) {
+                criteria.add(Criteria.where("type").is(filter.getType().toUpperCase()));
+            }
+            if (filter.getCategoryId() != null && !filter.getCategoryId().isEmpty()) {
+                criteria.add(Criteria.where("categoryId").is(filter.getCategoryId()));
+            }
+            if (filter.getFrom() != null || filter.getTo() != null) {
+                Criteria date = Criteria.where("date");
+                if (filter.getFrom() != null) date.gte(filter.getFrom());
+                if (filter.getTo() != null) date.lte(filter.getTo());
+                criteria.add(date);
+            }
+            if (filter.getMinAmount() != null || filter.getMaxAmount() != null) {
+                Criteria amount = Criteria.where("amount");
+                if (filter.getMinAmount() != null) amount.gte(Money.toMinor(filter.getMinAmount()));
+                if (filter.getMaxAmount() != null) amount.lte(Money.toMinor(filter.getMaxAmount()));
+                criteria.add(amount);
+            }
+        }
+        return criteria;
+    }
+}
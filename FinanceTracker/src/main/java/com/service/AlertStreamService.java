@@ -0,0 +1,277 @@
+package com.service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dto.BudgetAlertEvent;
+import com.dto.BudgetStatusResponse;
+import com.entity.User;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events for budget alerts (/api/budgets/alerts/stream)
+ *
+ * Each connection is an SseEmitter on an async servlet request: no thread is held while it
+ * is idle, a node keeps one small entry per connected user. On connect the current month's
+ * active alerts are sent as a "snapshot" event. Every threshold crossing the alert engine
+ * reports (BudgetAlertService, once per crossing, up or down) is pushed as an "alert" event
+ * to all of the user's connections. Users without a connection cost nothing on write.
+ *
+ * Connections are closed after finance.alerts.stream.timeout (clients reconnect), and a
+ * heartbeat comment every finance.alerts.stream.heartbeat finds the ones that went away.
+ *
+ * Sends never run on the thread that reported the crossing (a transaction write) or on the
+ * shared scheduler: each connection queues its events and a small pool of sender threads
+ * (finance.alerts.stream.senders) writes them in order. A connection that falls more than
+ * finance.alerts.stream.max-backlog events behind is closed; the client reconnects and gets
+ * a fresh snapshot. The heartbeat has its own timer thread.
+ */
+@Service
+public class AlertStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertStreamService.class);
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Value("${finance.alerts.stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${finance.alerts.stream.max-per-user:10}")
+    private int maxPerUser;
+
+    @Value("${finance.alerts.stream.heartbeat:PT30S}")
+    private Duration heartbeat;
+
+    @Value("${finance.alerts.stream.senders:2}")
+    private int senderThreads;
+
+    @Value("${finance.alerts.stream.max-backlog:32}")
+    private int maxBacklog;
+
+    private Executor senders;
+
+    private ScheduledExecutorService heartbeats;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<String, Subscribers> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        // One queued task per connection with pending events at most, so the bound is generous
+        AtomicInteger threads = new AtomicInteger();
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(65536), runnable -> daemon(runnable, "alert-stream-sender-" + threads.getAndIncrement()));
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "alert-stream-heartbeat"));
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeats.shutdownNow();
+        if (senders instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Open a stream for the user, starting with the current month's active alerts
+     */
+    public SseEmitter subscribe(User user) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Connection connection = new Connection(user.getId(), emitter);
+        // compute, not computeIfAbsent + add: remove() may be dropping the user's empty entry concurrently
+        Subscribers subs = subscribers.compute(user.getId(), (id, existing) -> {
+            Subscribers target = existing != null ? existing : new Subscribers();
+            target.connections.add(connection);
+            return target;
+        });
+        connections.incrementAndGet();
+        if (subs.connections.size() > maxPerUser) {
+            // Oldest first
+            Connection oldest = subs.connections.get(0);
+            remove(oldest);
+            oldest.emitter.complete();
+        }
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+
+        YearMonth current = YearMonth.now(clock);
+        List<BudgetStatusResponse.BudgetAlert> active = budgetService.getBudgetStatus(
+                user, current.getYear(), current.getMonthValue()).getAlerts();
+        enqueue(connection, SseEmitter.event().name("snapshot").data(event(current, active)));
+        return emitter;
+    }
+
+    /**
+     * Push a crossing to the user's open streams
+     */
+    @EventListener
+    public void onThresholdCrossed(BudgetThresholdCrossedEvent event) {
+        Subscribers subs = subscribers.get(event.getUserId());
+        if (subs == null) {
+            return;
+        }
+        BudgetAlertEvent data = event(event.getMonth(), listOf(event.getAlert()));
+        data.setCleared(listOf(event.getPreviousAlert()));
+        for (Connection connection : subs.connections) {
+            enqueue(connection, SseEmitter.event().name("alert").data(data));
+        }
+    }
+
+    /**
+     * A comment on every open stream; writes to closed connections fail and drop them
+     */
+    public void heartbeat() {
+        subscribers.forEach((userId, subs) -> {
+            for (Connection connection : subs.connections) {
+                enqueue(connection, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    /**
+     * Open connections on this node
+     */
+    public int connections() {
+        return connections.get();
+    }
+
+    /**
+     * Connections closed because they fell max-backlog events behind (or no sender was free)
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Queue an event on the connection and make sure a sender drains it; never blocks
+     */
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.backlog.incrementAndGet() > maxBacklog) {
+            drop(connection, "more than " + maxBacklog + " events behind");
+            return;
+        }
+        connection.pending.add(event);
+        if (connection.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                drop(connection, "no sender available");
+            }
+        }
+    }
+
+    /**
+     * Send what the connection has queued, in order; one sender per connection at a time
+     */
+    private void drain(Connection connection) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = connection.pending.poll()) != null) {
+                connection.backlog.decrementAndGet();
+                try {
+                    connection.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Alert stream of {} closed: {}", connection.userId, e.getMessage());
+                    remove(connection);
+                    connection.pending.clear();
+                }
+            }
+            connection.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared
+        } while (!connection.pending.isEmpty() && connection.draining.compareAndSet(false, true));
+    }
+
+    private void drop(Connection connection, String reason) {
+        if (remove(connection)) {
+            dropped.incrementAndGet();
+            log.debug("Alert stream of {} dropped: {}", connection.userId, reason);
+            connection.pending.clear();
+            connection.emitter.complete();
+        }
+    }
+
+    private boolean remove(Connection connection) {
+        Subscribers subs = subscribers.get(connection.userId);
+        if (subs != null && subs.connections.remove(connection)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(connection.userId, (id, s) -> s.connections.isEmpty() ? null : s);
+            return true;
+        }
+        return false;
+    }
+
+    private static List<BudgetStatusResponse.BudgetAlert> listOf(BudgetStatusResponse.BudgetAlert alert) {
+        return alert != null ? List.of(alert) : List.of();
+    }
+
+    private static BudgetAlertEvent event(YearMonth yearMonth, List<BudgetStatusResponse.BudgetAlert> alerts) {
+        return new BudgetAlertEvent(yearMonth.getYear(), yearMonth.getMonthValue(), alerts);
+    }
+
+    /**
+     * A user's open streams
+     */
+    private static class Subscribers {
+        final List<Connection> connections = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * One open stream and the events waiting to be written to it
+     */
+    private static class Connection {
+        final String userId;
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger backlog = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Connection(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
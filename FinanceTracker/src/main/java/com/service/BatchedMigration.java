@@ -0,0 +1,100 @@
+package com.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Batched, resumable document migration
+ *
+ * Walks a collection in _id order, one batch at a time, and applies the writes
+ * produced for each batch as an unordered bulk write. The last processed _id is
+ * checkpointed in the "migrations" collection after every batch, so an interrupted
+ * run resumes where it stopped and a re-run only looks at documents written since.
+ *
+ * The checkpoint only moves forward: a document an older instance rewrites after the walk
+ * passed it is not seen again. sweep() walks the whole collection without a checkpoint,
+ * for a final pass before a destructive step.
+ */
+@Component
+public class BatchedMigration {
+
+    static final String CHECKPOINTS = "migrations";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${finance.migration.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Walk every document matching the filter from the start, without reading or moving a checkpoint
+     * @return number of documents processed
+     */
+    public long sweep(String collectionName, Bson filter, Bson projection,
+                      Function<List<Document>, List<WriteModel<Document>>> batchHandler) {
+        return run(null, collectionName, filter, projection, batchHandler);
+    }
+
+    /**
+     * @param checkpointId unique id of this migration step, e.g. "dbref-to-ids:transactions"
+     * @param filter       documents that still need migrating
+     * @param batchHandler turns one batch into the writes to apply (may be empty)
+     * @return number of documents processed
+     */
+    public long run(String checkpointId, String collectionName, Bson filter, Bson projection,
+                    Function<List<Document>, List<WriteModel<Document>>> batchHandler) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        MongoCollection<Document> checkpoints = mongoTemplate.getCollection(CHECKPOINTS);
+
+        Document checkpoint = checkpointId != null ? checkpoints.find(Filters.eq("_id", checkpointId)).first() : null;
+        Object lastId = checkpoint != null ? checkpoint.get("lastId") : null;
+        long processed = checkpoint != null ? checkpoint.get("processed", Number.class).longValue() : 0;
+        long processedThisRun = 0;
+
+        while (true) {
+            Bson batchFilter = lastId == null ? filter : Filters.and(filter, Filters.gt("_id", lastId));
+            List<Document> batch = collection.find(batchFilter)
+                    .projection(projection)
+                    .sort(Sorts.ascending("_id"))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                return processedThisRun;
+            }
+
+            List<WriteModel<Document>> writes = batchHandler.apply(batch);
+            if (!writes.isEmpty()) {
+                collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            }
+
+            lastId = batch.get(batch.size() - 1).get("_id");
+            processed += batch.size();
+            processedThisRun += batch.size();
+            if (checkpointId == null) {
+                continue;
+            }
+            checkpoints.replaceOne(Filters.eq("_id", checkpointId),
+                    new Document("_id", checkpointId)
+                            .append("lastId", lastId)
+                            .append("processed", processed)
+                            .append("updatedAt", new Date()),
+                    new ReplaceOptions().upsert(true));
+        }
+    }
+}
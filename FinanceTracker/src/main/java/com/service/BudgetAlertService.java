@@ -0,0 +1,150 @@
+package com.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.dto.BudgetStatusResponse;
+import com.entity.Budget;
+import com.entity.Money;
+import com.entity.User;
+
+/**
+ * Threshold-crossing alert engine, evaluated on write
+ *
+ * After each transaction write only the budgets it affects (the overall budget and the
+ * budgets of the written categories, in the written months) are evaluated, from their
+ * spent counters. When a budget's level (highest of 50/75/90/100% reached) changes, up or
+ * down, the new level and alert are stored on the budget with a compare-and-set on the
+ * previous level, and the winner of that update publishes one BudgetThresholdCrossedEvent,
+ * so concurrent writes report each crossing exactly once.
+ *
+ * Budget status reads serve the stored alerts (BudgetService.buildBudgetStatus).
+ */
+@Service
+public class BudgetAlertService {
+
+    // Attempts of the compare-and-set before leaving the level to the next write
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    @EventListener
+    @Order(TransactionsChangedEvent.ALERTS_ORDER)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        for (YearMonth yearMonth : event.getMonths()) {
+            Criteria criteria = Criteria.where("userId").is(event.getUserId())
+                    .and("year").is(yearMonth.getYear())
+                    .and("month").is(yearMonth.getMonthValue());
+            if (event.getCategoryIds() != null) {
+                List<String> categoryIds = new ArrayList<>(event.getCategoryIds());
+                categoryIds.add(null);
+                criteria = criteria.and("categoryId").in(categoryIds);
+            }
+            for (Budget budget : mongoTemplate.find(new Query(criteria), Budget.class)) {
+                evaluate(budget);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluate one budget (after a transaction write, or a change of its limit)
+     */
+    public void evaluate(Budget budget) {
+        evaluate(budget, true);
+    }
+
+    /**
+     * Store every budget's level from its recomputed spent counter, without reporting crossings:
+     * the stored level stays the one already reported, so the next write reports only a real change
+     */
+    public void reevaluateAll() {
+        for (Budget budget : mongoTemplate.findAll(Budget.class)) {
+            if (budget.getUserId() != null) {
+                evaluate(budget, false);
+            }
+        }
+    }
+
+    private void evaluate(Budget budget, boolean report) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && budget != null; attempt++) {
+            if (tryUpdate(budget, report)) {
+                return;
+            }
+            // Another write stored a level first: re-read its spent counter and level
+            budget = mongoTemplate.findById(budget.getId(), Budget.class);
+        }
+    }
+
+    /**
+     * Store the budget's current level if it changed; false if the stored level was not the one read
+     */
+    private boolean tryUpdate(Budget budget, boolean report) {
+        long limitMinor = budget.effectiveLimitMinor();
+        long spentMinor = spentMinor(budget);
+        double usage = limitMinor > 0 ? (spentMinor * 100.0) / limitMinor : 0;
+        double level = BudgetService.alertLevel(usage);
+
+        Double previous = budget.getAlertLevel();
+        double previousLevel = previous != null ? previous : 0.0;
+        if (previous != null && previous == level) {
+            return true;
+        }
+
+        String type = budget.isOverallBudget() ? "OVERALL" : budget.getCategoryId();
+        BudgetStatusResponse.BudgetAlert alert = BudgetService.alertFor(type, usage,
+                Money.toMajor(limitMinor), Money.toMajor(spentMinor));
+
+        Query unchanged = new Query(Criteria.where("_id").is(budget.getId()).and("alertLevel").is(previous));
+        boolean stored = mongoTemplate.updateFirst(unchanged,
+                new Update()
+                        .set("alertLevel", level)
+                        .set("alert", alert)
+                        .set("alertChangedAt", LocalDateTime.now(clock)),
+                Budget.class).getMatchedCount() > 0;
+        if (!stored) {
+            return false;
+        }
+
+        if (report && level != previousLevel) {
+            eventPublisher.publishEvent(new BudgetThresholdCrossedEvent(budget.getUserId(),
+                    YearMonth.of(budget.getYear(), budget.getMonth()), budget.getId(),
+                    previousLevel, level, budget.getAlert(), alert));
+        }
+        return true;
+    }
+
+    /**
+     * The budget's spent counter; budgets created before the counters existed fall back to the month totals
+     */
+    private long spentMinor(Budget budget) {
+        if (budget.getSpent() != null) {
+            return budget.getSpent().minor();
+        }
+        User user = new User();
+        user.setId(budget.getUserId());
+        MonthlyTotals totals = rollupService.getMonthlyTotals(user, YearMonth.of(budget.getYear(), budget.getMonth()));
+        return budget.isOverallBudget() ? totals.getNetSpent() : totals.getCategoryNetSpent(budget.getCategoryId());
+    }
+}
@@ -0,0 +1,403 @@
+package com.service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.dto.BudgetStatusResponse;
+import com.entity.Budget;
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Atomic budget spend counters
+ *
+ * Each budget keeps a "spent" counter (net: expenses - income, minor units) for its month.
+ * An expense reserves its amount with one conditional findAndModify per budget:
+ * for preventExceed budgets the $inc only matches while max(spent, 0) + amount
+ * stays within monthlyLimit + carriedOver (see RolloverService), so concurrent expenses cannot overshoot the limit.
+ * Deletes and edits compensate with unconditional $inc of the opposite sign.
+ */
+@Service
+public class BudgetReservationService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private BatchedMigration batchedMigration;
+
+    @Value("${finance.budgets.atomic-reservation:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Count a new transaction against its month's budgets.
+     * Expenses are checked against preventExceed budgets; on rejection nothing is counted.
+     * Income always goes through and lowers the net spent.
+     */
+    public BudgetService.BudgetValidationResult reserve(String userId, Transaction tx) {
+        if (tx.getType() != TransactionType.EXPENSE) {
+            adjust(userId, tx, 1);
+            return new BudgetService.BudgetValidationResult(true, null, null);
+        }
+
+        if (tx.getDate() == null) {
+            return new BudgetService.BudgetValidationResult(true, null, null);
+        }
+        YearMonth yearMonth = YearMonth.from(tx.getDate());
+        long amount = tx.getAmount() != null ? tx.getAmount().minor() : 0;
+
+        Outcome overall = tryIncrement(userId, yearMonth, null, amount, amount);
+        if (overall.rejected) {
+            return new BudgetService.BudgetValidationResult(false,
+                    "Expense would exceed overall monthly budget",
+                    BudgetStatusResponse.BudgetStatus.EXCEEDED);
+        }
+
+        Outcome category = tx.getCategoryId() != null
+                ? tryIncrement(userId, yearMonth, tx.getCategoryId(), amount, amount)
+                : Outcome.NONE;
+        if (category.rejected) {
+            if (overall.budget != null) {
+                // Give back what the overall budget already counted
+                increment(overall.budget.getId(), -amount);
+            }
+            return new BudgetService.BudgetValidationResult(false,
+                    "Expense would exceed category budget: " + category.budget.getCategoryName(),
+                    BudgetStatusResponse.BudgetStatus.EXCEEDED);
+        }
+
+        if (overall.exceeded()) {
+            return new BudgetService.BudgetValidationResult(true,
+                    "Warning: Expense exceeds overall monthly budget",
+                    BudgetStatusResponse.BudgetStatus.EXCEEDED);
+        }
+        if (category.exceeded()) {
+            return new BudgetService.BudgetValidationResult(true,
+                    "Warning: Expense exceeds category budget: " + category.budget.getCategoryName(),
+                    BudgetStatusResponse.BudgetStatus.EXCEEDED);
+        }
+        return new BudgetService.BudgetValidationResult(true, null, null);
+    }
+
+    /**
+     * Count a batch of new transactions (bulk import) against their budgets, with one
+     * conditional $inc per (month, budget) for the batch's totals. If a preventExceed budget
+     * has no room for the whole batch, that is undone and the rows are reserved one by one,
+     * so only those that fit are counted.
+     * @return one result per transaction, in order
+     */
+    public List<BudgetService.BudgetValidationResult> reserve(String userId, List<Transaction> txs) {
+        List<Taken> taken = new ArrayList<>();
+        if (reserveTotals(userId, txs, taken)) {
+            return warnings(txs, taken);
+        }
+        for (Taken t : taken) {
+            increment(t.budget.getId(), -t.delta);
+        }
+        List<BudgetService.BudgetValidationResult> results = new ArrayList<>(txs.size());
+        for (Transaction tx : txs) {
+            results.add(reserve(userId, tx));
+        }
+        return results;
+    }
+
+    /**
+     * Per month: the overall budget takes every row, a category budget the rows of its category.
+     * Checked against the batch's expenses alone: income in between only lowers the total.
+     * @return false on the first budget without room; what was taken until then is in taken
+     */
+    private boolean reserveTotals(String userId, List<Transaction> txs, List<Taken> taken) {
+        // month -> categoryId (null = the overall budget) -> rows
+        Map<YearMonth, Map<String, List<Transaction>>> groups = new LinkedHashMap<>();
+        for (Transaction tx : txs) {
+            if (signedAmount(tx) == 0 || tx.getDate() == null) {
+                continue;
+            }
+            Map<String, List<Transaction>> month = groups.computeIfAbsent(YearMonth.from(tx.getDate()),
+                    ym -> new LinkedHashMap<>());
+            month.computeIfAbsent(null, k -> new ArrayList<>()).add(tx);
+            if (tx.getCategoryId() != null) {
+                month.computeIfAbsent(tx.getCategoryId(), k -> new ArrayList<>()).add(tx);
+            }
+        }
+
+        for (Map.Entry<YearMonth, Map<String, List<Transaction>>> month : groups.entrySet()) {
+            for (Map.Entry<String, List<Transaction>> group : month.getValue().entrySet()) {
+                long expenses = 0;
+                long delta = 0;
+                for (Transaction tx : group.getValue()) {
+                    long signed = signedAmount(tx);
+                    expenses += Math.max(0, signed);
+                    delta += signed;
+                }
+                Outcome outcome = tryIncrement(userId, month.getKey(), group.getKey(), expenses, delta);
+                if (outcome.rejected) {
+                    return false;
+                }
+                if (outcome.budget != null) {
+                    taken.add(new Taken(outcome.budget, delta, group.getValue()));
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replays each budget's rows from the counter before the batch to find the expenses that
+     * took a budget (without preventExceed) over its limit; the overall budget's warning wins
+     */
+    private static List<BudgetService.BudgetValidationResult> warnings(List<Transaction> txs, List<Taken> taken) {
+        Map<Transaction, String> messages = new IdentityHashMap<>();
+        for (Taken t : taken) {
+            long running = (t.budget.getSpent() != null ? t.budget.getSpent().minor() : 0) - t.delta;
+            long limit = t.budget.effectiveLimitMinor();
+            for (Transaction tx : t.rows) {
+                long signed = signedAmount(tx);
+                if (signed > 0 && Math.max(0, running) + signed > limit
+                        && (t.budget.isOverallBudget() || !messages.containsKey(tx))) {
+                    messages.put(tx, t.budget.isOverallBudget()
+                            ? "Warning: Expense exceeds overall monthly budget"
+                            : "Warning: Expense exceeds category budget: " + t.budget.getCategoryName());
+                }
+                running += signed;
+            }
+        }
+        List<BudgetService.BudgetValidationResult> results = new ArrayList<>(txs.size());
+        for (Transaction tx : txs) {
+            String message = messages.get(tx);
+            results.add(new BudgetService.BudgetValidationResult(true, message,
+                    message != null ? BudgetStatusResponse.BudgetStatus.EXCEEDED : null));
+        }
+        return results;
+    }
+
+    /**
+     * Undo what reserve/apply counted for a transaction (delete, the old side of an edit, failed save)
+     */
+    public void release(String userId, Transaction tx) {
+        adjust(userId, tx, -1);
+    }
+
+    /**
+     * Count a transaction without any limit check (already validated, or restoring after an edit)
+     */
+    public void apply(String userId, Transaction tx) {
+        adjust(userId, tx, 1);
+    }
+
+    /**
+     * Count a batch of imported transactions: one $inc per (month, category) in a single bulk write
+     */
+    public void apply(String userId, List<Transaction> txs) {
+        // month -> categoryId (null = uncategorized) -> net delta
+        Map<YearMonth, Map<String, Long>> deltas = new HashMap<>();
+        for (Transaction tx : txs) {
+            long delta = signedAmount(tx);
+            if (delta == 0 || tx.getDate() == null) {
+                continue;
+            }
+            deltas.computeIfAbsent(YearMonth.from(tx.getDate()), ym -> new HashMap<>())
+                    .merge(tx.getCategoryId(), delta, Long::sum);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Budget.class);
+        deltas.forEach((yearMonth, byCategory) -> byCategory.forEach((categoryId, delta) ->
+                bulk.updateMulti(budgetsFor(userId, yearMonth, categoryId), new Update().inc("spent", delta))));
+        bulk.execute();
+    }
+
+    /**
+     * Seed the counter of a newly created budget from the month's totals
+     */
+    public void initialize(Budget budget, User user) {
+        MonthlyTotals totals = rollupService.getMonthlyTotals(user, YearMonth.of(budget.getYear(), budget.getMonth()));
+        long spent = netSpent(totals, budget.getCategoryId());
+        increment(budget.getId(), spent);
+        budget.setSpent(Money.ofMinor(spent));
+    }
+
+    /**
+     * Seed counters of budgets created before they existed. Batched and resumable.
+     */
+    public long initializeMissing() {
+        String collection = mongoTemplate.getCollectionName(Budget.class);
+        return batchedMigration.run("budget-spent:" + collection, collection,
+                Filters.and(Filters.exists("userId"), Filters.exists("spent", false)),
+                Projections.include("userId", "year", "month", "categoryId"),
+                batch -> {
+                    Map<String, MonthlyTotals> totalsByMonth = new HashMap<>();
+                    List<WriteModel<Document>> writes = new ArrayList<>();
+                    for (Document doc : batch) {
+                        String userId = doc.getString("userId");
+                        YearMonth yearMonth = YearMonth.of(doc.getInteger("year"), doc.getInteger("month"));
+                        MonthlyTotals totals = totalsByMonth.computeIfAbsent(userId + "|" + yearMonth,
+                                k -> rollupService.getMonthlyTotals(userStub(userId), yearMonth));
+                        writes.add(new UpdateOneModel<>(
+                                Filters.and(Filters.eq("_id", doc.get("_id")), Filters.exists("spent", false)),
+                                Updates.set("spent", netSpent(totals, doc.getString("categoryId")))));
+                    }
+                    return writes;
+                });
+    }
+
+    /**
+     * Reset every counter from the month totals (after a rollup rebuild)
+     */
+    public void recomputeAll() {
+        Map<String, MonthlyTotals> totalsByMonth = new HashMap<>();
+        for (Budget budget : mongoTemplate.findAll(Budget.class)) {
+            if (budget.getUserId() == null) {
+                continue;
+            }
+            YearMonth yearMonth = YearMonth.of(budget.getYear(), budget.getMonth());
+            MonthlyTotals totals = totalsByMonth.computeIfAbsent(budget.getUserId() + "|" + yearMonth,
+                    k -> rollupService.getMonthlyTotals(userStub(budget.getUserId()), yearMonth));
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(budget.getId())),
+                    new Update().set("spent", netSpent(totals, budget.getCategoryId())), Budget.class);
+        }
+    }
+
+    /**
+     * $inc the budget's counter by delta only if it has room for the expenses, or unconditionally
+     * when it does not prevent exceeding
+     */
+    private Outcome tryIncrement(String userId, YearMonth yearMonth, String categoryId, long expenses, long delta) {
+        Document fits = new Document("$expr", new Document("$lte", Arrays.asList(
+                new Document("$add", Arrays.asList(new Document("$max", Arrays.asList("$spent", 0)), expenses)),
+                new Document("$add", Arrays.asList("$monthlyLimit", new Document("$ifNull", Arrays.asList("$carriedOver", 0)))))));
+        Document query = new Document("userId", userId)
+                .append("year", yearMonth.getYear())
+                .append("month", yearMonth.getMonthValue())
+                .append("categoryId", categoryId)
+                .append("$or", Arrays.asList(new Document("preventExceed", new Document("$ne", true)), fits));
+
+        Budget updated = mongoTemplate.findAndModify(new BasicQuery(query), new Update().inc("spent", delta),
+                FindAndModifyOptions.options().returnNew(true), Budget.class);
+        if (updated != null) {
+            return new Outcome(updated, false);
+        }
+
+        // Not matched: either there is no such budget, or it is full
+        Budget existing = mongoTemplate.findOne(new Query(Criteria.where("userId").is(userId)
+                .and("year").is(yearMonth.getYear())
+                .and("month").is(yearMonth.getMonthValue())
+                .and("categoryId").is(categoryId)), Budget.class);
+        return existing != null ? new Outcome(existing, true) : Outcome.NONE;
+    }
+
+    private void increment(String budgetId, long amount) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(budgetId)),
+                new Update().inc("spent", amount), Budget.class);
+    }
+
+    /**
+     * One updateMulti hits the overall budget and the transaction's category budget
+     */
+    private void adjust(String userId, Transaction tx, int sign) {
+        long delta = signedAmount(tx);
+        if (delta == 0 || tx.getDate() == null) {
+            return;
+        }
+        mongoTemplate.updateMulti(budgetsFor(userId, YearMonth.from(tx.getDate()), tx.getCategoryId()),
+                new Update().inc("spent", sign * delta), Budget.class);
+    }
+
+    private static Query budgetsFor(String userId, YearMonth yearMonth, String categoryId) {
+        Criteria criteria = Criteria.where("userId").is(userId)
+                .and("year").is(yearMonth.getYear())
+                .and("month").is(yearMonth.getMonthValue());
+        criteria = categoryId == null
+                ? criteria.and("categoryId").is(null)
+                : criteria.and("categoryId").in(Arrays.asList(null, categoryId));
+        return new Query(criteria);
+    }
+
+    /**
+     * +amount for expenses, -amount for income (refunds lower the net spent)
+     */
+    private static long signedAmount(Transaction tx) {
+        long amount = tx.getAmount() != null ? tx.getAmount().minor() : 0;
+        if (tx.getType() == TransactionType.EXPENSE) return amount;
+        if (tx.getType() == TransactionType.INCOME) return -amount;
+        return 0;
+    }
+
+    private static long netSpent(MonthlyTotals totals, String categoryId) {
+        if (categoryId == null) {
+            return totals.getTotalExpenses() - totals.getTotalIncome();
+        }
+        MonthlyTotals.CategoryTotals category = totals.getCategories().get(categoryId);
+        return category == null ? 0 : category.getExpenses() - category.getIncome();
+    }
+
+    private static User userStub(String userId) {
+        User user = new User();
+        user.setId(userId);
+        return user;
+    }
+
+    private static class Taken {
+        final Budget budget; // as returned by the $inc
+        final long delta;
+        final List<Transaction> rows;
+
+        Taken(Budget budget, long delta, List<Transaction> rows) {
+            this.budget = budget;
+            this.delta = delta;
+            this.rows = rows;
+        }
+    }
+
+    private static class Outcome {
+        static final Outcome NONE = new Outcome(null, false);
+
+        final Budget budget;
+        final boolean rejected;
+
+        Outcome(Budget budget, boolean rejected) {
+            this.budget = budget;
+            this.rejected = rejected;
+        }
+
+        boolean exceeded() {
+            return budget != null && !rejected && budget.getSpent() != null
+                    && budget.getSpent().minor() > budget.effectiveLimitMinor();
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.service;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -16,11 +18,15 @@ import com.dto.BudgetStatusResponse;
 import com.dto.MonthlySummaryResponse;
 import com.entity.Budget;
 import com.entity.Category;
+import com.entity.Money;
+import com.entity.MonthlySnapshot;
 import com.entity.Transaction;
+import com.entity.TransactionType;
 import com.entity.User;
 import com.repository.BudgetRepository;
 import com.repository.CategoryRepository;
-import com.repository.TransactionRepository;
+
+import io.micrometer.core.annotation.Timed;
 
 /**
  * Comprehensive Budget Management Service
@@ -29,7 +35,7 @@ import com.repository.TransactionRepository;
  * - Overall and category-wise budget management
  * - Real-time expense tracking
  * - Budget status calculation (SAFE, WARNING, EXCEEDED)
- * - Alert generation (50%, 75%, 90% thresholds)
+ * - Alerts (50%, 75%, 90%, 100% thresholds), stored on write by BudgetAlertService
  * - Budget rollover support
  * - Budget validation
  */
@@ -40,11 +46,26 @@ public class BudgetService {
     private BudgetRepository budgetRepository;
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private RollupService rollupService;
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private BudgetReservationService budgetReservationService;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private RolloverService rolloverService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
     // Alert thresholds
     private static final double ALERT_50 = 50.0;
     private static final double ALERT_75 = 75.0;
@@ -84,14 +105,15 @@ public class BudgetService {
                     .orElseThrow(() -> new IllegalArgumentException("Category not found"));
             
             // Verify category belongs to user
-            if (!category.getUser().getId().equals(user.getId())) {
+            if (!user.getId().equals(category.getUserId())) {
                 throw new IllegalArgumentException("Category does not belong to user");
             }
         }
 
         // Find existing budget
-        Optional<Budget> existing = budgetRepository.findByUserAndYearAndMonthAndCategory(
-                user, year, month, category);
+        String categoryId = category != null ? category.getId() : null;
+        Optional<Budget> existing = budgetRepository.findByUserIdAndYearAndMonthAndCategoryId(
+                user.getId(), year, month, categoryId);
 
         Budget budget;
         if (existing.isPresent()) {
@@ -99,59 +121,75 @@ public class BudgetService {
             budget.setUpdatedAt(java.time.LocalDateTime.now());
         } else {
             budget = new Budget();
-            budget.setUser(user);
+            budget.setUserId(user.getId());
             budget.setYear(year);
             budget.setMonth(month);
-            budget.setCategory(category);
+            budget.setCategoryId(categoryId);
         }
 
-        budget.setMonthlyLimit(request.getMonthlyLimit());
+        budget.setCategoryName(category != null ? category.getName() : null);
+        budget.setMonthlyLimit(Money.of(request.getMonthlyLimit()));
         budget.setAllowRollover(request.getAllowRollover() != null ? request.getAllowRollover() : false);
         budget.setPreventExceed(request.getPreventExceed() != null ? request.getPreventExceed() : false);
 
-        return budgetRepository.save(budget);
+        if (existing.isPresent()) {
+            // Not save(): a full replace could undo a concurrent $inc of the spent counter
+            budgetRepository.updateSettings(budget);
+        } else {
+            budget.setCarriedOver(rolloverService.carryInto(user.getId(), YearMonth.of(year, month), categoryId));
+            budget = budgetRepository.save(budget);
+            budgetReservationService.initialize(budget, user);
+        }
+        // A new limit or rollover setting changes what the following months carry over
+        rolloverService.propagate(budget);
+        // ...and may move this budget across a threshold
+        budgetAlertService.evaluate(budget);
+        // Editing a closed month's budget changes its stored status
+        snapshotService.invalidate(user.getId(), List.of(YearMonth.of(year, month)));
+        dataVersionService.bump(user.getId());
+        return budget;
     }
 
     /**
      * Get budget status for a specific month/year
-     * Calculates real-time spending and status
+     * Calculates real-time spending and status; closed months are read from their snapshot
      */
+    @Timed(value = "finance.budget.status", histogram = true)
     public BudgetStatusResponse getBudgetStatus(User user, Integer year, Integer month) {
         if (year == null || month == null) {
             YearMonth current = YearMonth.now();
             year = current.getYear();
             month = current.getMonthValue();
         }
+        if (snapshotService.appliesTo(YearMonth.of(year, month))) {
+            return snapshotSummary(user, YearMonth.of(year, month)).getBudgetStatus();
+        }
 
-        // Get date range for the month
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
+        // Get all budgets for the month in one query
+        List<Budget> budgets = budgetRepository.findByUserIdAndYearAndMonth(user.getId(), year, month);
 
-        // Get all budgets for the month
-        List<Budget> budgets = budgetRepository.findByUserAndYearAndMonth(user, year, month);
-        
-        // Get overall budget
-        Optional<Budget> overallBudgetOpt = budgetRepository.findByUserAndYearAndMonthAndCategoryIsNull(
-                user, year, month);
-        
-        // Get all expenses AND income for the month
-        List<Transaction> transactions = transactionRepository.findByUserAndDateBetween(
-                user, startDate, endDate);
-
-        double totalExpenses = transactions.stream()
-                .filter(t -> "EXPENSE".equalsIgnoreCase(t.getType()))
-                .mapToDouble(tx -> tx.getAmount() != null ? tx.getAmount() : 0.0)
-                .sum();
-                
-        double totalIncome = transactions.stream()
-                .filter(t -> "INCOME".equalsIgnoreCase(t.getType()))
-                .mapToDouble(tx -> tx.getAmount() != null ? tx.getAmount() : 0.0)
-                .sum();
-        
-        // Net spent = Expenses - Income (handling refunds/credits)
-        double totalSpent = totalExpenses - totalIncome; 
-        if (totalSpent < 0) totalSpent = 0.0; // Don't show negative spending even if income > expense
+        // Income and expenses grouped by category, aggregated server-side in one round trip
+        MonthlyTotals totals = loadMonthlyTotals(user, YearMonth.of(year, month));
+
+        return buildBudgetStatus(budgets, totals);
+    }
+
+    /**
+     * Budget status from a month's budgets and totals that are already loaded
+     * Shared with the reactive endpoints (ReactiveReadService)
+     */
+    static BudgetStatusResponse buildBudgetStatus(List<Budget> budgets, MonthlyTotals totals) {
+        // Split overall vs category budgets
+        Optional<Budget> overallBudgetOpt = budgets.stream()
+                .filter(Budget::isOverallBudget)
+                .findFirst();
+        List<Budget> categoryBudgets = budgets.stream()
+                .filter(b -> !b.isOverallBudget())
+                .collect(Collectors.toList());
+
+        // Net spent = Expenses - Income (handling refunds/credits), in exact minor units
+        long totalSpentMinor = totals.getNetSpent();
+        double totalSpent = Money.toMajor(totalSpentMinor);
 
         // Build response
         BudgetStatusResponse response = new BudgetStatusResponse();
@@ -161,20 +199,23 @@ public class BudgetService {
         // Process overall budget
         if (overallBudgetOpt.isPresent()) {
             Budget overallBudget = overallBudgetOpt.get();
-            double budgetLimit = overallBudget.getMonthlyLimit();
-            double remaining = budgetLimit - totalSpent;
-            double usagePercentage = budgetLimit > 0 ? (totalSpent / budgetLimit) * 100 : 0;
+            long limitMinor = overallBudget.effectiveLimitMinor();
+            double budgetLimit = Money.toMajor(limitMinor);
+            double remaining = Money.toMajor(limitMinor - totalSpentMinor);
+            double usagePercentage = limitMinor > 0 ? (totalSpentMinor * 100.0) / limitMinor : 0;
 
             response.setOverallBudget(budgetLimit);
+            response.setOverallCarriedOver(carriedOver(overallBudget));
             response.setOverallSpent(totalSpent);
             response.setOverallRemaining(remaining);
             response.setOverallUsagePercentage(usagePercentage);
             response.setOverallStatus(calculateStatus(usagePercentage));
 
-            // Generate alerts for overall budget
-            alerts.addAll(generateAlerts("OVERALL", usagePercentage, budgetLimit, totalSpent));
+            // Alerts for overall budget
+            alerts.addAll(alertsOf(overallBudget, "OVERALL", usagePercentage, budgetLimit, totalSpent));
         } else {
             response.setOverallBudget(0.0);
+            response.setOverallCarriedOver(0.0);
             response.setOverallSpent(totalSpent);
             response.setOverallRemaining(0.0);
             response.setOverallUsagePercentage(0.0);
@@ -182,25 +223,25 @@ public class BudgetService {
         }
 
         // Process category budgets
-        List<Budget> categoryBudgets = budgetRepository.findByUserAndYearAndMonthAndCategoryIsNotNull(
-                user, year, month);
-
         for (Budget categoryBudget : categoryBudgets) {
-            Category cat = categoryBudget.getCategory();
-            double categoryLimit = categoryBudget.getMonthlyLimit();
+            String categoryId = categoryBudget.getCategoryId();
+            long categoryLimitMinor = categoryBudget.effectiveLimitMinor();
+            double categoryLimit = Money.toMajor(categoryLimitMinor);
 
-            // Calculate category spending using DB query ensures reliable matching
-            double categorySpent = getCurrentSpending(user, year, month, cat); 
+            // Category net spend comes from the same aggregation, no extra query per budget
+            long categorySpentMinor = totals.getCategoryNetSpent(categoryId);
+            double categorySpent = Money.toMajor(categorySpentMinor);
 
-            double categoryRemaining = categoryLimit - categorySpent;
-            double categoryUsagePercentage = categoryLimit > 0 ? 
-                    (categorySpent / categoryLimit) * 100 : 0;
+            double categoryRemaining = Money.toMajor(categoryLimitMinor - categorySpentMinor);
+            double categoryUsagePercentage = categoryLimitMinor > 0 ? 
+                    (categorySpentMinor * 100.0) / categoryLimitMinor : 0;
 
             BudgetStatusResponse.CategoryBudgetStatus catStatus = 
                     new BudgetStatusResponse.CategoryBudgetStatus();
-            catStatus.setCategoryId(cat.getId());
-            catStatus.setCategoryName(cat.getName());
+            catStatus.setCategoryId(categoryId);
+            catStatus.setCategoryName(categoryBudget.getCategoryName());
             catStatus.setBudget(categoryLimit);
+            catStatus.setCarriedOver(carriedOver(categoryBudget));
             catStatus.setSpent(categorySpent);
             catStatus.setRemaining(categoryRemaining);
             catStatus.setUsagePercentage(categoryUsagePercentage);
@@ -208,8 +249,8 @@ public class BudgetService {
 
             categoryStatuses.add(catStatus);
 
-            // Generate alerts for category
-            alerts.addAll(generateAlerts(cat.getId(), categoryUsagePercentage, 
+            // Alerts for category
+            alerts.addAll(alertsOf(categoryBudget, categoryId, categoryUsagePercentage, 
                     categoryLimit, categorySpent));
         }
 
@@ -219,10 +260,14 @@ public class BudgetService {
         return response;
     }
 
+    private static double carriedOver(Budget budget) {
+        return budget.getCarriedOver() != null ? budget.getCarriedOver().toDouble() : 0.0;
+    }
+
     /**
      * Calculate budget status based on usage percentage
      */
-    private BudgetStatusResponse.BudgetStatus calculateStatus(double usagePercentage) {
+    private static BudgetStatusResponse.BudgetStatus calculateStatus(double usagePercentage) {
         if (usagePercentage >= 90) {
             return BudgetStatusResponse.BudgetStatus.EXCEEDED;
         } else if (usagePercentage >= 50) {
@@ -233,61 +278,67 @@ public class BudgetService {
     }
 
     /**
-     * Generate alerts for budget thresholds
+     * Alerts of a budget for a status read: its stored alert state (see BudgetAlertService),
+     * generated from the usage only for budgets that were never evaluated
+     */
+    private static List<BudgetStatusResponse.BudgetAlert> alertsOf(Budget budget, String type,
+            double usagePercentage, double limit, double spent) {
+        if (budget.getAlertLevel() != null) {
+            return budget.getAlert() != null ? List.of(budget.getAlert()) : List.of();
+        }
+        BudgetStatusResponse.BudgetAlert alert = alertFor(type, usagePercentage, limit, spent);
+        return alert != null ? List.of(alert) : List.of();
+    }
+
+    /**
+     * Highest alert threshold reached (0 below the first one)
      */
-    private List<BudgetStatusResponse.BudgetAlert> generateAlerts(
+    static double alertLevel(double usagePercentage) {
+        if (usagePercentage >= 100) return 100.0;
+        if (usagePercentage >= ALERT_90) return ALERT_90;
+        if (usagePercentage >= ALERT_75) return ALERT_75;
+        if (usagePercentage >= ALERT_50) return ALERT_50;
+        return 0.0;
+    }
+
+    /**
+     * The alert for a budget's usage, null below 50%
+     */
+    static BudgetStatusResponse.BudgetAlert alertFor(
             String type, double usagePercentage, double budget, double spent) {
-        
-        List<BudgetStatusResponse.BudgetAlert> alerts = new ArrayList<>();
 
-        // Check if we've crossed thresholds
-        if (usagePercentage >= ALERT_90 && usagePercentage < 100) {
-            BudgetStatusResponse.BudgetAlert alert = new BudgetStatusResponse.BudgetAlert();
-            alert.setType(type);
-            alert.setThreshold(ALERT_90);
-            alert.setSeverity("CRITICAL");
-            alert.setMessage(String.format("Budget is %.1f%% used (%.2f / %.2f). Approaching limit!",
-                    usagePercentage, spent, budget));
-            alerts.add(alert);
-        } else if (usagePercentage >= ALERT_75 && usagePercentage < 90) {
-            BudgetStatusResponse.BudgetAlert alert = new BudgetStatusResponse.BudgetAlert();
-            alert.setType(type);
-            alert.setThreshold(ALERT_75);
-            alert.setSeverity("WARNING");
-            alert.setMessage(String.format("Budget is %.1f%% used (%.2f / %.2f).",
-                    usagePercentage, spent, budget));
-            alerts.add(alert);
-        } else if (usagePercentage >= ALERT_50 && usagePercentage < 75) {
-            BudgetStatusResponse.BudgetAlert alert = new BudgetStatusResponse.BudgetAlert();
-            alert.setType(type);
-            alert.setThreshold(ALERT_50);
-            alert.setSeverity("INFO");
-            alert.setMessage(String.format("Budget is %.1f%% used (%.2f / %.2f).",
-                    usagePercentage, spent, budget));
-            alerts.add(alert);
+        double level = alertLevel(usagePercentage);
+        if (level == 0) {
+            return null;
         }
 
-        // Exceeded budget alert
-        if (usagePercentage >= 100) {
-            BudgetStatusResponse.BudgetAlert alert = new BudgetStatusResponse.BudgetAlert();
-            alert.setType(type);
-            alert.setThreshold(100.0);
+        BudgetStatusResponse.BudgetAlert alert = new BudgetStatusResponse.BudgetAlert();
+        alert.setType(type);
+        alert.setThreshold(level);
+        if (level == 100) {
             alert.setSeverity("CRITICAL");
             alert.setMessage(String.format("Budget EXCEEDED! Spent %.2f exceeds limit of %.2f by %.2f",
                     spent, budget, spent - budget));
-            alerts.add(alert);
+        } else if (level == ALERT_90) {
+            alert.setSeverity("CRITICAL");
+            alert.setMessage(String.format("Budget is %.1f%% used (%.2f / %.2f). Approaching limit!",
+                    usagePercentage, spent, budget));
+        } else {
+            alert.setSeverity(level == ALERT_75 ? "WARNING" : "INFO");
+            alert.setMessage(String.format("Budget is %.1f%% used (%.2f / %.2f).",
+                    usagePercentage, spent, budget));
         }
-
-        return alerts;
+        return alert;
     }
 
     /**
      * Validate if an expense can be added without exceeding budget
      * Returns validation result with warnings if applicable
      */
+    @Timed(value = "finance.budget.validate-expense", histogram = true)
     public BudgetValidationResult validateExpense(User user, Transaction expense) {
         if (expense == null || expense.getType() == null || 
-            !expense.getType().equals("EXPENSE")) {
+            expense.getType() != TransactionType.EXPENSE) {
             return new BudgetValidationResult(true, null, null);
         }
 
@@ -300,19 +351,38 @@ public class BudgetService {
         Integer year = yearMonth.getYear();
         Integer month = yearMonth.getMonthValue();
 
-        double expenseAmount = expense.getAmount() != null ? expense.getAmount() : 0.0;
+        long expenseAmount = expense.getAmount() != null ? expense.getAmount().minor() : 0;
 
-        // Check overall budget
-        Optional<Budget> overallBudget = budgetRepository.findByUserAndYearAndMonthAndCategoryIsNull(
-                user, year, month);
+        Budget overallBudget = budgetRepository.findByUserIdAndYearAndMonthAndCategoryIdIsNull(
+                user.getId(), year, month).orElse(null);
+        Budget categoryBudget = null;
+        if (expense.getCategoryId() != null) {
+            categoryBudget = budgetRepository.findByUserIdAndYearAndMonthAndCategoryId(
+                    user.getId(), year, month, expense.getCategoryId()).orElse(null);
+        }
 
-        if (overallBudget.isPresent()) {
-            Budget budget = overallBudget.get();
-            double currentSpent = getCurrentSpending(user, year, month, null);
-            double newTotal = currentSpent + expenseAmount;
+        // Only needed when a budget exists for the month
+        if (overallBudget == null && categoryBudget == null) {
+            return new BudgetValidationResult(true, null, null);
+        }
+        return checkExpense(overallBudget, categoryBudget, loadMonthlyTotals(user, yearMonth),
+                expense.getCategoryId(), expenseAmount);
+    }
 
-            if (newTotal > budget.getMonthlyLimit()) {
-                if (budget.getPreventExceed()) {
+    /**
+     * Check an expense against budgets and month-to-date totals that are already loaded
+     * Used by validateExpense and by bulk import, which keeps running totals in memory
+     */
+    public static BudgetValidationResult checkExpense(Budget overallBudget, Budget categoryBudget,
+                                                      MonthlyTotals totals, String categoryId,
+                                                      long expenseAmount) {
+        // Check overall budget
+        if (overallBudget != null) {
+            // Net spent clamped at 0 as in the atomic reservation: income does not build up credit
+            long newTotal = Math.max(0, totals.getNetSpent()) + expenseAmount;
+
+            if (newTotal > overallBudget.effectiveLimitMinor()) {
+                if (overallBudget.getPreventExceed()) {
                     return new BudgetValidationResult(false, 
                             "Expense would exceed overall monthly budget", 
                             BudgetStatusResponse.BudgetStatus.EXCEEDED);
@@ -325,25 +395,18 @@ public class BudgetService {
         }
 
         // Check category budget if category is specified
-        if (expense.getCategory() != null) {
-            Optional<Budget> categoryBudget = budgetRepository.findByUserAndYearAndMonthAndCategory(
-                    user, year, month, expense.getCategory());
-
-            if (categoryBudget.isPresent()) {
-                Budget budget = categoryBudget.get();
-                double currentCategorySpent = getCurrentSpending(user, year, month, expense.getCategory());
-                double newCategoryTotal = currentCategorySpent + expenseAmount;
-
-                if (newCategoryTotal > budget.getMonthlyLimit()) {
-                    if (budget.getPreventExceed()) {
-                        return new BudgetValidationResult(false, 
-                                "Expense would exceed category budget: " + expense.getCategory().getName(), 
-                                BudgetStatusResponse.BudgetStatus.EXCEEDED);
-                    } else {
-                        return new BudgetValidationResult(true, 
-                                "Warning: Expense exceeds category budget: " + expense.getCategory().getName(), 
-                                BudgetStatusResponse.BudgetStatus.EXCEEDED);
-                    }
+        if (categoryBudget != null && categoryId != null) {
+            long newCategoryTotal = Math.max(0, totals.getCategoryNetSpent(categoryId)) + expenseAmount;
+
+            if (newCategoryTotal > categoryBudget.effectiveLimitMinor()) {
+                if (categoryBudget.getPreventExceed()) {
+                    return new BudgetValidationResult(false, 
+                            "Expense would exceed category budget: " + categoryBudget.getCategoryName(), 
+                            BudgetStatusResponse.BudgetStatus.EXCEEDED);
+                } else {
+                    return new BudgetValidationResult(true, 
+                            "Warning: Expense exceeds category budget: " + categoryBudget.getCategoryName(), 
+                            BudgetStatusResponse.BudgetStatus.EXCEEDED);
                 }
             }
         }
@@ -352,92 +415,108 @@ public class BudgetService {
     }
 
     /**
-     * Get current spending for a user/month/category
+     * Load income/expense totals for a user/month, overall and per category
+     * Served from the monthly rollups (or the transaction aggregation when rollups are off)
      */
-    private double getCurrentSpending(User user, Integer year, Integer month, Category category) {
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-
-        List<Transaction> transactions; // Get all transactions to separate inc/exp
-        if (category == null) {
-            transactions = transactionRepository.findByUserAndDateBetween(
-                    user, startDate, endDate);
-        } else {
-            transactions = transactionRepository.findByUserAndCategoryAndDateBetween(
-                    user, category, startDate, endDate);
-        }
-        
-        double expenses = transactions.stream()
-                .filter(tx -> "EXPENSE".equalsIgnoreCase(tx.getType()))
-                .mapToDouble(tx -> tx.getAmount() != null ? tx.getAmount() : 0.0)
-                .sum();
-                
-        double income = transactions.stream()
-                .filter(tx -> "INCOME".equalsIgnoreCase(tx.getType()))
-                .mapToDouble(tx -> tx.getAmount() != null ? tx.getAmount() : 0.0)
-                .sum();
-
-        return Math.max(0, expenses - income);
+    private MonthlyTotals loadMonthlyTotals(User user, YearMonth yearMonth) {
+        return rollupService.getMonthlyTotals(user, yearMonth);
     }
 
     /**
      * Get monthly summary (income, expenses, savings, budget status)
+     * Closed months are read from their snapshot
      */
+    @Timed(value = "finance.budget.monthly-summary", histogram = true)
     public MonthlySummaryResponse getMonthlySummary(User user, Integer year, Integer month) {
         if (year == null || month == null) {
             YearMonth current = YearMonth.now();
             year = current.getYear();
             month = current.getMonthValue();
         }
+        if (snapshotService.appliesTo(YearMonth.of(year, month))) {
+            return snapshotSummary(user, YearMonth.of(year, month));
+        }
+        return computeMonthlySummary(user, year, month);
+    }
 
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
+    /**
+     * A closed month's summary: the stored snapshot if it is fresh (one read by id),
+     * otherwise computed live and stored for the next read
+     */
+    private MonthlySummaryResponse snapshotSummary(User user, YearMonth yearMonth) {
+        MonthlySnapshot snapshot = snapshotService.find(user.getId(), yearMonth);
+        if (snapshot != null && !snapshot.isStale()) {
+            return snapshot.getSummary();
+        }
+        return refreshSnapshot(user, yearMonth, snapshot);
+    }
 
-        // Get all transactions for the month
-        List<Transaction> transactions = transactionRepository.findByUserAndDateBetween(
-                user, startDate, endDate);
+    /**
+     * Compute a closed month's summary from live data and store it over {@code seen}
+     * (null when there is no snapshot yet); used by readers and SnapshotRegenerationJob
+     */
+    public MonthlySummaryResponse refreshSnapshot(User user, YearMonth yearMonth, MonthlySnapshot seen) {
+        MonthlySummaryResponse summary = computeMonthlySummary(user, yearMonth.getYear(), yearMonth.getMonthValue());
+        snapshotService.save(user.getId(), yearMonth, seen, summary);
+        return summary;
+    }
 
-        // Calculate income and expenses
-        double totalIncome = transactions.stream()
-                .filter(tx -> "INCOME".equals(tx.getType()))
-                .mapToDouble(tx -> tx.getAmount() != null ? tx.getAmount() : 0.0)
-                .sum();
+    private MonthlySummaryResponse computeMonthlySummary(User user, int year, int month) {
 
-        double totalExpenses = transactions.stream()
-                .filter(tx -> "EXPENSE".equals(tx.getType()))
-                .mapToDouble(tx -> tx.getAmount() != null ? tx.getAmount() : 0.0)
-                .sum();
+        // One fetch of the month's budgets and totals serves both the summary and the budget status
+        List<Budget> budgets = budgetRepository.findByUserIdAndYearAndMonth(user.getId(), year, month);
+        MonthlyTotals totals = loadMonthlyTotals(user, YearMonth.of(year, month));
+        BudgetStatusResponse budgetStatus = buildBudgetStatus(budgets, totals);
 
-        double savings = totalIncome - totalExpenses;
-        double savingsPercentage = totalIncome > 0 ? (savings / totalIncome) * 100 : 0;
+        // Names for the categories with expenses this month
+        Map<String, String> categoryNames = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(spentCategoryIds(totals))) {
+            categoryNames.put(category.getId(), category.getName());
+        }
 
-        // Get budget status
-        BudgetStatusResponse budgetStatus = getBudgetStatus(user, year, month);
+        return buildMonthlySummary(YearMonth.of(year, month), totals, budgetStatus, categoryNames);
+    }
+
+    /**
+     * Categories with expenses in the month, the ones the summary breaks down
+     */
+    static List<String> spentCategoryIds(MonthlyTotals totals) {
+        return totals.getCategories().entrySet().stream()
+                .filter(entry -> entry.getValue().getExpenses() > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Monthly summary from totals, budget status and category names that are already loaded
+     * Shared with the reactive endpoints (ReactiveReadService)
+     */
+    static MonthlySummaryResponse buildMonthlySummary(YearMonth yearMonth, MonthlyTotals totals,
+                                                      BudgetStatusResponse budgetStatus,
+                                                      Map<String, String> categoryNames) {
+        double totalIncome = Money.toMajor(totals.getTotalIncome());
+        double totalExpenses = Money.toMajor(totals.getTotalExpenses());
+
+        double savings = Money.toMajor(totals.getTotalIncome() - totals.getTotalExpenses());
+        double savingsPercentage = totalIncome > 0 ? (savings / totalIncome) * 100 : 0;
 
         // Calculate category-wise expense breakdown
-        List<MonthlySummaryResponse.CategoryExpense> categoryExpenses = transactions.stream()
-                .filter(tx -> "EXPENSE".equals(tx.getType()) && tx.getCategory() != null)
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.summingDouble(tx -> tx.getAmount() != null ? tx.getAmount() : 0.0)
-                ))
-                .entrySet().stream()
-                .map(entry -> {
+        List<MonthlySummaryResponse.CategoryExpense> categoryExpenses = spentCategoryIds(totals).stream()
+                .map(categoryId -> {
+                    double amount = Money.toMajor(totals.getCategoryExpenses(categoryId));
                     MonthlySummaryResponse.CategoryExpense catExp = 
                             new MonthlySummaryResponse.CategoryExpense();
-                    catExp.setCategoryId(entry.getKey().getId());
-                    catExp.setCategoryName(entry.getKey().getName());
-                    catExp.setAmount(entry.getValue());
-                    catExp.setPercentage(totalExpenses > 0 ? (entry.getValue() / totalExpenses) * 100.0 : 0.0);
+                    catExp.setCategoryId(categoryId);
+                    catExp.setCategoryName(categoryNames.get(categoryId));
+                    catExp.setAmount(amount);
+                    catExp.setPercentage(totalExpenses > 0 ? (amount / totalExpenses) * 100.0 : 0.0);
                     return catExp;
                 })
                 .collect(Collectors.toList());
 
         MonthlySummaryResponse response = new MonthlySummaryResponse();
-        response.setYear(year);
-        response.setMonth(month);
+        response.setYear(yearMonth.getYear());
+        response.setMonth(yearMonth.getMonthValue());
         response.setTotalIncome(totalIncome);
         response.setTotalExpenses(totalExpenses);
         response.setSavings(savings);
@@ -452,14 +531,14 @@ public class BudgetService {
      * Get all budgets for a user
      */
     public List<Budget> findByUser(User user) {
-        return budgetRepository.findByUser(user);
+        return budgetRepository.findByUserId(user.getId());
     }
 
     /**
      * Get budgets for a specific month/year
      */
     public List<Budget> findByUserAndMonth(User user, Integer year, Integer month) {
-        return budgetRepository.findByUserAndYearAndMonth(user, year, month);
+        return budgetRepository.findByUserIdAndYearAndMonth(user.getId(), year, month);
     }
 
     /**
@@ -470,11 +549,14 @@ public class BudgetService {
         Budget budget = budgetRepository.findById(budgetId)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found"));
 
-        if (!budget.getUser().getId().equals(user.getId())) {
+        if (!user.getId().equals(budget.getUserId())) {
             throw new IllegalArgumentException("Unauthorized: Budget does not belong to user");
         }
 
         budgetRepository.delete(budget);
+        rolloverService.propagateDeleted(budget);
+        snapshotService.invalidate(user.getId(), List.of(YearMonth.of(budget.getYear(), budget.getMonth())));
+        dataVersionService.bump(user.getId());
     }
 
     /**
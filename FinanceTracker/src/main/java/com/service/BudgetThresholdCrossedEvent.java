@@ -0,0 +1,55 @@
+package com.service;
+
+import java.time.YearMonth;
+
+import com.dto.BudgetStatusResponse;
+
+/**
+ * Published once per threshold crossing of a budget (upward or downward), by the
+ * write that moved it, after the new alert state is stored (see BudgetAlertService).
+ */
+public class BudgetThresholdCrossedEvent {
+
+    private final String userId;
+    private final YearMonth month;
+    private final String budgetId;
+    private final double previousLevel;
+    private final double level;
+    private final BudgetStatusResponse.BudgetAlert previousAlert;
+    private final BudgetStatusResponse.BudgetAlert alert;
+
+    public BudgetThresholdCrossedEvent(String userId, YearMonth month, String budgetId,
+                                       double previousLevel, double level,
+                                       BudgetStatusResponse.BudgetAlert previousAlert,
+                                       BudgetStatusResponse.BudgetAlert alert) {
+        this.userId = userId;
+        this.month = month;
+        this.budgetId = budgetId;
+        this.previousLevel = previousLevel;
+        this.level = level;
+        this.previousAlert = previousAlert;
+        this.alert = alert;
+    }
+
+    public String getUserId() { return userId; }
+
+    public YearMonth getMonth() { return month; }
+
+    public String getBudgetId() { return budgetId; }
+
+    public double getPreviousLevel() { return previousLevel; }
+
+    public double getLevel() { return level; }
+
+    public boolean isUpward() { return level > previousLevel; }
+
+    /**
+     * The alert that was active before, null below 50%
+     */
+    public BudgetStatusResponse.BudgetAlert getPreviousAlert() { return previousAlert; }
+
+    /**
+     * The alert active now, null below 50%
+     */
+    public BudgetStatusResponse.BudgetAlert getAlert() { return alert; }
+}
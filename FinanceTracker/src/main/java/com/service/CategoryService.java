@@ -15,7 +15,14 @@ public class CategoryService {
 	@Autowired
 	private CategoryRepository categoryRepository;
 
-	public Category save(Category c) { return categoryRepository.save(c); }
+	@Autowired
+	private DataVersionService dataVersionService;
+
+	public Category save(Category c) {
+		Category saved = categoryRepository.save(c);
+		dataVersionService.bump(saved.getUserId());
+		return saved;
+	}
 
-	public List<Category> findByUser(User user) { return categoryRepository.findByUser(user); }
+	public List<Category> findByUser(User user) { return categoryRepository.findByUserId(user.getId()); }
 }
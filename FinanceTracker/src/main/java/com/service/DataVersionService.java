@@ -0,0 +1,88 @@
+package com.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.entity.DataVersion;
+import com.entity.User;
+import com.repository.UserRepository;
+
+/**
+ * Monotonically increasing version of each user's data
+ *
+ * Bumped after every transaction (via TransactionsChangedEvent), budget and category write,
+ * so any two reads that see the same version saw the same data. Kept in MongoDB rather than
+ * in memory, so writes through any instance are seen by the next conditional GET.
+ */
+@Service
+public class DataVersionService {
+
+    private static final int BUMP_BATCH_SIZE = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Current version, 0 for a user that never wrote anything; one lookup by _id
+     */
+    public long current(String userId) {
+        DataVersion version = mongoTemplate.findById(userId, DataVersion.class);
+        return version != null ? version.getVersion() : 0;
+    }
+
+    /**
+     * Called after the write and everything derived from it, so a reader that saw the old
+     * version read the old data or newer
+     */
+    public void bump(String userId) {
+        mongoTemplate.upsert(new Query(Criteria.where("_id").is(userId)),
+                new Update().inc("version", 1), DataVersion.class);
+    }
+
+    /**
+     * Bump every user's version (after a rebuild of the derived state), one bulk upsert per
+     * batch of users, so no conditional GET answers 304 with pre-rebuild data
+     */
+    public void bumpAll() {
+        List<String> userIds = new ArrayList<>(BUMP_BATCH_SIZE);
+        for (User user : userRepository.findAll()) {
+            userIds.add(user.getId());
+            if (userIds.size() == BUMP_BATCH_SIZE) {
+                bump(userIds);
+                userIds.clear();
+            }
+        }
+        bump(userIds);
+    }
+
+    private void bump(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, DataVersion.class);
+        for (String userId : userIds) {
+            bulk.upsert(new Query(Criteria.where("_id").is(userId)), new Update().inc("version", 1));
+        }
+        bulk.execute();
+    }
+
+    @EventListener
+    @Order(TransactionsChangedEvent.VERSION_ORDER)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        bump(event.getUserId());
+    }
+}
@@ -0,0 +1,160 @@
+package com.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.DBRef;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Online migration from @DBRef user/category references to plain ids
+ *
+ * Phase 1 (copy, additive): sets userId, categoryId and categoryName next to the
+ * existing DBRef fields. Safe to run while an older version is still serving,
+ * since that version ignores the new fields.
+ *
+ * Phase 2 (drop legacy, opt-in): unsets the DBRef fields and drops the indexes
+ * built on them, once every instance runs the id-based version. It first sweeps all
+ * documents again (an older instance may have rewritten some after phase 1 passed them,
+ * losing the ids) and refuses to drop while any document still lacks its userId.
+ *
+ * Both phases are batched and checkpointed through BatchedMigration.
+ */
+@Service
+public class DbRefMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DbRefMigrationService.class);
+
+    private static final String COPY = "dbref-to-ids:";
+    private static final String DROP = "dbref-drop:";
+
+    // Indexes keyed on the DBRef fields; the unique budget one would collide once they are unset
+    private static final Map<String, List<String>> LEGACY_INDEXES = Map.of(
+            "budgets", List.of("user_year_month_category_idx"),
+            "transactions", List.of("user_date_idx", "user_date_id_amount_idx",
+                    "user_type_date_id_idx", "user_category_date_id_idx"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BatchedMigration batchedMigration;
+
+    public void copyIds() {
+        long categories = copy("categories", true, Projections.include("user"));
+        long transactions = copy("transactions", true, Projections.include("user", "category"));
+        long budgets = copy("budgets", true, Projections.include("user", "category"));
+        log.info("DBRef migration copied ids: {} categories, {} transactions, {} budgets",
+                categories, transactions, budgets);
+    }
+
+    public void dropLegacy() {
+        // Documents rewritten by an older instance behind the checkpoint lost their ids again
+        long recopied = copy("categories", false, Projections.include("user"))
+                + copy("transactions", false, Projections.include("user", "category"))
+                + copy("budgets", false, Projections.include("user", "category"));
+        if (recopied > 0) {
+            log.info("DBRef migration re-copied ids of {} documents before dropping", recopied);
+        }
+        for (String collection : List.of("categories", "transactions", "budgets")) {
+            long remaining = mongoTemplate.getCollection(collection).countDocuments(needsCopy());
+            if (remaining > 0) {
+                throw new IllegalStateException(remaining + " " + collection
+                        + " still have no userId; not dropping the DBRef fields while older instances write");
+            }
+        }
+
+        for (String collection : List.of("categories", "transactions", "budgets")) {
+            for (String index : LEGACY_INDEXES.getOrDefault(collection, List.of())) {
+                try {
+                    mongoTemplate.getCollection(collection).dropIndex(index);
+                } catch (MongoCommandException e) {
+                    // IndexNotFound: never created or already dropped
+                }
+            }
+            long dropped = batchedMigration.run(DROP + collection, collection,
+                    Filters.and(Filters.exists("userId"), Filters.or(Filters.exists("user"), Filters.exists("category"))),
+                    Projections.include("_id"),
+                    batch -> {
+                        List<WriteModel<Document>> writes = new ArrayList<>();
+                        for (Document doc : batch) {
+                            writes.add(new UpdateOneModel<>(Filters.eq("_id", doc.get("_id")),
+                                    Updates.combine(Updates.unset("user"), Updates.unset("category"))));
+                        }
+                        return writes;
+                    });
+            log.info("DBRef migration dropped legacy fields from {} {}", dropped, collection);
+        }
+    }
+
+    private long copy(String collection, boolean checkpointed, Bson projection) {
+        if (checkpointed) {
+            return batchedMigration.run(COPY + collection, collection, needsCopy(), projection,
+                    batch -> toWrites(batch, categoryNames(batch)));
+        }
+        return batchedMigration.sweep(collection, needsCopy(), projection,
+                batch -> toWrites(batch, categoryNames(batch)));
+    }
+
+    private static Bson needsCopy() {
+        return Filters.and(Filters.exists("userId", false), Filters.exists("user"));
+    }
+
+    private static List<WriteModel<Document>> toWrites(List<Document> batch, Map<String, String> categoryNames) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (Document doc : batch) {
+            String userId = refId(doc.get("user"));
+            String categoryId = refId(doc.get("category"));
+            List<Bson> sets = new ArrayList<>();
+            sets.add(Updates.set("userId", userId));
+            if (doc.containsKey("category")) {
+                sets.add(Updates.set("categoryId", categoryId));
+                sets.add(Updates.set("categoryName", categoryId != null ? categoryNames.get(categoryId) : null));
+            }
+            writes.add(new UpdateOneModel<>(Filters.eq("_id", doc.get("_id")), Updates.combine(sets)));
+        }
+        return writes;
+    }
+
+    /**
+     * One $in query per batch for the names of all referenced categories
+     */
+    private Map<String, String> categoryNames(List<Document> batch) {
+        Set<Object> ids = new HashSet<>();
+        for (Document doc : batch) {
+            if (doc.get("category") instanceof DBRef ref) {
+                ids.add(ref.getId());
+            }
+        }
+        Map<String, String> names = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Document category : mongoTemplate.getCollection("categories")
+                    .find(Filters.in("_id", ids))
+                    .projection(Projections.include("name"))) {
+                names.put(category.get("_id").toString(), category.getString("name"));
+            }
+        }
+        return names;
+    }
+
+    private static String refId(Object ref) {
+        return ref instanceof DBRef dbRef ? dbRef.getId().toString() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Everything computed from the raw transactions and budgets, rebuilt in dependency order:
+ * rollups, then the budget spent counters and rollover carry-overs from them, then the
+ * stored alert levels are re-evaluated (silently: crossings already reported are not reported
+ * again), all snapshots marked stale and this instance's trend cache
+ * emptied (other instances catch up within finance.trends.cache.ttl). Last, every user's data
+ * version is bumped, so conditional GETs stop answering 304 with what was read before.
+ */
+@Service
+public class DerivedStateService {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private BudgetReservationService budgetReservationService;
+
+    @Autowired
+    private RolloverService rolloverService;
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private TrendService trendService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    public void rebuildAll() {
+        rollupService.rebuildAll();
+        budgetReservationService.recomputeAll();
+        rolloverService.recomputeAll();
+        budgetAlertService.reevaluateAll();
+        snapshotService.invalidateAll();
+        trendService.invalidateAll();
+        dataVersionService.bumpAll();
+    }
+}
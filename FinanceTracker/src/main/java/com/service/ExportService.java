@@ -0,0 +1,136 @@
+package com.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.User;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.repository.CategoryRepository;
+
+/**
+ * Streaming Excel export
+ *
+ * - Transactions are read from a MongoDB cursor in batches, as raw documents (no entity mapping)
+ * - Rows go through a fixed-size SXSSF window; older rows are flushed to a temp file
+ * - Category names come from the denormalized categoryName, or from a per-export cache
+ *   (loaded with one query up front) for documents written before it existed
+ *
+ * Heap use is bounded by the row window and cursor batch size, not by the number of rows.
+ */
+@Service
+public class ExportService {
+
+    private static final String[] HEADERS = { "ID", "Amount", "Type", "Date", "Note", "Category" };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Value("${finance.export.row-window:100}")
+    private int rowWindow;
+
+    @Value("${finance.export.batch-size:1000}")
+    private int batchSize;
+
+    public void writeExcel(User user, OutputStream out) throws IOException {
+        CategoryNames categoryNames = new CategoryNames(user);
+
+        SXSSFWorkbook wb = new SXSSFWorkbook(rowWindow);
+        wb.setCompressTempFiles(true);
+        try (MongoCursor<Document> cursor = mongoTemplate
+                .getCollection(mongoTemplate.getCollectionName(Transaction.class))
+                .find(Filters.eq("userId", user.getId()))
+                .projection(Projections.include("amount", "type", "date", "note", "categoryId", "categoryName"))
+                .sort(Sorts.ascending("_id"))
+                .batchSize(batchSize)
+                .iterator()) {
+
+            Sheet s = wb.createSheet("transactions");
+            writeHeader(s.createRow(0));
+
+            int r = 1;
+            while (cursor.hasNext()) {
+                writeRow(s.createRow(r++), cursor.next(), categoryNames);
+            }
+
+            wb.write(out);
+            out.flush();
+        } finally {
+            wb.close();
+            wb.dispose(); // delete the temp files backing the flushed rows
+        }
+    }
+
+    static void writeHeader(Row header) {
+        for (int i = 0; i < HEADERS.length; i++) {
+            header.createCell(i).setCellValue(HEADERS[i]);
+        }
+    }
+
+    static void writeRow(Row row, Document t, CategoryNames categoryNames) {
+        Object id = t.get("_id");
+        Object amount = t.get("amount");
+        String type = t.getString("type");
+        Date date = t.getDate("date");
+        String note = t.getString("note");
+        String categoryId = t.getString("categoryId");
+        String categoryName = t.getString("categoryName");
+
+        row.createCell(0).setCellValue(id != null ? id.toString() : "");
+        row.createCell(1).setCellValue(Money.toMajor(Money.minorOf(amount)));
+        row.createCell(2).setCellValue(type != null ? type : "");
+        row.createCell(3).setCellValue(date != null ? formatDate(date) : "");
+        row.createCell(4).setCellValue(note != null ? note : "");
+        row.createCell(5).setCellValue(categoryName != null ? categoryName
+                : categoryId != null ? categoryNames.get(categoryId) : "");
+    }
+
+    private static String formatDate(Date date) {
+        // LocalDate is stored as start-of-day in the default zone
+        LocalDate localDate = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        return localDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    /**
+     * Per-export category id -> name cache.
+     * Preloaded with the user's categories; unknown ids are fetched once and remembered.
+     */
+    class CategoryNames {
+        private final Map<String, String> names = new HashMap<>();
+
+        CategoryNames(User user) {
+            for (Category c : categoryRepository.findByUserId(user.getId())) {
+                names.put(c.getId(), c.getName() != null ? c.getName() : "");
+            }
+        }
+
+        String get(String categoryId) {
+            return names.computeIfAbsent(categoryId, id -> categoryRepository.findById(id)
+                    .map(c -> c.getName() != null ? c.getName() : "")
+                    .orElse(""));
+        }
+    }
+}
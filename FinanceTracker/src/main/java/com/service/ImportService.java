@@ -0,0 +1,385 @@
+package com.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.dto.ImportResult;
+import com.entity.Budget;
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.mongodb.bulk.BulkWriteError;
+import com.repository.BudgetRepository;
+import com.repository.CategoryRepository;
+
+/**
+ * Bulk transaction import (JSON array or CSV)
+ *
+ * - Categories and budgets are loaded once per import (budgets and totals once per month touched)
+ * - With atomic reservation, each batch is counted against the budgets' spent counters
+ *   before it is written (one conditional $inc per month and budget, row by row if a budget
+ *   is full), so it cannot overshoot a limit together with concurrent requests or imports
+ * - Otherwise expenses are validated against running month/category totals kept in memory,
+ *   so earlier rows in the same file count towards later rows' budgets
+ * - Accepted rows are written with unordered bulk inserts; rollups and budget counters
+ *   are updated with one bulk write each per batch
+ * - Every input row gets an ACCEPTED or REJECTED result
+ */
+@Service
+public class ImportService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private BudgetReservationService budgetReservationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${finance.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${finance.import.max-rows:100000}")
+    private int maxRows;
+
+    /**
+     * CSV with a header row. Recognised columns (any order, case-insensitive):
+     * Amount, Type, Date (yyyy-MM-dd), Note, Category (name or id). Others, like the
+     * export's ID column, are ignored, so an export can be imported as-is.
+     */
+    public ImportResult importCsv(User user, Reader reader) throws IOException {
+        List<List<String>> records = parseCsv(reader);
+        if (records.isEmpty()) {
+            return importTransactions(user, List.of());
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<Transaction> rows = new ArrayList<>(records.size() - 1);
+        Map<Integer, String> parseErrors = new HashMap<>();
+        for (int r = 1; r < records.size(); r++) {
+            List<String> record = records.get(r);
+            Transaction tx = new Transaction();
+            try {
+                String amount = column(record, columns, "amount");
+                tx.setAmount(amount != null ? Money.of(new BigDecimal(amount)) : null);
+                String date = column(record, columns, "date");
+                tx.setDate(date != null ? LocalDate.parse(date) : null);
+            } catch (NumberFormatException e) {
+                parseErrors.put(r - 1, "Invalid amount");
+            } catch (DateTimeParseException e) {
+                parseErrors.put(r - 1, "Invalid date, expected yyyy-MM-dd");
+            }
+            tx.setType(TransactionType.parse(column(record, columns, "type")));
+            tx.setNote(column(record, columns, "note"));
+            tx.setCategoryName(column(record, columns, "category"));
+            rows.add(tx);
+        }
+        return importRows(user, rows, parseErrors);
+    }
+
+    /**
+     * JSON rows; a row may reference its category by categoryId or categoryName
+     */
+    public ImportResult importTransactions(User user, List<Transaction> rows) {
+        return importRows(user, rows, Map.of());
+    }
+
+    private ImportResult importRows(User user, List<Transaction> rows, Map<Integer, String> parseErrors) {
+        if (rows.size() > maxRows) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Import is limited to " + maxRows + " rows");
+        }
+
+        ImportResult result = new ImportResult();
+        result.setReceived(rows.size());
+
+        Map<String, Category> categoriesById = new HashMap<>();
+        Map<String, Category> categoriesByName = new HashMap<>();
+        for (Category c : categoryRepository.findByUserId(user.getId())) {
+            categoriesById.put(c.getId(), c);
+            if (c.getName() != null) {
+                categoriesByName.putIfAbsent(c.getName().toLowerCase(Locale.ROOT), c);
+            }
+        }
+
+        Map<YearMonth, MonthBudgets> months = new HashMap<>();
+        List<Transaction> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+        List<String> batchWarnings = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < rows.size(); i++) {
+            Transaction tx = rows.get(i);
+            String error = parseErrors.containsKey(i) ? parseErrors.get(i)
+                    : validate(tx, categoriesById, categoriesByName);
+            if (error != null) {
+                result.reject(i + 1, error);
+                continue;
+            }
+
+            String warning = null;
+            // With atomic reservation the budgets are checked against their counters when the batch is flushed
+            if (!budgetReservationService.isEnabled()) {
+                YearMonth yearMonth = YearMonth.from(tx.getDate());
+                MonthBudgets month = months.computeIfAbsent(yearMonth, ym -> loadMonth(user, ym));
+                if (tx.getType() == TransactionType.EXPENSE && month.totals != null) {
+                    BudgetService.BudgetValidationResult validation = BudgetService.checkExpense(
+                            month.overall, tx.getCategoryId() != null ? month.byCategory.get(tx.getCategoryId()) : null,
+                            month.totals, tx.getCategoryId(), tx.getAmount().minor());
+                    if (!validation.isAllowed()) {
+                        result.reject(i + 1, validation.getMessage());
+                        continue;
+                    }
+                    warning = validation.getMessage();
+                }
+                if (month.totals != null) {
+                    month.totals.add(tx.getCategoryId(), tx.getType(), tx.getAmount().minor());
+                }
+            }
+
+            tx.setId(new ObjectId().toHexString());
+            tx.setUserId(user.getId());
+            batch.add(tx);
+            batchRows.add(i + 1);
+            batchWarnings.add(warning);
+            if (batch.size() >= batchSize) {
+                flush(batch, batchRows, batchWarnings, result);
+                batch = new ArrayList<>(batchSize);
+                batchRows = new ArrayList<>(batchSize);
+                batchWarnings = new ArrayList<>(batchSize);
+            }
+        }
+        flush(batch, batchRows, batchWarnings, result);
+
+        result.getRows().sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return result;
+    }
+
+    /**
+     * @return the reason the row is rejected, or null; normalises the category on success
+     */
+    private static String validate(Transaction tx, Map<String, Category> categoriesById,
+                                   Map<String, Category> categoriesByName) {
+        if (tx == null) {
+            return "Empty row";
+        }
+        if (tx.getAmount() == null || !tx.getAmount().isPositive()) {
+            return "Amount must be a positive number";
+        }
+        if (tx.getType() == null) {
+            return "Type must be INCOME or EXPENSE";
+        }
+        if (tx.getDate() == null) {
+            return "Date is required";
+        }
+
+        Category category = null;
+        if (tx.getCategoryId() != null && !tx.getCategoryId().isEmpty()) {
+            category = categoriesById.get(tx.getCategoryId());
+            if (category == null) {
+                return "Category not found";
+            }
+        } else if (tx.getCategoryName() != null && !tx.getCategoryName().isBlank()) {
+            String ref = tx.getCategoryName().trim();
+            category = categoriesByName.get(ref.toLowerCase(Locale.ROOT));
+            if (category == null) {
+                category = categoriesById.get(ref);
+            }
+            if (category == null) {
+                return "Category not found: " + ref;
+            }
+        }
+        tx.setCategoryId(category != null ? category.getId() : null);
+        tx.setCategoryName(category != null ? category.getName() : null);
+        return null;
+    }
+
+    private MonthBudgets loadMonth(User user, YearMonth yearMonth) {
+        MonthBudgets month = new MonthBudgets();
+        List<Budget> budgets = budgetRepository.findByUserIdAndYearAndMonth(
+                user.getId(), yearMonth.getYear(), yearMonth.getMonthValue());
+        for (Budget budget : budgets) {
+            if (budget.isOverallBudget()) {
+                month.overall = budget;
+            } else {
+                month.byCategory.put(budget.getCategoryId(), budget);
+            }
+        }
+        // Running totals are only needed when there is a budget to check against
+        if (!budgets.isEmpty()) {
+            month.totals = rollupService.getMonthlyTotals(user, yearMonth);
+        }
+        return month;
+    }
+
+    private void flush(List<Transaction> batch, List<Integer> batchRows, List<String> batchWarnings,
+                       ImportResult result) {
+        boolean reserved = budgetReservationService.isEnabled() && !batch.isEmpty();
+        if (reserved) {
+            // Conditional $inc of the budget counters, so concurrent requests and imports cannot overshoot
+            List<BudgetService.BudgetValidationResult> validations =
+                    budgetReservationService.reserve(batch.get(0).getUserId(), batch);
+            List<Transaction> fitting = new ArrayList<>(batch.size());
+            List<Integer> fittingRows = new ArrayList<>(batch.size());
+            List<String> fittingWarnings = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                BudgetService.BudgetValidationResult validation = validations.get(i);
+                if (validation.isAllowed()) {
+                    fitting.add(batch.get(i));
+                    fittingRows.add(batchRows.get(i));
+                    fittingWarnings.add(validation.getMessage());
+                } else {
+                    result.reject(batchRows.get(i), validation.getMessage());
+                }
+            }
+            batch = fitting;
+            batchRows = fittingRows;
+            batchWarnings = fittingWarnings;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> failed = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, Transaction.class)
+                    .insert(batch)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Unordered: the other inserts of the batch went through
+            for (BulkWriteError error : e.getErrors()) {
+                failed.put(error.getIndex(), error.getMessage());
+            }
+        }
+
+        List<Transaction> inserted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (failed.containsKey(i)) {
+                result.reject(batchRows.get(i), "Write failed: " + failed.get(i));
+                if (reserved) {
+                    budgetReservationService.release(batch.get(i).getUserId(), batch.get(i));
+                }
+            } else {
+                inserted.add(batch.get(i));
+                result.accept(batchRows.get(i), batch.get(i).getId(), batchWarnings.get(i));
+            }
+        }
+        rollupService.onCreated(inserted);
+        if (!inserted.isEmpty()) {
+            if (!reserved) {
+                budgetReservationService.apply(inserted.get(0).getUserId(), inserted);
+            }
+            eventPublisher.publishEvent(TransactionsChangedEvent.of(inserted.get(0).getUserId(), inserted));
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Minimal RFC 4180 reader: comma-separated, double-quoted fields may contain
+     * commas, line breaks and "" escapes. Blank lines are skipped.
+     */
+    static List<List<String>> parseCsv(Reader in) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader b ? b : new BufferedReader(in);
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStarted = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                fieldStarted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = true;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') reader.reset();
+                }
+                if (fieldStarted || field.length() > 0) {
+                    record.add(field.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                field.setLength(0);
+                fieldStarted = false;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (fieldStarted || field.length() > 0) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static class MonthBudgets {
+        Budget overall;
+        final Map<String, Budget> byCategory = new HashMap<>();
+        MonthlyTotals totals;
+    }
+}
@@ -0,0 +1,116 @@
+package com.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.entity.Money;
+import com.entity.TransactionType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+/**
+ * Rewrites amounts stored as doubles in major units to int64 minor units, and
+ * normalises the case of transaction types ("expense" -> "EXPENSE").
+ *
+ * Until a document is rewritten, MongoConversionConfig converts it on read and the
+ * totals aggregation converts it in the pipeline. Only documents still holding a
+ * double are matched, so the migration is idempotent.
+ *
+ * Only the source amounts (transactions.amount, budgets.monthlyLimit) are converted in
+ * place. The derived counters (budgets.spent, rollup income/expenses) are $inc'ed by every
+ * instance, in major-unit doubles by older ones, so during a rolling deploy they mix units.
+ * Once no older instance is left, rebuildDerived() recomputes them from the transactions.
+ */
+@Service
+public class MoneyMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(MoneyMigrationService.class);
+
+    private static final String CHECKPOINT = "money-minor-units:";
+
+    private static final String DERIVED = CHECKPOINT + "derived-rebuilt";
+
+    @Autowired
+    private BatchedMigration batchedMigration;
+
+    @Autowired
+    private DerivedStateService derivedStateService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public void convertAmounts() {
+        long transactions = convert("transactions", List.of("amount"),
+                Filters.and(Filters.exists("type"), Filters.nin("type", "INCOME", "EXPENSE")));
+        long budgets = convert("budgets", List.of("monthlyLimit"), null);
+        log.info("Money migration rewrote {} transactions, {} budgets", transactions, budgets);
+    }
+
+    /**
+     * Rebuild rollups and spent counters from the converted transactions, once
+     * Only run after the cut-over (finance.migration.money.rebuild-derived): an older
+     * instance would go on adding major units to the rebuilt counters.
+     */
+    public boolean rebuildDerived() {
+        MongoCollection<Document> checkpoints = mongoTemplate.getCollection(BatchedMigration.CHECKPOINTS);
+        if (checkpoints.find(Filters.eq("_id", DERIVED)).first() != null) {
+            return false;
+        }
+        derivedStateService.rebuildAll();
+        checkpoints.replaceOne(Filters.eq("_id", DERIVED),
+                new Document("_id", DERIVED).append("updatedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+        log.info("Money migration rebuilt rollups and budget counters in minor units");
+        return true;
+    }
+
+    private long convert(String collection, List<String> moneyFields, Bson extraFilter) {
+        List<Bson> matches = new ArrayList<>();
+        for (String field : moneyFields) {
+            matches.add(Filters.type(field, "double"));
+        }
+        if (extraFilter != null) {
+            matches.add(extraFilter);
+        }
+        List<String> projected = new ArrayList<>(moneyFields);
+        projected.add("type");
+
+        return batchedMigration.run(CHECKPOINT + collection, collection,
+                Filters.or(matches), Projections.include(projected),
+                batch -> {
+                    List<WriteModel<Document>> writes = new ArrayList<>();
+                    for (Document doc : batch) {
+                        List<Bson> sets = new ArrayList<>();
+                        for (String field : moneyFields) {
+                            if (doc.get(field) instanceof Double) {
+                                sets.add(Updates.set(field, Money.minorOf(doc.get(field))));
+                            }
+                        }
+                        if (extraFilter != null) {
+                            TransactionType type = TransactionType.parse(doc.getString("type"));
+                            if (type != null && !type.name().equals(doc.getString("type"))) {
+                                sets.add(Updates.set("type", type.name()));
+                            }
+                        }
+                        if (!sets.isEmpty()) {
+                            writes.add(new UpdateOneModel<>(Filters.eq("_id", doc.get("_id")), Updates.combine(sets)));
+                        }
+                    }
+                    return writes;
+                });
+    }
+}
@@ -0,0 +1,83 @@
+package com.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dto.CategoryTypeTotal;
+import com.entity.TransactionType;
+
+/**
+ * Income/expense totals for one month, overall and per category.
+ * Built from the (category, type) rows returned by the spending aggregation.
+ * All amounts are exact minor units (see Money); convert with Money.toMajor for display.
+ */
+public class MonthlyTotals {
+
+    private long totalIncome;
+    private long totalExpenses;
+    private final Map<String, CategoryTotals> byCategory = new HashMap<>();
+    private final CategoryTotals uncategorized = new CategoryTotals();
+
+    public static MonthlyTotals from(List<CategoryTypeTotal> rows) {
+        MonthlyTotals totals = new MonthlyTotals();
+        for (CategoryTypeTotal row : rows) {
+            totals.add(row.getCategoryId(), row.getType(), row.getTotal());
+        }
+        return totals;
+    }
+
+    public void add(String categoryId, TransactionType type, long amount) {
+        if (type == null) {
+            return;
+        }
+        boolean income = type == TransactionType.INCOME;
+        if (income) totalIncome += amount; else totalExpenses += amount;
+
+        CategoryTotals cat = categoryId != null
+                ? byCategory.computeIfAbsent(categoryId, id -> new CategoryTotals())
+                : uncategorized;
+        if (income) cat.income += amount; else cat.expenses += amount;
+    }
+
+    public long getTotalIncome() { return totalIncome; }
+
+    public long getTotalExpenses() { return totalExpenses; }
+
+    /**
+     * Net spent = expenses - income (refunds/credits), never negative
+     */
+    public long getNetSpent() {
+        return Math.max(0, totalExpenses - totalIncome);
+    }
+
+    public long getCategoryNetSpent(String categoryId) {
+        CategoryTotals cat = byCategory.get(categoryId);
+        return cat == null ? 0 : Math.max(0, cat.expenses - cat.income);
+    }
+
+    public long getCategoryExpenses(String categoryId) {
+        CategoryTotals cat = byCategory.get(categoryId);
+        return cat == null ? 0 : cat.expenses;
+    }
+
+    public Map<String, CategoryTotals> getCategories() {
+        return Collections.unmodifiableMap(byCategory);
+    }
+
+    /**
+     * Totals of transactions without a category
+     */
+    public CategoryTotals getUncategorized() {
+        return uncategorized;
+    }
+
+    public static class CategoryTotals {
+        private long income;
+        private long expenses;
+
+        public long getIncome() { return income; }
+        public long getExpenses() { return expenses; }
+    }
+}
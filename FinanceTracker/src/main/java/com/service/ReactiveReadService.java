@@ -0,0 +1,129 @@
+package com.service;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.dto.BudgetStatusResponse;
+import com.dto.MonthlySummaryResponse;
+import com.dto.TransactionFilter;
+import com.entity.Category;
+import com.entity.Transaction;
+import com.entity.User;
+import com.repository.ReactiveBudgetRepository;
+import com.repository.ReactiveCategoryRepository;
+import com.repository.ReactiveMonthlyRollupRepository;
+import com.repository.ReactiveTransactionRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Read side of the reactive profile: the same results as BudgetService, RollupService and
+ * AnalyticsController, loaded from the reactive repositories.
+ *
+ * Independent queries run concurrently (budgets and totals with Mono.zip), and the
+ * response building is shared with BudgetService, so both stacks answer identically.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveReadService {
+
+    @Autowired
+    private ReactiveBudgetRepository budgetRepository;
+
+    @Autowired
+    private ReactiveCategoryRepository categoryRepository;
+
+    @Autowired
+    private ReactiveMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private ReactiveTransactionRepository transactionRepository;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Value("${finance.rollups.enabled:true}")
+    private boolean rollupsEnabled;
+
+    private volatile boolean rollupsBackfilled;
+
+    @Value("${finance.reactive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Income/expense totals for a user/month, from the rollups or the transaction aggregation
+     */
+    public Mono<MonthlyTotals> getMonthlyTotals(User user, YearMonth yearMonth) {
+        return readsFromRollups().flatMap(fromRollups -> fromRollups
+                ? rollupRepository.findByUserIdAndYearAndMonth(
+                                user.getId(), yearMonth.getYear(), yearMonth.getMonthValue())
+                        .collect(MonthlyTotals::new, RollupService::addRollup)
+                : transactionRepository.sumByCategoryAndType(
+                                user.getId(), yearMonth.atDay(1), yearMonth.atEndOfMonth())
+                        .collectList()
+                        .map(MonthlyTotals::from));
+    }
+
+    /**
+     * Rollups are read once backfilled (RollupService.isBackfilled); until then the checkpoint
+     * lookup is a blocking read, so it runs off the event loop
+     */
+    private Mono<Boolean> readsFromRollups() {
+        if (!rollupsEnabled) {
+            return Mono.just(false);
+        }
+        if (rollupsBackfilled) {
+            return Mono.just(true);
+        }
+        return Mono.fromCallable(() -> rollupsBackfilled = rollupService.isBackfilled())
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<BudgetStatusResponse> getBudgetStatus(User user, YearMonth yearMonth) {
+        return Mono.zip(
+                        budgetRepository.findByUserIdAndYearAndMonth(
+                                user.getId(), yearMonth.getYear(), yearMonth.getMonthValue()).collectList(),
+                        getMonthlyTotals(user, yearMonth))
+                .map(t -> BudgetService.buildBudgetStatus(t.getT1(), t.getT2()));
+    }
+
+    /**
+     * Loads the month's totals once and derives both the summary and the budget status from them
+     */
+    public Mono<MonthlySummaryResponse> getMonthlySummary(User user, YearMonth yearMonth) {
+        return Mono.zip(
+                        budgetRepository.findByUserIdAndYearAndMonth(
+                                user.getId(), yearMonth.getYear(), yearMonth.getMonthValue()).collectList(),
+                        getMonthlyTotals(user, yearMonth))
+                .flatMap(t -> categoryNames(BudgetService.spentCategoryIds(t.getT2()))
+                        .map(names -> BudgetService.buildMonthlySummary(yearMonth, t.getT2(),
+                                BudgetService.buildBudgetStatus(t.getT1(), t.getT2()), names)));
+    }
+
+    /**
+     * Category id to name, one query for all ids
+     */
+    public Mono<Map<String, String>> categoryNames(Collection<String> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return Mono.just(new HashMap<>());
+        }
+        return categoryRepository.findAllById(categoryIds)
+                .collectMap(Category::getId, Category::getName, HashMap::new);
+    }
+
+    /**
+     * All of a user's transactions matching the filter, newest first, read as the subscriber demands
+     */
+    public Flux<Transaction> streamTransactions(User user, TransactionFilter filter) {
+        return transactionRepository.stream(user.getId(), filter, batchSize);
+    }
+}
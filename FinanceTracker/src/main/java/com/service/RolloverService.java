@@ -0,0 +1,177 @@
+package com.service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.entity.Budget;
+import com.entity.Money;
+import com.entity.User;
+import com.repository.BudgetRepository;
+
+/**
+ * Budget rollover: carry-forward chains stored on the budgets
+ *
+ * A budget with allowRollover passes its unused amount (effective limit - spent, never
+ * negative) to the next month's budget of the same category, where it is stored as
+ * carriedOver. The effective limit of any month is then read from its own document.
+ *
+ * When a month changes (transactions, budget edits), only the chain after it is updated,
+ * one month at a time, and the walk stops at the first month whose carried-over amount
+ * comes out unchanged, or where the chain has no budget. Each updated budget has its
+ * alert level re-evaluated against the new effective limit.
+ */
+@Service
+public class RolloverService {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    /**
+     * Amount a new budget starts with: what the previous month's budget of the same category passes on
+     */
+    public Money carryInto(String userId, YearMonth yearMonth, String categoryId) {
+        YearMonth previous = yearMonth.minusMonths(1);
+        return budgetRepository.findByUserIdAndYearAndMonthAndCategoryId(
+                        userId, previous.getYear(), previous.getMonthValue(), categoryId)
+                .map(budget -> Money.ofMinor(carryOut(budget)))
+                .orElse(Money.ZERO);
+    }
+
+    /**
+     * Update the months after a budget that was created or edited
+     */
+    public void propagate(Budget budget) {
+        propagate(budget.getUserId(), YearMonth.of(budget.getYear(), budget.getMonth()),
+                budget.getCategoryId(), carryOut(budget));
+    }
+
+    /**
+     * Update the months after a deleted budget: the next one no longer receives anything
+     */
+    public void propagateDeleted(Budget budget) {
+        propagate(budget.getUserId(), YearMonth.of(budget.getYear(), budget.getMonth()),
+                budget.getCategoryId(), 0);
+    }
+
+    /**
+     * Spending in these months changed what their rollover budgets pass on
+     */
+    @EventListener
+    @Order(TransactionsChangedEvent.ROLLOVER_ORDER)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        for (YearMonth yearMonth : event.getMonths()) {
+            for (Budget budget : budgetRepository.findByUserIdAndYearAndMonth(
+                    event.getUserId(), yearMonth.getYear(), yearMonth.getMonthValue())) {
+                if (Boolean.TRUE.equals(budget.getAllowRollover())) {
+                    propagate(budget);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recompute every chain from scratch in one pass over the budgets (after a rollup rebuild)
+     */
+    public void recomputeAll() {
+        // Each chain in month order, consecutive in the cursor
+        List<Budget> budgets = mongoTemplate.find(
+                new Query(Criteria.where("userId").ne(null))
+                        .with(Sort.by("userId", "categoryId", "year", "month")),
+                Budget.class);
+
+        Budget previous = null;
+        for (Budget budget : budgets) {
+            long carried = previous != null && follows(previous, budget) ? carryOut(previous) : 0;
+            if (minorOf(budget.getCarriedOver()) != carried) {
+                budget.setCarriedOver(Money.ofMinor(carried));
+                budgetRepository.setCarriedOver(budget.getId(), budget.getCarriedOver());
+            }
+            previous = budget;
+        }
+    }
+
+    /**
+     * Walk forward from {@code yearMonth}, storing {@code carry} into each next budget until it stops changing
+     */
+    private void propagate(String userId, YearMonth yearMonth, String categoryId, long carry) {
+        List<YearMonth> changed = new ArrayList<>();
+        YearMonth month = yearMonth.plusMonths(1);
+        while (true) {
+            Budget next = budgetRepository.findByUserIdAndYearAndMonthAndCategoryId(
+                    userId, month.getYear(), month.getMonthValue(), categoryId).orElse(null);
+            if (next == null || minorOf(next.getCarriedOver()) == carry) {
+                break;
+            }
+            next.setCarriedOver(Money.ofMinor(carry));
+            budgetRepository.setCarriedOver(next.getId(), next.getCarriedOver());
+            // Its effective limit changed, and with it the stored alert level
+            budgetAlertService.evaluate(next);
+            changed.add(month);
+
+            carry = carryOut(next);
+            month = month.plusMonths(1);
+        }
+        if (!changed.isEmpty()) {
+            // Their stored status shows the old effective limit
+            snapshotService.invalidate(userId, changed);
+        }
+    }
+
+    /**
+     * What a budget passes to the next month: its unused effective limit, or nothing without rollover
+     * Net spent below zero (more income than expenses) counts as nothing spent, as in the status.
+     */
+    long carryOut(Budget budget) {
+        if (!Boolean.TRUE.equals(budget.getAllowRollover())) {
+            return 0;
+        }
+        return Math.max(0, budget.effectiveLimitMinor() - Math.max(0, spentMinor(budget)));
+    }
+
+    /**
+     * The budget's spent counter; budgets created before the counters existed fall back to the month totals
+     */
+    private long spentMinor(Budget budget) {
+        if (budget.getSpent() != null) {
+            return budget.getSpent().minor();
+        }
+        User user = new User();
+        user.setId(budget.getUserId());
+        MonthlyTotals totals = rollupService.getMonthlyTotals(user, YearMonth.of(budget.getYear(), budget.getMonth()));
+        return budget.getCategoryId() == null ? totals.getNetSpent() : totals.getCategoryNetSpent(budget.getCategoryId());
+    }
+
+    private static boolean follows(Budget previous, Budget budget) {
+        return previous.getUserId().equals(budget.getUserId())
+                && Objects.equals(previous.getCategoryId(), budget.getCategoryId())
+                && YearMonth.of(previous.getYear(), previous.getMonth()).plusMonths(1)
+                        .equals(YearMonth.of(budget.getYear(), budget.getMonth()));
+    }
+
+    private static long minorOf(Money money) {
+        return money != null ? money.minor() : 0;
+    }
+}
@@ -0,0 +1,406 @@
+package com.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.dto.MonthlyCategoryTypeTotal;
+import com.entity.Money;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import com.repository.MonthlyRollupRepository;
+import com.repository.TransactionRepository;
+import com.repository.UserRepository;
+
+/**
+ * Monthly spend rollups
+ *
+ * Keeps one MonthlyRollup document per (user, year, month, category) up to date
+ * with atomic $inc upserts on every transaction write, so monthly reads cost
+ * O(categories used that month) instead of O(transactions).
+ *
+ * Reads come from the rollups once a full rebuild has completed (the backfill checkpoint,
+ * written by DataMigrationRunner on upgrade). Before that, and with
+ * finance.rollups.enabled=false, they fall back to the transaction aggregation. Writes are
+ * not tracked while disabled, so turning rollups off also drops the checkpoint.
+ */
+@Service
+public class RollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    /** Checkpoint recorded in the migrations collection once a full rebuild completed */
+    static final String BACKFILLED = "rollups:backfilled";
+
+    private static final long BACKFILL_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final int REBUILD_ATTEMPTS = 5;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${finance.rollups.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean backfilled;
+    private volatile long backfillCheckedAt;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private boolean readsFromRollups() {
+        return enabled && isBackfilled();
+    }
+
+    /**
+     * Income/expense totals for a user/month, overall and per category
+     */
+    public MonthlyTotals getMonthlyTotals(User user, YearMonth yearMonth) {
+        if (!readsFromRollups()) {
+            return MonthlyTotals.from(transactionRepository.sumByCategoryAndType(
+                    user.getId(), yearMonth.atDay(1), yearMonth.atEndOfMonth()));
+        }
+
+        MonthlyTotals totals = new MonthlyTotals();
+        for (MonthlyRollup rollup : rollupRepository.findByUserIdAndYearAndMonth(
+                user.getId(), yearMonth.getYear(), yearMonth.getMonthValue())) {
+            addRollup(totals, rollup);
+        }
+        return totals;
+    }
+
+    /**
+     * Totals for every month from..to (inclusive) that has data, from one query
+     * Months without transactions are absent from the map
+     */
+    public Map<YearMonth, MonthlyTotals> getMonthlyTotals(User user, YearMonth from, YearMonth to) {
+        Map<YearMonth, MonthlyTotals> byMonth = new HashMap<>();
+        if (!readsFromRollups()) {
+            for (MonthlyCategoryTypeTotal row : transactionRepository.sumByMonthCategoryAndType(
+                    user.getId(), from.atDay(1), to.atEndOfMonth())) {
+                byMonth.computeIfAbsent(YearMonth.of(row.getYear(), row.getMonth()), ym -> new MonthlyTotals())
+                        .add(row.getCategoryId(), row.getType(), row.getTotal());
+            }
+            return byMonth;
+        }
+
+        for (MonthlyRollup rollup : rollupRepository.findByUserIdAndYearGreaterThanEqualAndYearLessThanEqual(
+                user.getId(), from.getYear(), to.getYear())) {
+            YearMonth yearMonth = YearMonth.of(rollup.getYear(), rollup.getMonth());
+            if (!yearMonth.isBefore(from) && !yearMonth.isAfter(to)) {
+                addRollup(byMonth.computeIfAbsent(yearMonth, ym -> new MonthlyTotals()), rollup);
+            }
+        }
+        return byMonth;
+    }
+
+    /**
+     * Add one category bucket to a month's totals
+     */
+    static void addRollup(MonthlyTotals totals, MonthlyRollup rollup) {
+        totals.add(rollup.getCategoryId(), TransactionType.INCOME, rollup.getIncome());
+        totals.add(rollup.getCategoryId(), TransactionType.EXPENSE, rollup.getExpenses());
+    }
+
+    public void onCreated(Transaction tx) {
+        apply(tx, 1);
+    }
+
+    /**
+     * Moves the amount out of the old bucket and into the new one.
+     * Handles changes of amount, type, date (month) and category.
+     */
+    public void onUpdated(Transaction before, Transaction after) {
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    public void onDeleted(Transaction tx) {
+        apply(tx, -1);
+    }
+
+    /**
+     * Applies a batch of new transactions (bulk import) with one $inc upsert per
+     * touched bucket, sent as a single unordered bulk write
+     */
+    public void onCreated(List<Transaction> txs) {
+        if (!enabled || txs.isEmpty()) {
+            return;
+        }
+
+        Map<String, MonthlyRollup> deltas = new HashMap<>();
+        for (Transaction tx : txs) {
+            String field = bucketField(tx.getType());
+            if (field == null || tx.getUserId() == null || tx.getDate() == null) {
+                continue;
+            }
+            addTo(deltas, tx.getUserId(), tx.getDate(), tx.getCategoryId(), field,
+                    tx.getAmount() != null ? tx.getAmount().minor() : 0);
+        }
+
+        List<Query> queries = new ArrayList<>();
+        List<Update> updates = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, MonthlyRollup.class);
+        for (MonthlyRollup delta : deltas.values()) {
+            Query query = bucketQuery(delta.getUserId(), delta.getYear(), delta.getMonth(), delta.getCategoryId());
+            Update update = new Update()
+                    .inc("income", delta.getIncome())
+                    .inc("expenses", delta.getExpenses())
+                    .inc("count", delta.getCount());
+            queries.add(query);
+            updates.add(update);
+            bulk.upsert(query, update);
+        }
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: only the failed upserts (bucket creation races) are retried
+            for (BulkWriteError error : e.getErrors()) {
+                mongoTemplate.upsert(queries.get(error.getIndex()), updates.get(error.getIndex()), MonthlyRollup.class);
+            }
+        }
+    }
+
+    /**
+     * $inc the bucket a transaction belongs to by +/- its amount
+     */
+    private void apply(Transaction tx, int sign) {
+        if (!enabled || tx == null || tx.getUserId() == null || tx.getDate() == null) {
+            return;
+        }
+        String field = bucketField(tx.getType());
+        if (field == null) {
+            return;
+        }
+
+        long amount = tx.getAmount() != null ? tx.getAmount().minor() : 0;
+        YearMonth yearMonth = YearMonth.from(tx.getDate());
+
+        Query query = bucketQuery(tx.getUserId(), yearMonth.getYear(), yearMonth.getMonthValue(), tx.getCategoryId());
+        Update update = new Update()
+                .inc(field, sign * amount)
+                .inc("count", sign);
+
+        try {
+            mongoTemplate.upsert(query, update, MonthlyRollup.class);
+        } catch (DuplicateKeyException e) {
+            // Two writers raced to create the same bucket; the other insert won, so $inc it
+            mongoTemplate.upsert(query, update, MonthlyRollup.class);
+        }
+    }
+
+    private static Query bucketQuery(String userId, int year, int month, String categoryId) {
+        return new Query(Criteria.where("userId").is(userId)
+                .and("year").is(year)
+                .and("month").is(month)
+                .and("categoryId").is(categoryId));
+    }
+
+    private static void addTo(Map<String, MonthlyRollup> buckets, String userId, LocalDate date,
+                              String categoryId, String field, long value) {
+        String key = date.getYear() + "-" + date.getMonthValue() + "-" + categoryId;
+        MonthlyRollup rollup = buckets.computeIfAbsent(key, k -> {
+            MonthlyRollup r = new MonthlyRollup();
+            r.setUserId(userId);
+            r.setYear(date.getYear());
+            r.setMonth(date.getMonthValue());
+            r.setCategoryId(categoryId);
+            return r;
+        });
+        if ("income".equals(field)) {
+            rollup.setIncome(rollup.getIncome() + value);
+        } else {
+            rollup.setExpenses(rollup.getExpenses() + value);
+        }
+        rollup.setCount(rollup.getCount() + 1);
+    }
+
+    private static String bucketField(TransactionType type) {
+        if (type == TransactionType.INCOME) return "income";
+        if (type == TransactionType.EXPENSE) return "expenses";
+        return null;
+    }
+
+    /**
+     * Whether monthly totals are read from the rollups; until a full rebuild has completed once
+     * (upgrade, or rollups turned back on) they come from the transaction aggregation
+     */
+    public boolean isBackfilled() {
+        if (backfilled) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (backfillCheckedAt != 0 && now - backfillCheckedAt < BACKFILL_RECHECK_NANOS) {
+            return false;
+        }
+        backfillCheckedAt = now;
+        backfilled = checkpoints().find(Filters.eq("_id", BACKFILLED)).first() != null;
+        return backfilled;
+    }
+
+    /**
+     * Rebuild every user's rollups unless a completed rebuild is already recorded
+     * @return true if it ran
+     */
+    public boolean backfill() {
+        if (checkpoints().find(Filters.eq("_id", BACKFILLED)).first() != null) {
+            backfilled = true;
+            return false;
+        }
+        rebuildAll();
+        return true;
+    }
+
+    /**
+     * Rollups are not maintained while disabled: forget the backfill so that turning them
+     * back on rebuilds them before they are read again
+     */
+    public void forgetBackfill() {
+        checkpoints().deleteOne(Filters.eq("_id", BACKFILLED));
+        backfilled = false;
+    }
+
+    private MongoCollection<Document> checkpoints() {
+        return mongoTemplate.getCollection(BatchedMigration.CHECKPOINTS);
+    }
+
+    /**
+     * Recompute every user's rollups from the raw transactions, then record the backfill
+     */
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        int users = 0;
+        for (User user : userRepository.findAll()) {
+            rebuild(user.getId());
+            users++;
+        }
+        checkpoints().replaceOne(Filters.eq("_id", BACKFILLED),
+                new Document("_id", BACKFILLED).append("updatedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+        backfilled = true;
+        log.info("Rebuilt monthly rollups for {} users in {} ms", users, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Recompute one user's rollups from the raw transactions while writes go on.
+     * Each bucket is replaced only if it still holds what it held before the transactions
+     * were read; if a write got in between, the user is rebuilt again.
+     */
+    public void rebuild(String userId) {
+        for (int attempt = 1; attempt <= REBUILD_ATTEMPTS; attempt++) {
+            if (tryRebuild(userId)) {
+                return;
+            }
+        }
+        log.warn("Rollups of user {} kept changing during the rebuild, left as they are", userId);
+    }
+
+    /**
+     * @return false if a bucket changed since it was read (nothing is overwritten then)
+     */
+    boolean tryRebuild(String userId) {
+        MongoCollection<Document> rollups = mongoTemplate.getCollection(mongoTemplate.getCollectionName(MonthlyRollup.class));
+
+        // Read first: a $inc landing after this point makes the swap of its bucket fail
+        Map<String, Document> current = new HashMap<>();
+        for (Document doc : rollups.find(Filters.eq("userId", userId))) {
+            current.put(doc.get("year") + "-" + doc.get("month") + "-" + doc.get("categoryId"), doc);
+        }
+
+        String collection = mongoTemplate.getCollectionName(Transaction.class);
+        ZoneId zone = ZoneId.systemDefault(); // LocalDate is stored as start-of-day in the default zone
+
+        Map<String, MonthlyRollup> buckets = new HashMap<>();
+        for (Document doc : mongoTemplate.getCollection(collection)
+                .find(Filters.eq("userId", userId)) // served by userId_date_id_amount_idx
+                .projection(Projections.include("amount", "type", "date", "categoryId"))
+                .batchSize(1000)) {
+            String field = bucketField(TransactionType.parse(doc.getString("type")));
+            Date date = doc.getDate("date");
+            if (field == null || date == null) {
+                continue;
+            }
+
+            LocalDate localDate = date.toInstant().atZone(zone).toLocalDate();
+            String categoryId = doc.getString("categoryId");
+            addTo(buckets, userId, localDate, categoryId, field, Money.minorOf(doc.get("amount")));
+        }
+
+        for (Map.Entry<String, MonthlyRollup> entry : buckets.entrySet()) {
+            MonthlyRollup rollup = entry.getValue();
+            Document before = current.remove(entry.getKey());
+            if (before == null) {
+                try {
+                    mongoTemplate.insert(rollup);
+                } catch (DuplicateKeyException e) {
+                    return false; // created by a write since the read
+                }
+                continue;
+            }
+            Bson unchanged = unchanged(before);
+            Bson replace = Updates.combine(Updates.set("income", rollup.getIncome()),
+                    Updates.set("expenses", rollup.getExpenses()), Updates.set("count", rollup.getCount()));
+            if (rollups.updateOne(unchanged, replace).getMatchedCount() == 0) {
+                return false;
+            }
+        }
+        // Buckets no transaction falls into any more
+        for (Document before : current.values()) {
+            if (rollups.deleteOne(unchanged(before)).getDeletedCount() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Bson unchanged(Document bucket) {
+        return Filters.and(Filters.eq("_id", bucket.get("_id")),
+                Filters.eq("income", bucket.get("income")),
+                Filters.eq("expenses", bucket.get("expenses")),
+                Filters.eq("count", bucket.get("count")));
+    }
+}
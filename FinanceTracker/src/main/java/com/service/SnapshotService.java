@@ -0,0 +1,151 @@
+package com.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.dto.MonthlySummaryResponse;
+import com.entity.MonthlySnapshot;
+
+/**
+ * Closed-month snapshots (monthly_snapshots)
+ *
+ * The monthly summary of a month before the current one, with its embedded budget status,
+ * is stored the first time it is read; later reads of that month are one lookup by _id.
+ * Late writes to a closed month (transactions, budgets) mark its snapshot stale; the next
+ * reader, or SnapshotRegenerationJob in the background, recomputes and stores it.
+ *
+ * With finance.snapshots.enabled=false every month is computed live.
+ */
+@Service
+public class SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${finance.snapshots.enabled:true}")
+    private boolean enabled;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Whether reads of this month go through snapshots: enabled and the month is closed
+     */
+    public boolean appliesTo(YearMonth yearMonth) {
+        return enabled && yearMonth.isBefore(YearMonth.now(clock));
+    }
+
+    /**
+     * The stored snapshot (fresh or stale), or null if the month was never stored
+     */
+    public MonthlySnapshot find(String userId, YearMonth yearMonth) {
+        return mongoTemplate.findById(MonthlySnapshot.idOf(userId, yearMonth), MonthlySnapshot.class);
+    }
+
+    /**
+     * Store a summary computed after {@code seen} was read (null when there was no snapshot).
+     * Skipped if the month was invalidated in between; the regeneration job picks it up then.
+     * Failures are logged, the caller already has its result.
+     */
+    public void save(String userId, YearMonth yearMonth, MonthlySnapshot seen, MonthlySummaryResponse summary) {
+        try {
+            if (seen == null) {
+                MonthlySnapshot snapshot = new MonthlySnapshot();
+                snapshot.setId(MonthlySnapshot.idOf(userId, yearMonth));
+                snapshot.setUserId(userId);
+                snapshot.setYear(yearMonth.getYear());
+                snapshot.setMonth(yearMonth.getMonthValue());
+                snapshot.setSummary(summary);
+                snapshot.setGeneratedAt(LocalDateTime.now(clock));
+                mongoTemplate.insert(snapshot);
+            } else {
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(seen.getId()).and("version").is(seen.getVersion())),
+                        new Update()
+                                .set("summary", summary)
+                                .set("stale", false)
+                                .set("generatedAt", LocalDateTime.now(clock)),
+                        MonthlySnapshot.class);
+            }
+        } catch (DuplicateKeyException e) {
+            // Another reader stored it first, or a write marked the month stale meanwhile
+        } catch (DataAccessException e) {
+            log.warn("Could not store snapshot {}: {}", MonthlySnapshot.idOf(userId, yearMonth), e.getMessage());
+        }
+    }
+
+    @EventListener
+    @Order(TransactionsChangedEvent.CACHES_ORDER)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        invalidate(event.getUserId(), event.getMonths());
+    }
+
+    /**
+     * Mark the snapshots of these months stale, one unordered bulk upsert.
+     * Upserting leaves a marker even where no snapshot exists yet, so a reader that
+     * started computing before this write cannot store its (outdated) result.
+     */
+    public void invalidate(String userId, Collection<YearMonth> months) {
+        if (!enabled) {
+            return;
+        }
+        BulkOperations bulk = null;
+        for (YearMonth yearMonth : months) {
+            if (!appliesTo(yearMonth)) {
+                continue;
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, MonthlySnapshot.class);
+            }
+            bulk.upsert(new Query(Criteria.where("_id").is(MonthlySnapshot.idOf(userId, yearMonth))),
+                    new Update()
+                            .setOnInsert("userId", userId)
+                            .setOnInsert("year", yearMonth.getYear())
+                            .setOnInsert("month", yearMonth.getMonthValue())
+                            .set("stale", true)
+                            .inc("version", 1));
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+    }
+
+    /**
+     * Mark every snapshot stale, e.g. after the rollups were rebuilt
+     */
+    public void invalidateAll() {
+        if (enabled) {
+            mongoTemplate.updateMulti(new Query(), new Update().set("stale", true).inc("version", 1),
+                    MonthlySnapshot.class);
+        }
+    }
+
+    /**
+     * Up to {@code limit} stale snapshots, without their (outdated) summaries
+     */
+    public List<MonthlySnapshot> findStale(int limit) {
+        Query query = new Query(Criteria.where("stale").is(true)).limit(limit);
+        query.fields().exclude("summary");
+        return mongoTemplate.find(query, MonthlySnapshot.class);
+    }
+}
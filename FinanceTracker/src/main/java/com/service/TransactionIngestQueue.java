@@ -0,0 +1,357 @@
+package com.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.entity.Transaction;
+import com.mongodb.bulk.BulkWriteError;
+
+/**
+ * Write-behind ingestion for POST /api/transactions (finance.ingest.write-behind=true)
+ *
+ * Transactions that passed validation and were counted against their budgets are put on a
+ * bounded queue; a few writer threads take whatever has accumulated (up to batch-size) and
+ * insert it with one unordered bulk write, then update rollups and publish the change events
+ * for the whole batch. Under load many requests share one round trip.
+ *
+ * - Ack ACCEPTED answers once queued (202); PERSISTED waits for the batch to be written
+ * - A full queue blocks the request up to offer-timeout, then answers 503 (backpressure)
+ * - On shutdown, after in-flight requests finished, new submissions are refused and the
+ *   queue is drained before MongoDB is closed
+ * - A failed insert gives back the budget reservation; with ACCEPTED the client is not told
+ * - Futures are completed once the insert's outcome is known, even if updating the rollups or
+ *   a change listener failed afterwards (that is logged and counted separately)
+ */
+@Service
+public class TransactionIngestQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestQueue.class);
+
+    public enum Ack {
+        ACCEPTED,
+        PERSISTED;
+
+        /**
+         * Case-insensitive (?ack=accepted); null for blank or unknown values
+         */
+        public static Ack parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String trimmed = value.trim();
+            for (Ack ack : values()) {
+                if (ack.name().equalsIgnoreCase(trimmed)) {
+                    return ack;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private BudgetReservationService budgetReservationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${finance.ingest.write-behind:false}")
+    private boolean enabled;
+
+    @Value("${finance.ingest.queue-capacity:10000}")
+    private int capacity;
+
+    @Value("${finance.ingest.writers:2}")
+    private int writers;
+
+    @Value("${finance.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${finance.ingest.ack:persisted}")
+    private Ack defaultAck;
+
+    @Value("${finance.ingest.offer-timeout:PT1S}")
+    private Duration offerTimeout;
+
+    @Value("${finance.ingest.persist-timeout:PT10S}")
+    private Duration persistTimeout;
+
+    @Value("${finance.ingest.drain-timeout:PT30S}")
+    private Duration drainTimeout;
+
+    private BlockingQueue<Pending> queue;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong derivedFailed = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The ack level asked for with ?ack=, or finance.ingest.ack when absent
+     */
+    public Ack ackOrDefault(String requested) {
+        if (requested == null || requested.isBlank()) {
+            return defaultAck;
+        }
+        Ack ack = Ack.parse(requested);
+        if (ack == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ack must be accepted or persisted");
+        }
+        return ack;
+    }
+
+    /**
+     * Queue a validated transaction; it gets its id now. The future completes once it is written.
+     */
+    public CompletableFuture<Transaction> submit(Transaction tx) {
+        if (!running) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Transaction ingestion is not running");
+        }
+        if (tx.getId() == null) {
+            tx.setId(new ObjectId().toHexString());
+        }
+        Pending pending = new Pending(tx);
+        try {
+            if (!queue.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Transaction queue is full, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while queueing");
+        }
+        return pending.future;
+    }
+
+    /**
+     * The written transaction, or null if it is still queued after persist-timeout
+     */
+    public Transaction awaitPersisted(CompletableFuture<Transaction> future) {
+        try {
+            return future.get(persistTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Write failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            Thread thread = new Thread(this::drainLoop, "ingest-writer-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Write-behind ingestion: {} writers, queue capacity {}, batches of up to {}",
+                writers, capacity, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+
+        // Submissions that raced the shutdown, or what the writers did not get to in time
+        List<Pending> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += batchSize) {
+            write(rest.subList(i, Math.min(rest.size(), i + batchSize)));
+        }
+        log.info("Write-behind ingestion drained: {} written, {} failed", written.get(), failed.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stopped after the web server's graceful shutdown (in-flight requests may still be
+     * waiting for their batch) and before MongoDB is closed
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public int size() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public long failed() {
+        return failed.get();
+    }
+
+    public long derivedFailed() {
+        return derivedFailed.get();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Ingest writer failed on a batch of {}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * One unordered bulk insert; rollups and change events for everything that went in
+     */
+    void write(List<Pending> batch) {
+        List<Transaction> txs = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            txs.add(pending.tx);
+        }
+
+        Map<Integer, RuntimeException> errors = new HashMap<>();
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, Transaction.class).insert(txs).execute();
+        } catch (BulkOperationException e) {
+            // Unordered: the other inserts of the batch went through
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), new IllegalStateException(error.getMessage()));
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < batch.size(); i++) {
+                errors.put(i, e);
+            }
+        }
+
+        List<Transaction> inserted = new ArrayList<>(batch.size());
+        Map<String, List<Transaction>> byUser = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (!errors.containsKey(i)) {
+                Transaction tx = txs.get(i);
+                inserted.add(tx);
+                byUser.computeIfAbsent(tx.getUserId(), id -> new ArrayList<>()).add(tx);
+            }
+        }
+        written.addAndGet(inserted.size());
+        if (!errors.isEmpty()) {
+            failed.addAndGet(errors.size());
+            log.error("{} of {} queued transactions could not be written", errors.size(), batch.size());
+        }
+
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                if (errors.containsKey(i)) {
+                    budgetReservationService.release(txs.get(i).getUserId(), txs.get(i));
+                }
+            }
+            applyDerived(inserted, byUser);
+        } finally {
+            // Whatever happened to the derived state, the outcome of each insert is known
+            for (int i = 0; i < batch.size(); i++) {
+                if (errors.containsKey(i)) {
+                    batch.get(i).future.completeExceptionally(errors.get(i));
+                } else {
+                    batch.get(i).future.complete(txs.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Rollups and change events for the written transactions. A failure here does not undo the
+     * writes: it is logged and counted (finance.ingest.derived-failed) and fixed by a rebuild.
+     */
+    private void applyDerived(List<Transaction> inserted, Map<String, List<Transaction>> byUser) {
+        try {
+            rollupService.onCreated(inserted);
+        } catch (RuntimeException e) {
+            derivedFailed.addAndGet(inserted.size());
+            log.error("Rollups not updated for {} written transactions; rebuild with finance.rollups.rebuild=true",
+                    inserted.size(), e);
+        }
+        byUser.forEach((userId, txsOfUser) -> {
+            try {
+                eventPublisher.publishEvent(TransactionsChangedEvent.of(userId, txsOfUser));
+            } catch (RuntimeException e) {
+                derivedFailed.addAndGet(txsOfUser.size());
+                log.error("Change listeners failed for {} written transactions of user {}", txsOfUser.size(), userId, e);
+            }
+        });
+    }
+
+    static class Pending {
+        final Transaction tx;
+        final CompletableFuture<Transaction> future = new CompletableFuture<>();
+
+        Pending(Transaction tx) {
+            this.tx = tx;
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.dto.TransactionCursor;
+import com.dto.TransactionFilter;
+import com.dto.TransactionPage;
+import com.entity.Category;
 import com.entity.Transaction;
 import com.entity.User;
+import com.repository.CategoryRepository;
 import com.repository.TransactionRepository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class TransactionService {
@@ -20,41 +31,219 @@ public class TransactionService {
 	@Autowired
 	private BudgetService budgetService;
 
+	@Autowired
+	private RollupService rollupService;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private BudgetReservationService budgetReservationService;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private TransactionIngestQueue ingestQueue;
+
+	@Value("${finance.transactions.page-size:50}")
+	private int defaultPageSize;
+
+	@Value("${finance.transactions.max-page-size:500}")
+	private int maxPageSize;
+
 	/**
 	 * Save a transaction with budget validation
 	 * If budget validation fails and preventExceed is true, throws exception
 	 */
 	@Transactional
 	public Transaction save(Transaction tx, User user) {
+		prepare(tx, user);
+
+		Transaction saved;
+		try {
+			saved = transactionRepository.save(tx);
+		} catch (RuntimeException e) {
+			budgetReservationService.release(user.getId(), tx);
+			throw e;
+		}
+		rollupService.onCreated(saved);
+		eventPublisher.publishEvent(TransactionsChangedEvent.of(user.getId(), List.of(saved)));
+		return saved;
+	}
+
+	/**
+	 * Validate and reserve like save, then hand the write to the ingest queue
+	 * Rejections are still reported to the caller; the future completes once the batch is written
+	 */
+	public CompletableFuture<Transaction> enqueue(Transaction tx, User user) {
+		prepare(tx, user);
+		try {
+			return ingestQueue.submit(tx);
+		} catch (RuntimeException e) {
+			budgetReservationService.release(user.getId(), tx);
+			throw e;
+		}
+	}
+
+	private void prepare(Transaction tx, User user) {
+		resolveCategory(tx, user);
+		tx.setUserId(user.getId());
+		if (tx.getDate() == null) {
+			// Budgets and rollups are per month, so an undated transaction counts for today
+			tx.setDate(LocalDate.now());
+		}
+
 		// Validate budget before saving expense
-		if (tx.getType() != null && tx.getType().equals("EXPENSE")) {
-			BudgetService.BudgetValidationResult validation = 
-					budgetService.validateExpense(user, tx);
-			
-			if (!validation.isAllowed()) {
-				throw new IllegalArgumentException(validation.getMessage());
-			}
-			// If allowed but with warning, transaction still proceeds
-			// Frontend can check for warnings if needed
+		// If allowed but with warning, transaction still proceeds
+		reserveBudgets(tx, user);
+	}
+
+	/**
+	 * Update a transaction owned by the user, re-validating budgets for expenses
+	 * Rollups are moved from the old month/category bucket to the new one
+	 */
+	@Transactional
+	public Transaction update(String id, Transaction updated, User user) {
+		Transaction tx = transactionRepository.findById(id)
+				.orElseThrow(() -> new RuntimeException("Transaction not found"));
+
+		if (!user.getId().equals(tx.getUserId())) {
+			throw new RuntimeException("Unauthorized");
 		}
-		
-		tx.setUser(user);
-		return transactionRepository.save(tx);
+
+		Transaction before = copyOf(tx);
+
+		// Update fields
+		tx.setAmount(updated.getAmount());
+		tx.setDate(updated.getDate() != null ? updated.getDate() : tx.getDate());
+		tx.setNote(updated.getNote());
+		tx.setCategoryId(updated.getCategoryId());
+		tx.setType(updated.getType());
+		resolveCategory(tx, user);
+
+		// Move the budget counters from the old version to the new one,
+		// validating the new one if it's an expense
+		budgetReservationService.release(user.getId(), before);
+		try {
+			reserveBudgets(tx, user);
+		} catch (IllegalArgumentException e) {
+			budgetReservationService.apply(user.getId(), before);
+			throw e;
+		}
+
+		Transaction saved;
+		try {
+			saved = transactionRepository.save(tx);
+		} catch (RuntimeException e) {
+			budgetReservationService.release(user.getId(), tx);
+			budgetReservationService.apply(user.getId(), before);
+			throw e;
+		}
+		rollupService.onUpdated(before, saved);
+		eventPublisher.publishEvent(TransactionsChangedEvent.of(user.getId(), List.of(before, saved)));
+		return saved;
+	}
+
+	/**
+	 * Delete a transaction owned by the user
+	 */
+	@Transactional
+	public void delete(String id, User user) {
+		Transaction tx = transactionRepository.findById(id).orElseThrow();
+
+		if (!user.getId().equals(tx.getUserId())) {
+			throw new RuntimeException("Unauthorized");
+		}
+
+		transactionRepository.delete(tx);
+		rollupService.onDeleted(tx);
+		budgetReservationService.release(user.getId(), tx);
+		eventPublisher.publishEvent(TransactionsChangedEvent.of(user.getId(), List.of(tx)));
 	}
 
-	public Transaction save(Transaction tx) { 
-		return transactionRepository.save(tx); 
+	/**
+	 * Keyset-paginated, filtered listing (newest first)
+	 * The cursor is the opaque nextCursor of the previous page
+	 */
+	public TransactionPage findPage(User user, TransactionFilter filter, String cursor, Integer limit) {
+		int pageSize = limit != null ? Math.min(Math.max(limit, 1), maxPageSize) : defaultPageSize;
+
+		TransactionCursor after = null;
+		if (cursor != null && !cursor.isEmpty()) {
+			try {
+				after = TransactionCursor.decode(cursor);
+			} catch (IllegalArgumentException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+			}
+		}
+
+		// Fetch one extra row to know whether another page exists
+		List<Transaction> rows = transactionRepository.findPage(user.getId(), filter, after, pageSize + 1);
+		if (rows.size() <= pageSize) {
+			return new TransactionPage(rows, null);
+		}
+
+		List<Transaction> items = rows.subList(0, pageSize);
+		Transaction last = items.get(pageSize - 1);
+		return new TransactionPage(items, new TransactionCursor(last.getDate(), last.getId()).encode());
 	}
 
 	public List<Transaction> findByUser(User user) { 
-		return transactionRepository.findByUser(user); 
+		return transactionRepository.findByUserId(user.getId()); 
 	}
 
 	public Optional<Transaction> findById(String id) { 
 		return transactionRepository.findById(id); 
 	}
 
-	public void delete(Transaction tx) { 
-		transactionRepository.delete(tx); 
+	/**
+	 * Count the transaction against its month's budgets, throwing when a
+	 * preventExceed budget has no room for an expense.
+	 * With atomic reservation this is one conditional findAndModify per budget, so
+	 * concurrent expenses cannot overshoot; otherwise the month totals are re-read.
+	 */
+	private void reserveBudgets(Transaction tx, User user) {
+		BudgetService.BudgetValidationResult validation;
+		if (budgetReservationService.isEnabled()) {
+			validation = budgetReservationService.reserve(user.getId(), tx);
+		} else {
+			validation = budgetService.validateExpense(user, tx);
+			if (validation.isAllowed()) {
+				budgetReservationService.apply(user.getId(), tx);
+			}
+		}
+
+		if (!validation.isAllowed()) {
+			throw new IllegalArgumentException(validation.getMessage());
+		}
+	}
+
+	/**
+	 * Check the category belongs to the user and denormalize its name onto the transaction
+	 */
+	private void resolveCategory(Transaction tx, User user) {
+		if (tx.getCategoryId() == null || tx.getCategoryId().isEmpty()) {
+			tx.setCategoryId(null);
+			tx.setCategoryName(null);
+			return;
+		}
+		Category category = categoryRepository.findById(tx.getCategoryId())
+				.filter(c -> user.getId().equals(c.getUserId()))
+				.orElseThrow(() -> new IllegalArgumentException("Category not found"));
+		tx.setCategoryName(category.getName());
+	}
+
+	private static Transaction copyOf(Transaction tx) {
+		Transaction copy = new Transaction();
+		copy.setId(tx.getId());
+		copy.setAmount(tx.getAmount());
+		copy.setType(tx.getType());
+		copy.setDate(tx.getDate());
+		copy.setNote(tx.getNote());
+		copy.setCategoryId(tx.getCategoryId());
+		copy.setCategoryName(tx.getCategoryName());
+		copy.setUserId(tx.getUserId());
+		return copy;
 	}
 }
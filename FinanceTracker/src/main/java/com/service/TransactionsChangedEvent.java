@@ -0,0 +1,75 @@
+package com.service;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.core.Ordered;
+
+import com.entity.Transaction;
+
+/**
+ * Published after transactions are created, updated, deleted or imported,
+ * with the months (by transaction date) whose data changed and, when known,
+ * the categories of the changed transactions.
+ *
+ * Listeners run synchronously on the writing thread, before the response is sent,
+ * so anything derived from a month can be dropped before it is read again.
+ */
+public class TransactionsChangedEvent {
+
+    // Listener order: derived state first (rollover before the alerts that use its effective
+    // limits), then caches, and the data version last, so a reader that sees the new version
+    // also sees everything derived from the change
+    static final int ROLLOVER_ORDER = 0;
+    static final int ALERTS_ORDER = 10;
+    static final int CACHES_ORDER = 20;
+    static final int VERSION_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final String userId;
+    private final Set<YearMonth> months;
+    private final Set<String> categoryIds;
+
+    /**
+     * Changes to any category of these months
+     */
+    public TransactionsChangedEvent(String userId, Set<YearMonth> months) {
+        this(userId, months, null);
+    }
+
+    public TransactionsChangedEvent(String userId, Set<YearMonth> months, Set<String> categoryIds) {
+        this.userId = userId;
+        this.months = Collections.unmodifiableSet(months);
+        this.categoryIds = categoryIds != null ? Collections.unmodifiableSet(categoryIds) : null;
+    }
+
+    /**
+     * The months and categories touched by the given transactions (for an update, pass both versions)
+     */
+    public static TransactionsChangedEvent of(String userId, Collection<Transaction> transactions) {
+        Set<YearMonth> months = new TreeSet<>();
+        Set<String> categoryIds = new HashSet<>();
+        for (Transaction tx : transactions) {
+            if (tx != null && tx.getDate() != null) {
+                months.add(YearMonth.from(tx.getDate()));
+                if (tx.getCategoryId() != null) {
+                    categoryIds.add(tx.getCategoryId());
+                }
+            }
+        }
+        return new TransactionsChangedEvent(userId, months, categoryIds);
+    }
+
+    public String getUserId() { return userId; }
+
+    public Set<YearMonth> getMonths() { return months; }
+
+    /**
+     * Categories of the changed transactions (uncategorized ones only affect overall budgets),
+     * or null if any category may have changed
+     */
+    public Set<String> getCategoryIds() { return categoryIds; }
+}
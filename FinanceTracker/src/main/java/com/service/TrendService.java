@@ -0,0 +1,255 @@
+package com.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.dto.TrendResponse;
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.repository.CategoryRepository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Rolling multi-month trends (income, expenses, savings rate, category spend, MoM and YoY changes).
+ *
+ * All months of the window, plus the 12 before it for year-over-year, come from one grouped
+ * query (RollupService.getMonthlyTotals(user, from, to)). Closed months (before the current one)
+ * are then cached as immutable entries per user/month, so a repeated trend only queries the
+ * current month. An entry is dropped when a transaction dated in its month is written through
+ * this instance (TransactionsChangedEvent); finance.trends.cache.ttl bounds how long writes made
+ * elsewhere can go unseen.
+ */
+@Service
+public class TrendService {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Value("${finance.trends.max-months:36}")
+    private int maxMonths;
+
+    @Value("${finance.trends.cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${finance.trends.cache.ttl:PT24H}")
+    private Duration ttl;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private Cache<String, MonthAmounts> closedMonths;
+
+    // Bumped on every invalidation; a load that overlapped one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        closedMonths = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Trend over the given number of months, ending with (and including) the month {@code to}
+     */
+    @Timed(value = "finance.trends", histogram = true)
+    public TrendResponse getTrend(User user, YearMonth to, int months) {
+        if (months < 1 || months > maxMonths) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Months must be between 1 and " + maxMonths);
+        }
+        YearMonth from = to.minusMonths(months - 1);
+        Map<YearMonth, MonthAmounts> amounts = load(user, from.minusMonths(12), to);
+
+        Set<String> categoryIds = new HashSet<>();
+        for (YearMonth ym = from; !ym.isAfter(to); ym = ym.plusMonths(1)) {
+            categoryIds.addAll(amounts.get(ym).categoryExpenses.keySet());
+        }
+        categoryIds.remove(null);
+        Map<String, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(categoryIds)) {
+            names.put(category.getId(), category.getName());
+        }
+
+        List<TrendResponse.MonthTrend> trend = new ArrayList<>(months);
+        for (YearMonth ym = from; !ym.isAfter(to); ym = ym.plusMonths(1)) {
+            MonthAmounts current = amounts.get(ym);
+            TrendResponse.MonthTrend monthTrend = new TrendResponse.MonthTrend();
+            monthTrend.setYear(ym.getYear());
+            monthTrend.setMonth(ym.getMonthValue());
+            monthTrend.setIncome(Money.toMajor(current.income));
+            monthTrend.setExpenses(Money.toMajor(current.expenses));
+            monthTrend.setSavings(Money.toMajor(current.savings()));
+            monthTrend.setSavingsRate(current.income > 0 ? (current.savings() * 100.0) / current.income : 0.0);
+            monthTrend.setCategoryExpenses(categoryExpenses(current, names));
+            monthTrend.setMonthOverMonth(change(current, amounts.get(ym.minusMonths(1))));
+            monthTrend.setYearOverYear(change(current, amounts.get(ym.minusMonths(12))));
+            trend.add(monthTrend);
+        }
+
+        TrendResponse response = new TrendResponse();
+        response.setMonths(months);
+        response.setTrend(trend);
+        return response;
+    }
+
+    /**
+     * Amounts for every month from..to: closed months from the cache where possible,
+     * the rest (always including the current month) from one query over the months missing
+     */
+    private Map<YearMonth, MonthAmounts> load(User user, YearMonth from, YearMonth to) {
+        YearMonth currentMonth = YearMonth.now(clock);
+        Map<YearMonth, MonthAmounts> amounts = new HashMap<>();
+        YearMonth missingFrom = null;
+        YearMonth missingTo = null;
+        for (YearMonth ym = from; !ym.isAfter(to); ym = ym.plusMonths(1)) {
+            MonthAmounts cached = ym.isBefore(currentMonth) ? closedMonths.getIfPresent(key(user.getId(), ym)) : null;
+            if (cached != null) {
+                amounts.put(ym, cached);
+            } else {
+                if (missingFrom == null) missingFrom = ym;
+                missingTo = ym;
+            }
+        }
+        if (missingFrom == null) {
+            return amounts;
+        }
+
+        long invalidationsBefore = invalidations.get();
+        Map<YearMonth, MonthlyTotals> loaded = rollupService.getMonthlyTotals(user, missingFrom, missingTo);
+        boolean cacheable = invalidations.get() == invalidationsBefore;
+        for (YearMonth ym = missingFrom; !ym.isAfter(missingTo); ym = ym.plusMonths(1)) {
+            if (amounts.containsKey(ym)) {
+                continue;
+            }
+            MonthAmounts month = MonthAmounts.of(loaded.get(ym));
+            amounts.put(ym, month);
+            if (cacheable && ym.isBefore(currentMonth)) {
+                closedMonths.put(key(user.getId(), ym), month);
+            }
+        }
+        return amounts;
+    }
+
+    /**
+     * Drop the cached months a transaction write touched
+     */
+    @EventListener
+    @Order(TransactionsChangedEvent.CACHES_ORDER)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        invalidations.incrementAndGet();
+        for (YearMonth ym : event.getMonths()) {
+            closedMonths.invalidate(key(event.getUserId(), ym));
+        }
+    }
+
+    /**
+     * Drop every cached month (after a rebuild of the derived state)
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        closedMonths.invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters of the closed-month cache
+     */
+    public CacheStats stats() {
+        return closedMonths.stats();
+    }
+
+    public long size() {
+        return closedMonths.estimatedSize();
+    }
+
+    private static String key(String userId, YearMonth yearMonth) {
+        return userId + "|" + yearMonth;
+    }
+
+    private static Map<String, Double> categoryExpenses(MonthAmounts month, Map<String, String> names) {
+        // Summed in minor units per name (names need not be unique), converted once
+        Map<String, Long> minor = new HashMap<>();
+        month.categoryExpenses.forEach((categoryId, amount) ->
+                minor.merge(names.getOrDefault(categoryId, "Uncategorized"), amount, Long::sum));
+        Map<String, Double> byName = new HashMap<>();
+        minor.forEach((name, amount) -> byName.put(name, Money.toMajor(amount)));
+        return byName;
+    }
+
+    private static TrendResponse.Change change(MonthAmounts current, MonthAmounts earlier) {
+        TrendResponse.Change change = new TrendResponse.Change();
+        change.setIncome(Money.toMajor(current.income - earlier.income));
+        change.setExpenses(Money.toMajor(current.expenses - earlier.expenses));
+        change.setSavings(Money.toMajor(current.savings() - earlier.savings()));
+        change.setIncomePercentage(percentage(current.income, earlier.income));
+        change.setExpensesPercentage(percentage(current.expenses, earlier.expenses));
+        return change;
+    }
+
+    private static Double percentage(long current, long earlier) {
+        return earlier != 0 ? ((current - earlier) * 100.0) / earlier : null;
+    }
+
+    /**
+     * One month's income, expenses and expenses per category id (null for uncategorized),
+     * in minor units. Immutable, so cached instances can be shared between requests.
+     */
+    static final class MonthAmounts {
+        private static final MonthAmounts EMPTY = new MonthAmounts(0, 0, Collections.emptyMap());
+
+        final long income;
+        final long expenses;
+        final Map<String, Long> categoryExpenses;
+
+        private MonthAmounts(long income, long expenses, Map<String, Long> categoryExpenses) {
+            this.income = income;
+            this.expenses = expenses;
+            this.categoryExpenses = categoryExpenses;
+        }
+
+        static MonthAmounts of(MonthlyTotals totals) {
+            if (totals == null) {
+                return EMPTY;
+            }
+            Map<String, Long> byCategory = new HashMap<>();
+            totals.getCategories().forEach((categoryId, cat) -> {
+                if (cat.getExpenses() > 0) byCategory.put(categoryId, cat.getExpenses());
+            });
+            if (totals.getUncategorized().getExpenses() > 0) {
+                byCategory.put(null, totals.getUncategorized().getExpenses());
+            }
+            return new MonthAmounts(totals.getTotalIncome(), totals.getTotalExpenses(),
+                    Collections.unmodifiableMap(byCategory));
+        }
+
+        long savings() {
+            return income - expenses;
+        }
+    }
+}
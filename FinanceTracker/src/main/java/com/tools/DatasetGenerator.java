@@ -0,0 +1,384 @@
+package com.tools;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.bson.types.ObjectId;
+
+import com.entity.Budget;
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+
+/**
+ * Seeded generator of realistic per-user finance data.
+ *
+ * - Monthly transaction volume per user follows a Pareto distribution: most users log a few
+ *   dozen transactions a month, about 1% log hundreds to thousands (the "whales")
+ * - Each user gets a subset of typical categories with their own amount ranges, a monthly
+ *   salary and rent, and occasional refunds
+ * - Every month has an overall budget and a few category budgets, sized around actual spend so
+ *   some are exceeded; Budget.spent and the monthly rollups are derived from the transactions
+ *
+ * The same (seed, user index) always yields the same data, ids included, so runs are
+ * reproducible and users can be generated independently. Passwords are left to the caller.
+ */
+public class DatasetGenerator {
+
+    private static final CategoryProfile[] PROFILES = {
+            new CategoryProfile("Salary", TransactionType.INCOME, 0, 2_000_00L, 9_000_00L),
+            new CategoryProfile("Rent", TransactionType.EXPENSE, 0, 600_00L, 2_500_00L),
+            new CategoryProfile("Groceries", TransactionType.EXPENSE, 25, 8_00L, 180_00L),
+            new CategoryProfile("Dining", TransactionType.EXPENSE, 15, 6_00L, 90_00L),
+            new CategoryProfile("Transport", TransactionType.EXPENSE, 12, 2_00L, 60_00L),
+            new CategoryProfile("Shopping", TransactionType.EXPENSE, 10, 10_00L, 400_00L),
+            new CategoryProfile("Entertainment", TransactionType.EXPENSE, 8, 5_00L, 120_00L),
+            new CategoryProfile("Subscriptions", TransactionType.EXPENSE, 6, 3_00L, 25_00L),
+            new CategoryProfile("Utilities", TransactionType.EXPENSE, 5, 30_00L, 200_00L),
+            new CategoryProfile("Health", TransactionType.EXPENSE, 4, 10_00L, 300_00L),
+            new CategoryProfile("Travel", TransactionType.EXPENSE, 2, 100_00L, 2_000_00L),
+            new CategoryProfile("Freelance", TransactionType.INCOME, 2, 100_00L, 2_000_00L),
+    };
+
+    private static final String[] NOTES = {
+            "Card payment", "Online order", "Weekly shop", "Monthly bill", "Cash", "Refund", null
+    };
+
+    private final long seed;
+    private final YearMonth firstMonth;
+    private final int months;
+
+    // Pareto(scale, shape) monthly volume, capped
+    private double volumeScale = 10;
+    private double volumeShape = 1.2;
+    private int maxMonthlyTransactions = 5_000;
+
+    /**
+     * @param seed       reproducibility seed
+     * @param lastMonth  newest month with data
+     * @param months     length of each user's history, ending at lastMonth
+     */
+    public DatasetGenerator(long seed, YearMonth lastMonth, int months) {
+        if (months < 1) {
+            throw new IllegalArgumentException("months must be at least 1");
+        }
+        this.seed = seed;
+        this.months = months;
+        this.firstMonth = lastMonth.minusMonths(months - 1);
+    }
+
+    /**
+     * Shape of the per-user monthly volume: median is scale * 2^(1/shape), the top 1% of users
+     * log about scale * 100^(1/shape) a month. Lower shape means heavier whales.
+     */
+    public DatasetGenerator withVolume(double scale, double shape, int maxMonthly) {
+        this.volumeScale = scale;
+        this.volumeShape = shape;
+        this.maxMonthlyTransactions = maxMonthly;
+        return this;
+    }
+
+    public YearMonth getFirstMonth() { return firstMonth; }
+
+    public int getMonths() { return months; }
+
+    /**
+     * User number {@code index}, with a Pareto-distributed history size
+     */
+    public UserData generateUser(int index) {
+        SplittableRandom random = randomFor(index);
+        Profile profile = new Profile(random);
+
+        int[] perMonth = new int[months];
+        for (int m = 0; m < months; m++) {
+            // +-25% month to month around the user's own level
+            double level = profile.monthlyVolume * (0.75 + random.nextDouble() * 0.5);
+            perMonth[m] = Math.max(1, (int) Math.round(level));
+        }
+        return build(index, random, profile, perMonth);
+    }
+
+    /**
+     * User number {@code index} with exactly {@code transactions} transactions spread over the months
+     */
+    public UserData generateUser(int index, int transactions) {
+        SplittableRandom random = randomFor(index);
+        Profile profile = new Profile(random);
+
+        int[] perMonth = new int[months];
+        for (int i = 0; i < transactions; i++) {
+            perMonth[random.nextInt(months)]++;
+        }
+        return build(index, random, profile, perMonth);
+    }
+
+    private SplittableRandom randomFor(int index) {
+        // Independent stream per user, so users can be generated in any order
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private UserData build(int index, SplittableRandom random, Profile profile, int[] perMonth) {
+        UserData data = new UserData();
+        LocalDateTime joined = firstMonth.atDay(1).atStartOfDay();
+
+        User user = new User();
+        user.setId(objectId(random, joined).toHexString());
+        user.setName("Seed User " + index);
+        user.setEmail(emailFor(index));
+        user.setCreatedAt(joined);
+        data.user = user;
+
+        List<Category> categories = new ArrayList<>();
+        List<CategoryProfile> categoryProfiles = new ArrayList<>();
+        for (int p : profile.categories) {
+            Category category = new Category();
+            category.setId(objectId(random, joined).toHexString());
+            category.setName(PROFILES[p].name);
+            category.setUserId(user.getId());
+            categories.add(category);
+            categoryProfiles.add(PROFILES[p]);
+        }
+        data.categories = categories;
+
+        for (int m = 0; m < months; m++) {
+            YearMonth ym = firstMonth.plusMonths(m);
+            List<Transaction> monthTxs = generateMonth(random, profile, user, categories, categoryProfiles,
+                    ym, perMonth[m]);
+            Map<String, MonthlyRollup> rollups = rollup(random, user, ym, monthTxs);
+            data.transactions.addAll(monthTxs);
+            data.rollups.addAll(rollups.values());
+            data.budgets.addAll(budgets(random, user, categories, categoryProfiles, ym, rollups));
+        }
+        return data;
+    }
+
+    private List<Transaction> generateMonth(SplittableRandom random, Profile profile, User user,
+                                            List<Category> categories, List<CategoryProfile> categoryProfiles,
+                                            YearMonth ym, int count) {
+        List<Transaction> txs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int c;
+            int day;
+            if (i == 0) {
+                c = 0; // salary, early in the month
+                day = 1 + random.nextInt(3);
+            } else if (i == 1) {
+                c = 1; // rent
+                day = 1 + random.nextInt(5);
+            } else {
+                c = pickWeighted(random, profile, categoryProfiles);
+                day = 1 + random.nextInt(ym.lengthOfMonth());
+            }
+            CategoryProfile cp = categoryProfiles.get(c);
+            long amount = c <= 1 ? profile.fixedAmounts[c] : cp.amount(random, profile.spendFactor);
+
+            TransactionType type = cp.type;
+            String note = NOTES[random.nextInt(NOTES.length)];
+            if (type == TransactionType.EXPENSE && c > 1 && random.nextInt(50) == 0) {
+                type = TransactionType.INCOME; // refund into an expense category
+                note = "Refund";
+            }
+            // A few expenses are never categorized
+            boolean uncategorized = type == TransactionType.EXPENSE && c > 1 && random.nextInt(25) == 0;
+
+            Transaction tx = new Transaction();
+            tx.setDate(ym.atDay(day));
+            tx.setId(objectId(random, tx.getDate().atStartOfDay()).toHexString());
+            tx.setUserId(user.getId());
+            tx.setType(type);
+            tx.setAmount(Money.ofMinor(amount));
+            tx.setNote(note);
+            if (!uncategorized) {
+                tx.setCategoryId(categories.get(c).getId());
+                tx.setCategoryName(categories.get(c).getName());
+            }
+            txs.add(tx);
+        }
+        txs.sort(Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId));
+        return txs;
+    }
+
+    private static int pickWeighted(SplittableRandom random, Profile profile, List<CategoryProfile> categoryProfiles) {
+        int r = random.nextInt(profile.totalWeight);
+        for (int c = 2; c < categoryProfiles.size(); c++) {
+            r -= categoryProfiles.get(c).weight;
+            if (r < 0) {
+                return c;
+            }
+        }
+        return categoryProfiles.size() - 1;
+    }
+
+    private static Map<String, MonthlyRollup> rollup(SplittableRandom random, User user, YearMonth ym,
+                                                     List<Transaction> txs) {
+        Map<String, MonthlyRollup> buckets = new HashMap<>();
+        for (Transaction tx : txs) {
+            MonthlyRollup rollup = buckets.computeIfAbsent(String.valueOf(tx.getCategoryId()), key -> {
+                MonthlyRollup r = new MonthlyRollup();
+                r.setId(objectId(random, ym.atDay(1).atStartOfDay()).toHexString());
+                r.setUserId(user.getId());
+                r.setYear(ym.getYear());
+                r.setMonth(ym.getMonthValue());
+                r.setCategoryId(tx.getCategoryId());
+                return r;
+            });
+            if (tx.getType() == TransactionType.INCOME) {
+                rollup.setIncome(rollup.getIncome() + tx.getAmount().minor());
+            } else {
+                rollup.setExpenses(rollup.getExpenses() + tx.getAmount().minor());
+            }
+            rollup.setCount(rollup.getCount() + 1);
+        }
+        return buckets;
+    }
+
+    private List<Budget> budgets(SplittableRandom random, User user, List<Category> categories,
+                                 List<CategoryProfile> categoryProfiles, YearMonth ym,
+                                 Map<String, MonthlyRollup> rollups) {
+        List<Budget> budgets = new ArrayList<>();
+
+        long totalNet = 0;
+        for (MonthlyRollup r : rollups.values()) {
+            totalNet += r.getExpenses() - r.getIncome();
+        }
+        long totalExpenses = rollups.values().stream().mapToLong(MonthlyRollup::getExpenses).sum();
+        // Sized off gross expenses (salary would make net spend negative), 80-130% so some are exceeded
+        budgets.add(budget(random, user, null, ym, scaledLimit(random, totalExpenses), totalNet));
+
+        for (int c = 1; c < categories.size(); c++) {
+            if (categoryProfiles.get(c).type != TransactionType.EXPENSE || random.nextInt(3) != 0) {
+                continue;
+            }
+            Category category = categories.get(c);
+            MonthlyRollup r = rollups.get(category.getId());
+            long expenses = r != null ? r.getExpenses() : 0;
+            long net = r != null ? r.getExpenses() - r.getIncome() : 0;
+            budgets.add(budget(random, user, category, ym, scaledLimit(random, expenses), net));
+        }
+        return budgets;
+    }
+
+    private static long scaledLimit(SplittableRandom random, long expenses) {
+        long limit = Math.round(expenses * (0.8 + random.nextDouble() * 0.5));
+        // Round to whole currency units, at least 50
+        return Math.max(50_00L, limit / 100 * 100);
+    }
+
+    private static Budget budget(SplittableRandom random, User user, Category category, YearMonth ym,
+                                 long limit, long spent) {
+        Budget budget = new Budget();
+        budget.setId(objectId(random, ym.atDay(1).atStartOfDay()).toHexString());
+        budget.setUserId(user.getId());
+        budget.setYear(ym.getYear());
+        budget.setMonth(ym.getMonthValue());
+        budget.setCategoryId(category != null ? category.getId() : null);
+        budget.setCategoryName(category != null ? category.getName() : null);
+        budget.setMonthlyLimit(Money.ofMinor(limit));
+        budget.setSpent(Money.ofMinor(spent));
+        budget.setAllowRollover(random.nextInt(5) == 0);
+        budget.setPreventExceed(random.nextInt(10) == 0);
+        budget.setCreatedAt(ym.atDay(1).atStartOfDay());
+        budget.setUpdatedAt(budget.getCreatedAt());
+        return budget;
+    }
+
+    public static String emailFor(int index) {
+        return "seed.user" + index + "@example.com";
+    }
+
+    /**
+     * Deterministic ObjectId: the timestamp of the record, then 8 bytes from the user's stream
+     */
+    private static ObjectId objectId(SplittableRandom random, LocalDateTime at) {
+        int seconds = (int) at.toEpochSecond(ZoneOffset.UTC);
+        return new ObjectId(ByteBuffer.allocate(12).putInt(seconds).putLong(random.nextLong()).array());
+    }
+
+    /**
+     * Per-user traits drawn once: volume, spend level and which categories they use
+     */
+    private class Profile {
+        final double monthlyVolume;
+        final double spendFactor;
+        final List<Integer> categories = new ArrayList<>();
+        final long[] fixedAmounts = new long[2];
+        final int totalWeight;
+
+        Profile(SplittableRandom random) {
+            double u = 1.0 - random.nextDouble(); // (0, 1]
+            monthlyVolume = Math.min(maxMonthlyTransactions, volumeScale / Math.pow(u, 1.0 / volumeShape));
+            spendFactor = 0.6 + random.nextDouble() * 1.2;
+
+            // Salary and rent always, then the usual spending categories, then the rest at random
+            categories.add(0);
+            categories.add(1);
+            categories.add(2);
+            int weight = PROFILES[2].weight;
+            for (int p = 3; p < PROFILES.length; p++) {
+                if (random.nextInt(10) < 7) {
+                    categories.add(p);
+                    weight += PROFILES[p].weight;
+                }
+            }
+            totalWeight = weight;
+            fixedAmounts[0] = PROFILES[0].amount(random, spendFactor);
+            fixedAmounts[1] = PROFILES[1].amount(random, spendFactor);
+        }
+    }
+
+    private static class CategoryProfile {
+        final String name;
+        final TransactionType type;
+        final int weight;
+        final long minAmount;
+        final long maxAmount;
+
+        CategoryProfile(String name, TransactionType type, int weight, long minAmount, long maxAmount) {
+            this.name = name;
+            this.type = type;
+            this.weight = weight;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+        }
+
+        // Log-uniform with extra weight near the minimum: many small amounts, a long tail
+        long amount(SplittableRandom random, double spendFactor) {
+            double u = random.nextDouble();
+            double amount = minAmount * Math.pow((double) maxAmount / minAmount, u * u) * spendFactor;
+            return Math.max(1, Math.round(amount));
+        }
+    }
+
+    /**
+     * Everything generated for one user, in insert order
+     */
+    public static class UserData {
+        private User user;
+        private List<Category> categories;
+        private final List<Transaction> transactions = new ArrayList<>();
+        private final List<Budget> budgets = new ArrayList<>();
+        private final List<MonthlyRollup> rollups = new ArrayList<>();
+
+        public User getUser() { return user; }
+
+        public List<Category> getCategories() { return categories; }
+
+        // Sorted by date
+        public List<Transaction> getTransactions() { return transactions; }
+
+        public List<Budget> getBudgets() { return budgets; }
+
+        public List<MonthlyRollup> getRollups() { return rollups; }
+    }
+}
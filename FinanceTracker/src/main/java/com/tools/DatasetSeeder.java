@@ -0,0 +1,173 @@
+package com.tools;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.entity.Budget;
+import com.entity.Category;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.entity.User;
+
+/**
+ * Writes generated users to MongoDB with unordered bulk inserts.
+ *
+ * Documents are buffered per collection and flushed every {@code finance.seed.batch-size}
+ * transactions. Rollups and budget spent counters come precomputed from the generator, so no
+ * per-transaction bookkeeping runs. Users whose seed email already exists are skipped, so a
+ * re-run with the same seed only adds the missing users.
+ */
+@Component
+public class DatasetSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    // Users checked for existing emails per query
+    private static final int USER_CHUNK = 200;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${finance.seed.batch-size:5000}")
+    private int batchSize;
+
+    /**
+     * Seed users [0, users) from the generator; every seeded user gets the same password hash
+     */
+    public SeedResult seed(DatasetGenerator generator, int users, String encodedPassword) {
+        SeedResult result = new SeedResult();
+        Buffers buffers = new Buffers();
+        long started = System.nanoTime();
+
+        for (int from = 0; from < users; from += USER_CHUNK) {
+            int to = Math.min(users, from + USER_CHUNK);
+            Set<String> existing = existingEmails(from, to);
+
+            for (int i = from; i < to; i++) {
+                if (existing.contains(DatasetGenerator.emailFor(i))) {
+                    result.skippedUsers++;
+                    continue;
+                }
+                DatasetGenerator.UserData data = generator.generateUser(i);
+                data.getUser().setPassword(encodedPassword);
+                buffers.add(data);
+                result.users++;
+
+                if (buffers.transactions.size() >= batchSize) {
+                    flush(buffers, result);
+                }
+            }
+            log.info("Seeded {}/{} users, {} transactions", to, users, result.transactions);
+        }
+        flush(buffers, result);
+
+        result.elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return result;
+    }
+
+    private Set<String> existingEmails(int from, int to) {
+        List<String> emails = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            emails.add(DatasetGenerator.emailFor(i));
+        }
+        Query query = Query.query(Criteria.where("email").in(emails));
+        query.fields().include("email");
+
+        Set<String> existing = new HashSet<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            existing.add(user.getEmail());
+        }
+        return existing;
+    }
+
+    /**
+     * Parents first, so a failed run never leaves transactions without their user
+     */
+    private void flush(Buffers buffers, SeedResult result) {
+        insert(buffers.users, User.class);
+        insert(buffers.categories, Category.class);
+        insert(buffers.budgets, Budget.class);
+        insert(buffers.rollups, MonthlyRollup.class);
+        // Transactions can exceed the batch size by one user's history; split them
+        for (int i = 0; i < buffers.transactions.size(); i += batchSize) {
+            insert(buffers.transactions.subList(i, Math.min(buffers.transactions.size(), i + batchSize)),
+                    Transaction.class);
+        }
+
+        result.categories += buffers.categories.size();
+        result.budgets += buffers.budgets.size();
+        result.rollups += buffers.rollups.size();
+        result.transactions += buffers.transactions.size();
+        buffers.clear();
+    }
+
+    private void insert(List<?> documents, Class<?> entityClass) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, entityClass).insert(documents).execute();
+    }
+
+    private static class Buffers {
+        List<User> users = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        List<Budget> budgets = new ArrayList<>();
+        List<MonthlyRollup> rollups = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+
+        void add(DatasetGenerator.UserData data) {
+            users.add(data.getUser());
+            categories.addAll(data.getCategories());
+            budgets.addAll(data.getBudgets());
+            rollups.addAll(data.getRollups());
+            transactions.addAll(data.getTransactions());
+        }
+
+        // New lists rather than clear(): bulk operations may still reference the old ones
+        void clear() {
+            users = new ArrayList<>();
+            categories = new ArrayList<>();
+            budgets = new ArrayList<>();
+            rollups = new ArrayList<>();
+            transactions = new ArrayList<>();
+        }
+    }
+
+    public static class SeedResult {
+        private long users;
+        private long skippedUsers;
+        private long categories;
+        private long budgets;
+        private long rollups;
+        private long transactions;
+        private long elapsedMillis;
+
+        public long getUsers() { return users; }
+        public long getSkippedUsers() { return skippedUsers; }
+        public long getCategories() { return categories; }
+        public long getBudgets() { return budgets; }
+        public long getRollups() { return rollups; }
+        public long getTransactions() { return transactions; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        @Override
+        public String toString() {
+            long docs = users + categories + budgets + rollups + transactions;
+            return String.format("%d users (%d skipped), %d categories, %d budgets, %d rollups, "
+                    + "%d transactions in %d ms (%.0f docs/s)", users, skippedUsers, categories, budgets,
+                    rollups, transactions, elapsedMillis, elapsedMillis > 0 ? docs * 1000.0 / elapsedMillis : 0.0);
+        }
+    }
+}
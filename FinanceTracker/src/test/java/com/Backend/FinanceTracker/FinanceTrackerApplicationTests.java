@@ -1,13 +1,35 @@
 package com.Backend.FinanceTracker;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.entity.DataVersion;
+import com.entity.MonthlySnapshot;
 
 @SpringBootTest
 class FinanceTrackerApplicationTests {
 
+	@Autowired
+	private MongoMappingContext mappingContext;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void templateOnlyEntitiesAreKnownToTheIndexInitializer() {
+		Set<Class<?>> types = mappingContext.getPersistentEntities().stream()
+				.map(entity -> entity.getType())
+				.collect(Collectors.toSet());
+		assertTrue(types.contains(MonthlySnapshot.class));
+		assertTrue(types.contains(DataVersion.class));
+	}
+
 }
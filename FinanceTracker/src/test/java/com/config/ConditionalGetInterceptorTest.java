@@ -0,0 +1,96 @@
+package com.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.entity.User;
+import com.service.DataVersionService;
+
+@ExtendWith(MockitoExtension.class)
+public class ConditionalGetInterceptorTest {
+
+    @InjectMocks
+    private ConditionalGetInterceptor interceptor;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setId("user1");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testFirstRequestGetsTheETagAndRunsTheHandler() {
+        when(dataVersionService.current("user1")).thenReturn(7L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/budgets/status"), response, null));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(ConditionalGetInterceptor.etagOf(7, YearMonth.now()), response.getHeader("ETag"));
+        assertEquals("private, no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    public void testUnchangedDataIsAnswered304WithoutTheHandler() {
+        when(dataVersionService.current("user1")).thenReturn(7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets/status");
+        request.addHeader("If-None-Match", ConditionalGetInterceptor.etagOf(7, YearMonth.now()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, null));
+
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    public void testAWriteSinceTheLastFetchChangesTheETag() {
+        when(dataVersionService.current("user1")).thenReturn(8L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("If-None-Match", ConditionalGetInterceptor.etagOf(7, YearMonth.now()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(ConditionalGetInterceptor.etagOf(8, YearMonth.now()), response.getHeader("ETag"));
+    }
+
+    @Test
+    public void testWritesAreNotConditional() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/categories"), response, null));
+
+        assertNull(response.getHeader("ETag"));
+        verifyNoInteractions(dataVersionService);
+    }
+}
@@ -0,0 +1,61 @@
+package com.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.JwtException;
+
+public class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheTtl", Duration.ofMinutes(1));
+        jwtUtil.init();
+    }
+
+    @Test
+    public void testExtractEmail_VerifiesSignatureOncePerToken() {
+        String token = jwtUtil.generateToken("a@example.com");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("a@example.com", jwtUtil.extractEmail(token));
+        }
+
+        assertEquals(1, jwtUtil.getVerificationCount());
+        assertEquals(4, jwtUtil.getTokenCacheHits());
+    }
+
+    @Test
+    public void testExtractEmail_RejectsTamperedTokenEveryTime() {
+        String token = jwtUtil.generateToken("a@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.extractEmail(tampered));
+        assertThrows(JwtException.class, () -> jwtUtil.extractEmail(tampered));
+        assertEquals(2, jwtUtil.getVerificationCount());
+        assertEquals(0, jwtUtil.getTokenCacheSize());
+    }
+
+    @Test
+    public void testExtractEmail_WorksWithCacheDisabled() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "tokenCacheEnabled", false);
+        jwtUtil.init();
+        String token = jwtUtil.generateToken("a@example.com");
+
+        assertEquals("a@example.com", jwtUtil.extractEmail(token));
+        assertEquals("a@example.com", jwtUtil.extractEmail(token));
+        assertEquals(2, jwtUtil.getVerificationCount());
+    }
+}
@@ -0,0 +1,90 @@
+package com.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MongoCommandMetricsTest {
+
+    private final ConnectionDescription connection =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private SimpleMeterRegistry registry;
+    private MongoCommandMetrics listener;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        listener = new MongoCommandMetrics(registry);
+    }
+
+    @Test
+    public void testFindRecordsFirstBatchPerCollection() {
+        BsonDocument command = new BsonDocument("find", new BsonString("transactions"));
+        BsonArray batch = new BsonArray();
+        for (int i = 0; i < 3; i++) {
+            batch.add(new BsonDocument("_id", new BsonInt32(i)));
+        }
+        BsonDocument response = new BsonDocument("cursor", new BsonDocument("firstBatch", batch)
+                .append("id", new BsonInt64(0)));
+
+        listener.commandStarted(new CommandStartedEvent(null, 1, 10, connection, "db", "find", command));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, 10, connection, "db", "find", response, 1000));
+
+        DistributionSummary summary = registry.get(MongoCommandMetrics.METRIC)
+                .tag("command", "find").tag("collection", "transactions").summary();
+        assertEquals(1, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+    }
+
+    @Test
+    public void testGetMoreAndWritesUseCollectionAndN() {
+        listener.commandStarted(new CommandStartedEvent(null, 1, 11, connection, "db", "getMore",
+                new BsonDocument("getMore", new BsonInt64(99)).append("collection", new BsonString("budgets"))));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, 11, connection, "db", "getMore",
+                new BsonDocument("cursor", new BsonDocument("nextBatch", new BsonArray())), 1000));
+
+        listener.commandStarted(new CommandStartedEvent(null, 2, 12, connection, "db", "update",
+                new BsonDocument("update", new BsonString("budgets"))));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 2, 12, connection, "db", "update",
+                new BsonDocument("n", new BsonInt32(5)), 1000));
+
+        assertEquals(1, registry.get(MongoCommandMetrics.METRIC)
+                .tag("command", "getMore").tag("collection", "budgets").summary().count());
+        assertEquals(5.0, registry.get(MongoCommandMetrics.METRIC)
+                .tag("command", "update").tag("collection", "budgets").summary().totalAmount());
+    }
+
+    @Test
+    public void testNonDocumentCommandsAndFailuresAreNotRecorded() {
+        listener.commandStarted(new CommandStartedEvent(null, 1, 13, connection, "admin", "hello",
+                new BsonDocument("hello", new BsonInt32(1))));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, 13, connection, "admin", "hello",
+                new BsonDocument("ok", new BsonInt32(1)), 1000));
+
+        listener.commandStarted(new CommandStartedEvent(null, 2, 14, connection, "db", "find",
+                new BsonDocument("find", new BsonString("users"))));
+        listener.commandFailed(new CommandFailedEvent(null, 2, 14, connection, "db", "find", 1000,
+                new RuntimeException("boom")));
+
+        assertNull(registry.find(MongoCommandMetrics.METRIC).summary());
+    }
+}
@@ -0,0 +1,88 @@
+package com.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.entity.User;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class PrincipalCacheTest {
+
+    @InjectMocks
+    private PrincipalCache principalCache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(principalCache, "ticker", (Ticker) nanos::get);
+        principalCache.init();
+
+        user = new User();
+        user.setId("user1");
+        user.setEmail("a@example.com");
+    }
+
+    @Test
+    public void testFindByEmail_HitsRepositoryOncePerTtl() {
+        when(userRepository.findByEmail("a@example.com")).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("user1", principalCache.findByEmail("a@example.com").get().getId());
+        }
+        verify(userRepository, times(1)).findByEmail("a@example.com");
+        assertEquals(9, principalCache.stats().hitCount());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        principalCache.findByEmail("a@example.com");
+        verify(userRepository, times(2)).findByEmail("a@example.com");
+    }
+
+    @Test
+    public void testFindByEmail_DoesNotCacheUnknownSubject() {
+        when(userRepository.findByEmail("x@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(principalCache.findByEmail("x@example.com").isEmpty());
+        assertTrue(principalCache.findByEmail("x@example.com").isEmpty());
+        verify(userRepository, times(2)).findByEmail("x@example.com");
+    }
+
+    @Test
+    public void testOnAfterSave_EvictsUserEvenWhenEmailChanged() {
+        when(userRepository.findByEmail("a@example.com")).thenReturn(Optional.of(user));
+        principalCache.findByEmail("a@example.com");
+
+        User renamed = new User();
+        renamed.setId("user1");
+        renamed.setEmail("b@example.com");
+        principalCache.onAfterSave(new AfterSaveEvent<>(renamed, null, "users"));
+
+        assertEquals(0, principalCache.size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+public class QueryTrackingFilterTest {
+
+    private final ConnectionDescription connection =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final QueryTrackingListener listener = new QueryTrackingListener();
+
+    private QueryTrackingFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new QueryTrackingFilter();
+        ReflectionTestUtils.setField(filter, "maxCommands", 20);
+        ReflectionTestUtils.setField(filter, "maxDocuments", 5000L);
+        ReflectionTestUtils.setField(filter, "repeatThreshold", 3);
+    }
+
+    @Test
+    public void testCountsCommandsAndFlagsRepeatedShapes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets/status");
+        AtomicReference<QueryTracker.RequestQueries> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            // One budget lookup per category: same shape, different values
+            for (int i = 0; i < 4; i++) {
+                find(i, "budgets", new BsonDocument("userId", new BsonString("u1"))
+                        .append("categoryId", new BsonString("cat" + i)), 1);
+            }
+            find(10, "categories", new BsonDocument("_id", new BsonDocument("$in",
+                    new BsonArray(List.of(new BsonString("a"), new BsonString("b"))))), 2);
+            seen.set(QueryTracker.current());
+        });
+
+        QueryTracker.RequestQueries queries = seen.get();
+        assertNotNull(queries);
+        assertEquals(5, queries.getCommands());
+        assertEquals(6, queries.getDocuments());
+
+        Map<String, Integer> repeated = filter.repeatedShapes(queries);
+        assertEquals(1, repeated.size());
+        assertEquals(4, repeated.get("find budgets {userId:?,categoryId:?}"));
+        assertTrue(queries.getShapes().containsKey("find categories {_id:{$in:[?]}}"));
+
+        // Unbound once the request is done
+        assertNull(QueryTracker.current());
+    }
+
+    @Test
+    public void testUntrackedOutsideRequests() {
+        find(1, "budgets", new BsonDocument("userId", new BsonString("u1")), 1);
+        assertNull(QueryTracker.current());
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/prometheus")));
+    }
+
+    private void find(int requestId, String collection, BsonDocument filterDoc, int returned) {
+        BsonDocument command = new BsonDocument("find", new BsonString(collection)).append("filter", filterDoc);
+        BsonArray batch = new BsonArray();
+        for (int i = 0; i < returned; i++) {
+            batch.add(new BsonDocument("_id", new BsonInt32(i)));
+        }
+        listener.commandStarted(new CommandStartedEvent(null, 1, requestId, connection, "db", "find", command));
+        listener.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, connection, "db", "find",
+                new BsonDocument("cursor", new BsonDocument("firstBatch", batch)), 1000));
+    }
+}
@@ -0,0 +1,50 @@
+package com.entity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class MoneyTest {
+
+    @Test
+    public void testSumsAreExact() {
+        Money sum = Money.ZERO;
+        for (int i = 0; i < 10; i++) {
+            sum = sum.plus(Money.of(0.1));
+        }
+        assertEquals(Money.of(1.0), sum);
+        assertEquals(100, sum.minor());
+    }
+
+    @Test
+    public void testMinorOf_ReadsLegacyAndCurrentStorage() {
+        assertEquals(1250, Money.minorOf(1250L));
+        assertEquals(1250, Money.minorOf(1250));
+        assertEquals(1250, Money.minorOf(12.5));
+        assertEquals(1999, Money.minorOf(Decimal128.parse("19.99")));
+        assertEquals(0, Money.minorOf(null));
+    }
+
+    @Test
+    public void testJson_IsADecimalNumber() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals("12.50", mapper.writeValueAsString(Money.ofMinor(1250)));
+        assertEquals(Money.ofMinor(1999), mapper.readValue("19.99", Money.class));
+    }
+
+    @Test
+    public void testTransactionType_IsCaseInsensitive() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals(TransactionType.EXPENSE, TransactionType.parse("expense"));
+        assertNull(TransactionType.parse("transfer"));
+        assertEquals(TransactionType.INCOME, mapper.readValue("\"Income\"", TransactionType.class));
+        assertThrows(Exception.class, () -> mapper.readValue("\"transfer\"", TransactionType.class));
+    }
+}
@@ -0,0 +1,145 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.controller.BudgetController;
+import com.dto.BudgetStatusResponse;
+import com.entity.User;
+
+public class AlertStreamServiceTest {
+
+    private final BudgetService budgetService = mock(BudgetService.class);
+
+    private AlertStreamService alertStreamService;
+    private MockMvc mockMvc;
+    private UsernamePasswordAuthenticationToken auth;
+
+    @BeforeEach
+    public void setUp() {
+        alertStreamService = new AlertStreamService();
+        ReflectionTestUtils.setField(alertStreamService, "budgetService", budgetService);
+        ReflectionTestUtils.setField(alertStreamService, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(alertStreamService, "maxPerUser", 10);
+        ReflectionTestUtils.setField(alertStreamService, "maxBacklog", 32);
+        // Sends run on the calling thread unless a test holds them back
+        ReflectionTestUtils.setField(alertStreamService, "senders", (Executor) Runnable::run);
+
+        BudgetController controller = new BudgetController();
+        ReflectionTestUtils.setField(controller, "alertStreamService", alertStreamService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        User user = new User();
+        user.setId("user1");
+        auth = new UsernamePasswordAuthenticationToken(user, null, List.of());
+    }
+
+    @Test
+    public void testConnectSendsActiveAlertsThenEachCrossing() throws Exception {
+        when(budgetService.getBudgetStatus(any(), any(), any())).thenReturn(status(alert("OVERALL", 50.0)));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/budgets/alerts/stream").principal(auth))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertEquals(1, alertStreamService.connections());
+        assertTrue(response.getContentAsString().startsWith("event:snapshot\n"));
+        assertTrue(response.getContentAsString().contains("\"threshold\":50.0"));
+
+        // 50% -> 75%
+        alertStreamService.onThresholdCrossed(new BudgetThresholdCrossedEvent("user1", YearMonth.now(), "b1",
+                50.0, 75.0, alert("OVERALL", 50.0), alert("OVERALL", 75.0)));
+        String content = response.getContentAsString();
+        String pushed = content.substring(content.indexOf("event:alert\n"));
+        assertTrue(pushed.contains("\"alerts\":[{\"type\":\"OVERALL\""));
+        assertTrue(pushed.contains("\"threshold\":75.0"));
+        assertTrue(pushed.contains("\"cleared\":[{"));
+
+        // The status is only read on connect, crossings carry their alerts
+        verify(budgetService, times(1)).getBudgetStatus(any(), any(), any());
+    }
+
+    @Test
+    public void testCrossingsOfOtherUsersAreNotSent() throws Exception {
+        when(budgetService.getBudgetStatus(any(), any(), any())).thenReturn(status());
+        MockHttpServletResponse response = mockMvc.perform(get("/api/budgets/alerts/stream").principal(auth))
+                .andReturn().getResponse();
+        int length = response.getContentAsString().length();
+
+        alertStreamService.onThresholdCrossed(new BudgetThresholdCrossedEvent("user2", YearMonth.now(), "b2",
+                0.0, 90.0, null, alert("OVERALL", 90.0)));
+
+        assertEquals(length, response.getContentAsString().length());
+    }
+
+    @Test
+    public void testOldestStreamIsClosedBeyondTheLimit() throws Exception {
+        ReflectionTestUtils.setField(alertStreamService, "maxPerUser", 1);
+        when(budgetService.getBudgetStatus(any(), any(), any())).thenReturn(status());
+
+        mockMvc.perform(get("/api/budgets/alerts/stream").principal(auth));
+        mockMvc.perform(get("/api/budgets/alerts/stream").principal(auth));
+
+        assertEquals(1, alertStreamService.connections());
+    }
+
+    @Test
+    public void testStreamThatFallsBehindIsDroppedWithoutBlockingTheWriter() throws Exception {
+        // A sender that never gets to run: every event stays queued on the connection
+        List<Runnable> held = new ArrayList<>();
+        ReflectionTestUtils.setField(alertStreamService, "senders", (Executor) held::add);
+        ReflectionTestUtils.setField(alertStreamService, "maxBacklog", 3);
+        when(budgetService.getBudgetStatus(any(), any(), any())).thenReturn(status());
+        mockMvc.perform(get("/api/budgets/alerts/stream").principal(auth));
+        assertEquals(1, held.size());
+
+        // Snapshot plus two crossings fit, the third is one too many
+        for (int i = 0; i < 2; i++) {
+            alertStreamService.onThresholdCrossed(new BudgetThresholdCrossedEvent("user1", YearMonth.now(), "b1",
+                    0.0, 90.0, null, alert("OVERALL", 90.0)));
+        }
+        assertEquals(1, alertStreamService.connections());
+        alertStreamService.onThresholdCrossed(new BudgetThresholdCrossedEvent("user1", YearMonth.now(), "b1",
+                90.0, 100.0, alert("OVERALL", 90.0), alert("OVERALL", 100.0)));
+
+        assertEquals(0, alertStreamService.connections());
+        assertEquals(1, alertStreamService.dropped());
+        // Still one drain task for the connection, not one per event
+        assertEquals(1, held.size());
+    }
+
+    private static BudgetStatusResponse status(BudgetStatusResponse.BudgetAlert... alerts) {
+        BudgetStatusResponse status = new BudgetStatusResponse();
+        status.setAlerts(new ArrayList<>(List.of(alerts)));
+        return status;
+    }
+
+    private static BudgetStatusResponse.BudgetAlert alert(String type, double threshold) {
+        BudgetStatusResponse.BudgetAlert alert = new BudgetStatusResponse.BudgetAlert();
+        alert.setType(type);
+        alert.setThreshold(threshold);
+        alert.setSeverity("WARNING");
+        alert.setMessage("Budget is " + threshold + "% used");
+        return alert;
+    }
+}
@@ -0,0 +1,157 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchedMigrationTest {
+
+    private static final Bson FILTER = Filters.exists("user");
+
+    @InjectMocks
+    private BatchedMigration batchedMigration;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoCollection<Document> collection;
+    private MongoCollection<Document> checkpoints;
+    private FindIterable<Document> found;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(batchedMigration, "batchSize", 2);
+        collection = collection();
+        checkpoints = collection();
+        found = iterable();
+        when(mongoTemplate.getCollection("transactions")).thenReturn(collection);
+        when(mongoTemplate.getCollection("migrations")).thenReturn(checkpoints);
+        when(collection.find(any(Bson.class))).thenReturn(found);
+        when(found.projection(any())).thenReturn(found);
+        when(found.sort(any())).thenReturn(found);
+        when(found.limit(anyInt())).thenReturn(found);
+    }
+
+    @Test
+    public void testResumesAfterTheCheckpointAndMovesIt() {
+        FindIterable<Document> checkpoint = iterable();
+        when(checkpoints.find(any(Bson.class))).thenReturn(checkpoint);
+        when(checkpoint.first()).thenReturn(new Document("_id", "step").append("lastId", 5).append("processed", 10L));
+        batches(List.of(doc(6), doc(7)), List.of(doc(8)));
+
+        long processed = batchedMigration.run("step", "transactions", FILTER, null, batch -> rewrite(batch));
+
+        assertEquals(3, processed);
+        ArgumentCaptor<Bson> filters = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(3)).find(filters.capture());
+        // Only documents behind the stored _id, then behind the last one of each batch
+        assertEquals(5, gtId(filters.getAllValues().get(0)));
+        assertEquals(7, gtId(filters.getAllValues().get(1)));
+        assertEquals(8, gtId(filters.getAllValues().get(2)));
+        verify(collection, times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+
+        ArgumentCaptor<Document> saved = ArgumentCaptor.forClass(Document.class);
+        verify(checkpoints, times(2)).replaceOne(any(Bson.class), saved.capture(), any(ReplaceOptions.class));
+        assertEquals(8, saved.getValue().get("lastId"));
+        assertEquals(13L, saved.getValue().get("processed"));
+    }
+
+    @Test
+    public void testEmptyBatchWritesAreSkipped() {
+        FindIterable<Document> checkpoint = iterable();
+        when(checkpoints.find(any(Bson.class))).thenReturn(checkpoint);
+        batches(List.of(doc(1)));
+
+        batchedMigration.run("step", "transactions", FILTER, null, batch -> List.of());
+
+        verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        // The walk still moves past the batch
+        verify(checkpoints).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+    }
+
+    @Test
+    public void testSweepStartsOverWithoutTouchingCheckpoints() {
+        batches(List.of(doc(1), doc(2)), List.of(doc(3)));
+
+        long processed = batchedMigration.sweep("transactions", FILTER, null, batch -> rewrite(batch));
+
+        assertEquals(3, processed);
+        ArgumentCaptor<Bson> filters = ArgumentCaptor.forClass(Bson.class);
+        verify(collection, times(3)).find(filters.capture());
+        assertEquals(FILTER.toBsonDocument(), filters.getAllValues().get(0).toBsonDocument());
+        verifyNoInteractions(checkpoints);
+    }
+
+    @SafeVarargs
+    private void batches(List<Document>... batches) {
+        Iterator<List<Document>> next = List.of(batches).iterator();
+        when(found.into(anyList())).thenAnswer(invocation -> {
+            List<Document> into = invocation.getArgument(0);
+            if (next.hasNext()) {
+                into.addAll(next.next());
+            }
+            return into;
+        });
+    }
+
+    private static List<WriteModel<Document>> rewrite(List<Document> batch) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (Document doc : batch) {
+            writes.add(new UpdateOneModel<>(Filters.eq("_id", doc.get("_id")), Updates.set("userId", "u1")));
+        }
+        return writes;
+    }
+
+    private static int gtId(Bson filter) {
+        BsonDocument clauses = filter.toBsonDocument();
+        return clauses.getArray("$and").get(1).asDocument().getDocument("_id").getInt32("$gt").getValue();
+    }
+
+    private static Document doc(int id) {
+        return new Document("_id", id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCollection<Document> collection() {
+        return mock(MongoCollection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> iterable() {
+        return mock(FindIterable.class);
+    }
+}
@@ -0,0 +1,164 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.entity.Budget;
+import com.entity.Money;
+import com.mongodb.client.result.UpdateResult;
+
+@ExtendWith(MockitoExtension.class)
+public class BudgetAlertServiceTest {
+
+    @InjectMocks
+    private BudgetAlertService budgetAlertService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    public void testUpwardCrossingIsStoredAndReportedOnce() {
+        // 160 of 200 spent: 80%, last stored at 50%
+        Budget budget = budget("b1", null, 200.0, 160.0, 50.0);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Budget.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        budgetAlertService.evaluate(budget);
+
+        // Compare-and-set on the level that was read
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(Budget.class));
+        assertEquals(50.0, query.getValue().getQueryObject().get("alertLevel"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(75.0, set.get("alertLevel"));
+
+        ArgumentCaptor<BudgetThresholdCrossedEvent> event = ArgumentCaptor.forClass(BudgetThresholdCrossedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isUpward());
+        assertEquals(75.0, event.getValue().getLevel());
+        assertEquals("OVERALL", event.getValue().getAlert().getType());
+    }
+
+    @Test
+    public void testDownwardCrossingIsReported() {
+        // A refund took the category from 95% back to 40%
+        Budget budget = budget("b1", "food", 100.0, 40.0, 90.0);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Budget.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        budgetAlertService.evaluate(budget);
+
+        ArgumentCaptor<BudgetThresholdCrossedEvent> event = ArgumentCaptor.forClass(BudgetThresholdCrossedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertFalse(event.getValue().isUpward());
+        assertEquals(0.0, event.getValue().getLevel());
+        assertNull(event.getValue().getAlert());
+        assertEquals("food", event.getValue().getPreviousAlert().getType());
+    }
+
+    @Test
+    public void testUnchangedLevelWritesNothing() {
+        budgetAlertService.evaluate(budget("b1", null, 200.0, 170.0, 75.0));
+
+        verifyNoInteractions(mongoTemplate, eventPublisher);
+    }
+
+    @Test
+    public void testConcurrentWriterThatStoredTheSameCrossingFirstWins() {
+        Budget stale = budget("b1", null, 200.0, 185.0, 75.0);
+        // Meanwhile another write stored 90% (and reported it)
+        Budget current = budget("b1", null, 200.0, 185.0, 90.0);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Budget.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(mongoTemplate.findById("b1", Budget.class)).thenReturn(current);
+
+        budgetAlertService.evaluate(stale);
+
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(Budget.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testRebuildStoresLevelsWithoutReportingThem() {
+        // Recomputed counters: one budget moved from 50% to 80%, one is still at 75%
+        Budget moved = budget("b1", null, 200.0, 160.0, 50.0);
+        Budget unchanged = budget("b2", "food", 100.0, 80.0, 75.0);
+        when(mongoTemplate.findAll(Budget.class)).thenReturn(List.of(moved, unchanged));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Budget.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        budgetAlertService.reevaluateAll();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), update.capture(), eq(Budget.class));
+        assertEquals(75.0, ((Document) update.getValue().getUpdateObject().get("$set")).get("alertLevel"));
+        verifyNoInteractions(eventPublisher);
+
+        // The next write finds the level it would have reported already stored
+        budgetAlertService.evaluate(budget("b1", null, 200.0, 160.0, 75.0));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    public void testOnlyBudgetsOfTheWrittenMonthsAndCategoriesAreEvaluated() {
+        when(mongoTemplate.find(any(Query.class), eq(Budget.class))).thenReturn(List.of());
+
+        budgetAlertService.onTransactionsChanged(
+                new TransactionsChangedEvent("user1", Set.of(YearMonth.of(2025, 3)), Set.of("food")));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Budget.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(3, filter.get("month"));
+        assertEquals(Arrays.asList("food", null), ((Document) filter.get("categoryId")).get("$in"));
+    }
+
+    private static Budget budget(String id, String categoryId, double limit, double spent, Double level) {
+        Budget budget = new Budget();
+        budget.setId(id);
+        budget.setUserId("user1");
+        budget.setCategoryId(categoryId);
+        budget.setYear(2025);
+        budget.setMonth(3);
+        budget.setMonthlyLimit(Money.of(limit));
+        budget.setSpent(Money.of(spent));
+        budget.setAlertLevel(level);
+        if (level != null && level > 0) {
+            budget.setAlert(BudgetService.alertFor(categoryId == null ? "OVERALL" : categoryId, level, limit, spent));
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,169 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.entity.Budget;
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+
+@ExtendWith(MockitoExtension.class)
+public class BudgetReservationServiceTest {
+
+    @InjectMocks
+    private BudgetReservationService reservationService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private Budget overall;
+    private Budget food;
+
+    @BeforeEach
+    public void setUp() {
+        overall = budget("b0", null, 500.0, 120.0);
+        food = budget("b1", "cat1", 100.0, 90.0);
+        food.setCategoryName("Food");
+        food.setPreventExceed(true);
+    }
+
+    @Test
+    public void testReserve_IncrementsOnlyWhenTheBudgetHasRoom() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Budget.class)))
+                .thenReturn(overall, food);
+
+        BudgetService.BudgetValidationResult result = reservationService.reserve("user1", expense(10.0, "cat1"));
+
+        assertTrue(result.isAllowed());
+        assertNull(result.getMessage());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2))
+                .findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class), eq(Budget.class));
+        Document categoryQuery = query.getAllValues().get(1).getQueryObject();
+        assertEquals("cat1", categoryQuery.get("categoryId"));
+        assertTrue(categoryQuery.toJson().contains("$monthlyLimit"));
+        assertEquals(1000L, ((Document) update.getValue().getUpdateObject().get("$inc")).get("spent"));
+    }
+
+    @Test
+    public void testReserve_RejectedCategoryGivesBackTheOverallIncrement() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Budget.class)))
+                .thenReturn(overall, (Budget) null);
+        when(mongoTemplate.findOne(any(Query.class), eq(Budget.class))).thenReturn(food);
+
+        BudgetService.BudgetValidationResult result = reservationService.reserve("user1", expense(20.0, "cat1"));
+
+        assertFalse(result.isAllowed());
+        assertEquals("Expense would exceed category budget: Food", result.getMessage());
+        ArgumentCaptor<Update> compensation = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), compensation.capture(), eq(Budget.class));
+        assertEquals(-2000L, ((Document) compensation.getValue().getUpdateObject().get("$inc")).get("spent"));
+    }
+
+    @Test
+    public void testReserve_NoBudgetsAllowsWithoutCompensation() {
+        BudgetService.BudgetValidationResult result = reservationService.reserve("user1", expense(20.0, null));
+
+        assertTrue(result.isAllowed());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Budget.class));
+    }
+
+    @Test
+    public void testReserveBatch_OneConditionalIncrementPerBudget() {
+        food.setPreventExceed(false);
+        Budget overallAfter = budget("b0", null, 500.0, 137.0);
+        Budget foodAfter = budget("b1", "cat1", 100.0, 105.0);
+        foodAfter.setCategoryName("Food");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Budget.class)))
+                .thenReturn(overallAfter, foodAfter);
+
+        List<BudgetService.BudgetValidationResult> results = reservationService.reserve("user1", List.of(
+                expense(5.0, "cat1"), expense(5.0, "cat1"), expense(2.0, null), expense(5.0, "cat1")));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2))
+                .findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(Budget.class));
+        assertEquals(1700L, ((Document) update.getAllValues().get(0).getUpdateObject().get("$inc")).get("spent"));
+        assertEquals(1500L, ((Document) update.getAllValues().get(1).getUpdateObject().get("$inc")).get("spent"));
+        // Replayed from 90.00: only the row that took Food past 100.00 is warned about
+        assertNull(results.get(0).getMessage());
+        assertNull(results.get(1).getMessage());
+        assertNull(results.get(2).getMessage());
+        assertEquals("Warning: Expense exceeds category budget: Food", results.get(3).getMessage());
+    }
+
+    @Test
+    public void testReserveBatch_FullBudgetFallsBackToRowByRow() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Budget.class)))
+                .thenReturn(overall, null, overall, food, overall, food, overall, null);
+        when(mongoTemplate.findOne(any(Query.class), eq(Budget.class))).thenReturn(food);
+
+        List<BudgetService.BudgetValidationResult> results = reservationService.reserve("user1", List.of(
+                expense(5.0, "cat1"), expense(5.0, "cat1"), expense(5.0, "cat1")));
+
+        assertTrue(results.get(0).isAllowed());
+        assertTrue(results.get(1).isAllowed());
+        assertFalse(results.get(2).isAllowed());
+        ArgumentCaptor<Update> compensation = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), compensation.capture(), eq(Budget.class));
+        // The batch total taken from the overall budget, then the rejected row's share
+        assertEquals(-1500L, ((Document) compensation.getAllValues().get(0).getUpdateObject().get("$inc")).get("spent"));
+        assertEquals(-500L, ((Document) compensation.getAllValues().get(1).getUpdateObject().get("$inc")).get("spent"));
+    }
+
+    @Test
+    public void testRelease_DecrementsOverallAndCategoryBudgetsInOneUpdate() {
+        reservationService.release("user1", expense(20.0, "cat1"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(Budget.class));
+        assertTrue(query.getValue().getQueryObject().toJson().contains("\"$in\": [null, \"cat1\"]"));
+        assertEquals(-2000L, ((Document) update.getValue().getUpdateObject().get("$inc")).get("spent"));
+    }
+
+    private static Transaction expense(double amount, String categoryId) {
+        Transaction tx = new Transaction();
+        tx.setType(TransactionType.EXPENSE);
+        tx.setAmount(Money.of(amount));
+        tx.setDate(LocalDate.of(2024, 5, 10));
+        tx.setCategoryId(categoryId);
+        return tx;
+    }
+
+    private static Budget budget(String id, String categoryId, double limit, double spent) {
+        Budget budget = new Budget();
+        budget.setId(id);
+        budget.setCategoryId(categoryId);
+        budget.setMonthlyLimit(Money.of(limit));
+        budget.setSpent(Money.of(spent));
+        return budget;
+    }
+}
@@ -1,15 +1,18 @@
 package com.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,13 +21,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.dto.BudgetStatusResponse;
+import com.dto.CategoryTypeTotal;
+import com.dto.MonthlySummaryResponse;
 import com.entity.Budget;
 import com.entity.Category;
-import com.entity.Transaction;
+import com.entity.Money;
+import com.entity.MonthlySnapshot;
+import com.entity.TransactionType;
 import com.entity.User;
 import com.repository.BudgetRepository;
 import com.repository.CategoryRepository;
-import com.repository.TransactionRepository;
 
 @ExtendWith(MockitoExtension.class)
 public class BudgetServiceTest {
@@ -36,11 +42,14 @@ public class BudgetServiceTest {
     private BudgetRepository budgetRepository;
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private RollupService rollupService;
 
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private SnapshotService snapshotService;
+
     @Test
     public void testGetBudgetStatus_NetSpendCalculation() {
         User user = new User();
@@ -48,21 +57,15 @@ public class BudgetServiceTest {
 
         // Mock Budget
         Budget budget = new Budget();
-        budget.setMonthlyLimit(200.0);
-        when(budgetRepository.findByUserAndYearAndMonthAndCategoryIsNull(any(), any(), any()))
-                .thenReturn(Optional.of(budget));
-
-        // Mock Transactions (Expense and Income)
-        Transaction expense = new Transaction();
-        expense.setType("EXPENSE");
-        expense.setAmount(100.0);
-        
-        Transaction income = new Transaction();
-        income.setType("INCOME"); // Refund
-        income.setAmount(20.0);
+        budget.setMonthlyLimit(Money.of(200.0));
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any()))
+                .thenReturn(Arrays.asList(budget));
 
-        when(transactionRepository.findByUserAndDateBetween(any(), any(), any()))
-                .thenReturn(Arrays.asList(expense, income));
+        // Mock aggregated totals (Expense and Income)
+        when(rollupService.getMonthlyTotals(any(), any()))
+                .thenReturn(MonthlyTotals.from(Arrays.asList(
+                        new CategoryTypeTotal(null, TransactionType.EXPENSE, 10000, 1),
+                        new CategoryTypeTotal(null, TransactionType.INCOME, 2000, 1)))); // Refund
 
         // Execute
         BudgetStatusResponse response = budgetService.getBudgetStatus(user, 2024, 5);
@@ -83,28 +86,18 @@ public class BudgetServiceTest {
 
         // Mock Category Budget
         Budget catBudget = new Budget();
-        catBudget.setCategory(cat);
-        catBudget.setMonthlyLimit(100.0);
+        catBudget.setCategoryId(cat.getId());
+        catBudget.setCategoryName(cat.getName());
+        catBudget.setMonthlyLimit(Money.of(100.0));
         
-        when(budgetRepository.findByUserAndYearAndMonthAndCategoryIsNotNull(any(), any(), any()))
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any()))
                 .thenReturn(Arrays.asList(catBudget));
 
-        // Mock Transactions
-        Transaction expense = new Transaction();
-        expense.setType("EXPENSE");
-        expense.setAmount(50.0);
-        expense.setCategory(cat);
-        
-        Transaction income = new Transaction();
-        income.setType("INCOME");
-        income.setAmount(10.0);
-        income.setCategory(cat);
-
-        when(transactionRepository.findByUserAndDateBetween(any(), any(), any()))
-                .thenReturn(Arrays.asList(expense, income));
-                
-        when(transactionRepository.findByUserAndCategoryAndDateBetween(any(), eq(cat), any(), any()))
-                .thenReturn(Arrays.asList(expense, income));
+        // Mock aggregated totals
+        when(rollupService.getMonthlyTotals(any(), any()))
+                .thenReturn(MonthlyTotals.from(Arrays.asList(
+                        new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 5000, 1),
+                        new CategoryTypeTotal("cat1", TransactionType.INCOME, 1000, 1))));
 
         // Execute
         BudgetStatusResponse response = budgetService.getBudgetStatus(user, 2024, 5);
@@ -114,4 +107,192 @@ public class BudgetServiceTest {
         assertEquals(40.0, status.getSpent());
         assertEquals(60.0, status.getRemaining());
     }
+
+    @Test
+    public void testGetBudgetStatus_SingleAggregationForAllCategoryBudgets() {
+        User user = new User();
+        user.setId("user1");
+
+        List<Budget> budgets = new ArrayList<>();
+        List<CategoryTypeTotal> totals = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Category cat = new Category();
+            cat.setId("cat" + i);
+            cat.setName("Category " + i);
+
+            Budget catBudget = new Budget();
+            catBudget.setCategoryId(cat.getId());
+            catBudget.setCategoryName(cat.getName());
+            catBudget.setMonthlyLimit(Money.of(100.0));
+            budgets.add(catBudget);
+
+            totals.add(new CategoryTypeTotal(cat.getId(), TransactionType.EXPENSE, i * 100L, 1));
+        }
+
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any())).thenReturn(budgets);
+        when(rollupService.getMonthlyTotals(any(), any())).thenReturn(MonthlyTotals.from(totals));
+
+        BudgetStatusResponse response = budgetService.getBudgetStatus(user, 2024, 5);
+
+        assertEquals(30, response.getCategoryBudgets().size());
+        assertEquals(29.0, response.getCategoryBudgets().get(29).getSpent());
+        assertEquals(435.0, response.getOverallSpent());
+        verify(rollupService, times(1)).getMonthlyTotals(any(), any());
+        verifyNoMoreInteractions(rollupService);
+    }
+
+    @Test
+    public void testGetMonthlySummary_ReportsMajorUnits() {
+        User user = new User();
+        user.setId("user1");
+
+        Category cat = new Category();
+        cat.setId("cat1");
+        cat.setName("Food");
+
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any()))
+                .thenReturn(new ArrayList<>());
+        when(categoryRepository.findAllById(any())).thenReturn(Arrays.asList(cat));
+        when(rollupService.getMonthlyTotals(any(), any()))
+                .thenReturn(MonthlyTotals.from(Arrays.asList(
+                        new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 2550, 2),
+                        new CategoryTypeTotal(null, TransactionType.INCOME, 10000, 1))));
+
+        MonthlySummaryResponse response = budgetService.getMonthlySummary(user, 2024, 5);
+
+        assertEquals(100.0, response.getTotalIncome());
+        assertEquals(25.5, response.getTotalExpenses());
+        assertEquals(74.5, response.getSavings());
+        assertEquals(25.5, response.getCategoryExpenses().get(0).getAmount());
+        assertEquals("Food", response.getCategoryExpenses().get(0).getCategoryName());
+    }
+
+    @Test
+    public void testGetMonthlySummary_SharesOneFetchWithBudgetStatus() {
+        User user = new User();
+        user.setId("user1");
+
+        Budget overall = new Budget();
+        overall.setMonthlyLimit(Money.of(50.0));
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any()))
+                .thenReturn(Arrays.asList(overall));
+        when(categoryRepository.findAllById(any())).thenReturn(new ArrayList<>());
+        when(rollupService.getMonthlyTotals(any(), any()))
+                .thenReturn(MonthlyTotals.from(Arrays.asList(
+                        new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 4000, 3))));
+
+        MonthlySummaryResponse response = budgetService.getMonthlySummary(user, 2024, 5);
+
+        assertEquals(40.0, response.getTotalExpenses());
+        assertEquals(40.0, response.getBudgetStatus().getOverallSpent());
+        assertEquals(10.0, response.getBudgetStatus().getOverallRemaining());
+        verify(rollupService, times(1)).getMonthlyTotals(any(), any());
+        verify(budgetRepository, times(1)).findByUserIdAndYearAndMonth(any(), any(), any());
+    }
+
+    @Test
+    public void testClosedMonth_ServedFromFreshSnapshot() {
+        User user = new User();
+        user.setId("user1");
+
+        MonthlySummaryResponse stored = new MonthlySummaryResponse();
+        stored.setBudgetStatus(new BudgetStatusResponse());
+        MonthlySnapshot snapshot = new MonthlySnapshot();
+        snapshot.setSummary(stored);
+        when(snapshotService.appliesTo(YearMonth.of(2024, 5))).thenReturn(true);
+        when(snapshotService.find("user1", YearMonth.of(2024, 5))).thenReturn(snapshot);
+
+        assertSame(stored, budgetService.getMonthlySummary(user, 2024, 5));
+        assertSame(stored.getBudgetStatus(), budgetService.getBudgetStatus(user, 2024, 5));
+        verifyNoInteractions(budgetRepository, rollupService, categoryRepository);
+    }
+
+    @Test
+    public void testClosedMonth_StaleSnapshotIsRecomputedAndStored() {
+        User user = new User();
+        user.setId("user1");
+
+        MonthlySnapshot stale = new MonthlySnapshot();
+        stale.setStale(true);
+        stale.setVersion(3);
+        when(snapshotService.appliesTo(YearMonth.of(2024, 5))).thenReturn(true);
+        when(snapshotService.find("user1", YearMonth.of(2024, 5))).thenReturn(stale);
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any())).thenReturn(new ArrayList<>());
+        when(categoryRepository.findAllById(any())).thenReturn(new ArrayList<>());
+        when(rollupService.getMonthlyTotals(any(), any()))
+                .thenReturn(MonthlyTotals.from(Arrays.asList(
+                        new CategoryTypeTotal(null, TransactionType.EXPENSE, 1500, 1))));
+
+        MonthlySummaryResponse summary = budgetService.getMonthlySummary(user, 2024, 5);
+
+        assertEquals(15.0, summary.getTotalExpenses());
+        verify(snapshotService).save("user1", YearMonth.of(2024, 5), stale, summary);
+    }
+
+    @Test
+    public void testCarriedOverAmountRaisesTheEffectiveLimit() {
+        User user = new User();
+        user.setId("user1");
+
+        // 200 limit + 50 carried over from last month, 225 spent: 90%, not exceeded
+        Budget budget = new Budget();
+        budget.setMonthlyLimit(Money.of(200.0));
+        budget.setCarriedOver(Money.of(50.0));
+        budget.setCategoryId(null);
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any())).thenReturn(List.of(budget));
+        MonthlyTotals totals = MonthlyTotals.from(Arrays.asList(
+                new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 22500, 1)));
+        when(rollupService.getMonthlyTotals(any(), any())).thenReturn(totals);
+
+        BudgetStatusResponse status = budgetService.getBudgetStatus(user, 2024, 5);
+
+        assertEquals(250.0, status.getOverallBudget());
+        assertEquals(50.0, status.getOverallCarriedOver());
+        assertEquals(25.0, status.getOverallRemaining());
+        assertEquals(90.0, status.getOverallUsagePercentage(), 0.001);
+
+        budget.setPreventExceed(true);
+        assertEquals(true, BudgetService.checkExpense(budget, null, totals, "cat1", 2500).isAllowed());
+        assertEquals(false, BudgetService.checkExpense(budget, null, totals, "cat1", 2501).isAllowed());
+    }
+
+    @Test
+    public void testCheckExpenseClampsIncomeHeavyMonthsLikeTheReservation() {
+        // 300 income, 50 spent: net -250, which must not leave room beyond the 100 limit
+        Budget budget = new Budget();
+        budget.setMonthlyLimit(Money.of(100.0));
+        budget.setPreventExceed(true);
+        MonthlyTotals totals = MonthlyTotals.from(Arrays.asList(
+                new CategoryTypeTotal(null, TransactionType.INCOME, 30000, 1),
+                new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 5000, 1)));
+
+        assertEquals(true, BudgetService.checkExpense(budget, null, totals, "cat1", 10000).isAllowed());
+        assertEquals(false, BudgetService.checkExpense(budget, null, totals, "cat1", 10001).isAllowed());
+    }
+
+    @Test
+    public void testStatusServesStoredAlertState() {
+        User user = new User();
+        user.setId("user1");
+
+        // Evaluated on write: 80% reached; the stored alert is served as is
+        BudgetStatusResponse.BudgetAlert stored = BudgetService.alertFor("OVERALL", 80.0, 200.0, 160.0);
+        Budget budget = new Budget();
+        budget.setMonthlyLimit(Money.of(200.0));
+        budget.setAlertLevel(75.0);
+        budget.setAlert(stored);
+        // A category budget evaluated below 50%
+        Budget category = new Budget();
+        category.setCategoryId("cat1");
+        category.setMonthlyLimit(Money.of(10.0));
+        category.setAlertLevel(0.0);
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any())).thenReturn(List.of(budget, category));
+        when(rollupService.getMonthlyTotals(any(), any())).thenReturn(MonthlyTotals.from(Arrays.asList(
+                new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 16000, 1))));
+
+        BudgetStatusResponse status = budgetService.getBudgetStatus(user, 2024, 5);
+
+        assertEquals(1, status.getAlerts().size());
+        assertSame(stored, status.getAlerts().get(0));
+    }
 }
@@ -0,0 +1,164 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+@ExtendWith(MockitoExtension.class)
+public class DbRefMigrationServiceTest {
+
+    @InjectMocks
+    private DbRefMigrationService migrationService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BatchedMigration batchedMigration;
+
+    @Test
+    public void testCopySetsIdsAndCategoryNameFromTheDbRefs() {
+        ObjectId userId = new ObjectId();
+        ObjectId foodId = new ObjectId();
+        MongoCollection<Document> categories = collection();
+        FindIterable<Document> names = iterable(List.of(new Document("_id", foodId).append("name", "Food")));
+        when(mongoTemplate.getCollection("categories")).thenReturn(categories);
+        when(categories.find(any(Bson.class))).thenReturn(names);
+        when(names.projection(any())).thenReturn(names);
+
+        migrationService.copyIds();
+
+        Function<List<Document>, List<WriteModel<Document>>> handler = handler("dbref-to-ids:transactions");
+        List<WriteModel<Document>> writes = handler.apply(List.of(
+                new Document("_id", 1).append("user", new DBRef("users", userId))
+                        .append("category", new DBRef("categories", foodId)),
+                new Document("_id", 2).append("user", new DBRef("users", userId)).append("category", null)));
+
+        assertEquals(2, writes.size());
+        BsonDocument categorized = set(writes.get(0));
+        assertEquals(userId.toHexString(), categorized.getString("userId").getValue());
+        assertEquals(foodId.toHexString(), categorized.getString("categoryId").getValue());
+        assertEquals("Food", categorized.getString("categoryName").getValue());
+        BsonDocument uncategorized = set(writes.get(1));
+        assertEquals(userId.toHexString(), uncategorized.getString("userId").getValue());
+        assertTrue(uncategorized.get("categoryId").isNull());
+    }
+
+    @Test
+    public void testCopyOfCategoriesSetsOnlyTheUserId() {
+        ObjectId userId = new ObjectId();
+
+        migrationService.copyIds();
+
+        List<WriteModel<Document>> writes = handler("dbref-to-ids:categories")
+                .apply(List.of(new Document("_id", 1).append("user", new DBRef("users", userId))));
+
+        BsonDocument set = set(writes.get(0));
+        assertEquals(userId.toHexString(), set.getString("userId").getValue());
+        assertFalse(set.containsKey("categoryId"));
+    }
+
+    @Test
+    public void testDropRefusesWhileDocumentsStillLackTheirUserId() {
+        MongoCollection<Document> categories = counting(0);
+        MongoCollection<Document> transactions = counting(3);
+        when(mongoTemplate.getCollection("categories")).thenReturn(categories);
+        when(mongoTemplate.getCollection("transactions")).thenReturn(transactions);
+
+        assertThrows(IllegalStateException.class, () -> migrationService.dropLegacy());
+
+        // Swept first, then nothing dropped
+        verify(batchedMigration, times(3)).sweep(anyString(), any(), any(), any());
+        verify(batchedMigration, never()).run(anyString(), anyString(), any(), any(), any());
+        verify(transactions, never()).dropIndex(anyString());
+    }
+
+    @Test
+    public void testDropSweepsEveryCollectionBeforeUnsetting() {
+        MongoCollection<Document> categories = counting(0);
+        MongoCollection<Document> transactions = counting(0);
+        MongoCollection<Document> budgets = counting(0);
+        when(mongoTemplate.getCollection("categories")).thenReturn(categories);
+        when(mongoTemplate.getCollection("transactions")).thenReturn(transactions);
+        when(mongoTemplate.getCollection("budgets")).thenReturn(budgets);
+
+        migrationService.dropLegacy();
+
+        InOrder order = inOrder(batchedMigration, budgets);
+        order.verify(batchedMigration).sweep(eq("budgets"), any(), any(), any());
+        order.verify(budgets).countDocuments(any(Bson.class));
+        order.verify(budgets).dropIndex("user_year_month_category_idx");
+        order.verify(batchedMigration).run(eq("dbref-drop:budgets"), eq("budgets"), any(), any(), any());
+    }
+
+    private Function<List<Document>, List<WriteModel<Document>>> handler(String checkpointId) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Function<List<Document>, List<WriteModel<Document>>>> handler =
+                ArgumentCaptor.forClass(Function.class);
+        verify(batchedMigration).run(eq(checkpointId), anyString(), any(), any(), handler.capture());
+        return handler.getValue();
+    }
+
+    private static BsonDocument set(WriteModel<Document> write) {
+        return ((UpdateOneModel<Document>) write).getUpdate().toBsonDocument().getDocument("$set");
+    }
+
+    private static MongoCollection<Document> counting(long missing) {
+        MongoCollection<Document> collection = collection();
+        when(collection.countDocuments(any(Bson.class))).thenReturn(missing);
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCollection<Document> collection() {
+        return mock(MongoCollection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> iterable(List<Document> docs) {
+        FindIterable<Document> iterable = mock(FindIterable.class);
+        lenient().when(iterable.iterator()).thenAnswer(invocation -> {
+            Iterator<Document> it = docs.iterator();
+            MongoCursor<Document> cursor = mock(MongoCursor.class);
+            lenient().when(cursor.hasNext()).thenAnswer(i -> it.hasNext());
+            lenient().when(cursor.next()).thenAnswer(i -> it.next());
+            return cursor;
+        });
+        return iterable;
+    }
+}
@@ -0,0 +1,53 @@
+package com.service;
+
+import static org.mockito.Mockito.inOrder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class DerivedStateServiceTest {
+
+    @InjectMocks
+    private DerivedStateService derivedStateService;
+
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private BudgetReservationService budgetReservationService;
+
+    @Mock
+    private RolloverService rolloverService;
+
+    @Mock
+    private BudgetAlertService budgetAlertService;
+
+    @Mock
+    private SnapshotService snapshotService;
+
+    @Mock
+    private TrendService trendService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Test
+    public void testRebuildAllRunsInDependencyOrderAndBumpsVersionsLast() {
+        derivedStateService.rebuildAll();
+
+        InOrder order = inOrder(rollupService, budgetReservationService, rolloverService,
+                budgetAlertService, snapshotService, trendService, dataVersionService);
+        order.verify(rollupService).rebuildAll();
+        order.verify(budgetReservationService).recomputeAll();
+        order.verify(rolloverService).recomputeAll();
+        order.verify(budgetAlertService).reevaluateAll();
+        order.verify(snapshotService).invalidateAll();
+        order.verify(trendService).invalidateAll();
+        order.verify(dataVersionService).bumpAll();
+    }
+}
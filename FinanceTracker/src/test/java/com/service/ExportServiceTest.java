@@ -0,0 +1,80 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.entity.Category;
+import com.entity.User;
+import com.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ExportServiceTest {
+
+    @InjectMocks
+    private ExportService exportService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Test
+    public void testWriteRow_ResolvesCategoryNamesFromCacheOnce() throws Exception {
+        User user = new User();
+        user.setId("user1");
+
+        Category food = new Category();
+        food.setId("cat1");
+        food.setName("Food");
+        Category shared = new Category();
+        shared.setId("cat2");
+        shared.setName("Shared");
+
+        when(categoryRepository.findByUserId(any())).thenReturn(List.of(food));
+        when(categoryRepository.findById("cat2")).thenReturn(Optional.of(shared));
+
+        ExportService.CategoryNames names = exportService.new CategoryNames(user);
+        Date date = Date.from(LocalDate.of(2024, 5, 3).atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        try (SXSSFWorkbook wb = new SXSSFWorkbook(10)) {
+            Sheet sheet = wb.createSheet("transactions");
+            for (int i = 0; i < 50; i++) {
+                Document tx = new Document("_id", new ObjectId())
+                        .append("amount", 12.5)
+                        .append("type", "EXPENSE")
+                        .append("date", date)
+                        .append("categoryId", i % 2 == 0 ? "cat1" : "cat2");
+                ExportService.writeRow(sheet.createRow(i), tx, names);
+            }
+
+            // Only the last rows of the window stay in memory
+            Row last = sheet.getRow(49);
+            assertEquals(12.5, last.getCell(1).getNumericCellValue());
+            assertEquals("2024-05-03", last.getCell(3).getStringCellValue());
+            assertEquals("Shared", last.getCell(5).getStringCellValue());
+            assertEquals("Food", sheet.getRow(48).getCell(5).getStringCellValue());
+            wb.dispose();
+        }
+
+        verify(categoryRepository, times(1)).findByUserId(any());
+        verify(categoryRepository, times(1)).findById("cat2");
+    }
+}
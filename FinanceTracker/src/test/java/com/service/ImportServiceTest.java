@@ -0,0 +1,185 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dto.BudgetStatusResponse;
+import com.dto.ImportResult;
+import com.entity.Budget;
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.repository.BudgetRepository;
+import com.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportServiceTest {
+
+    @InjectMocks
+    private ImportService importService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private BudgetReservationService budgetReservationService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        ReflectionTestUtils.setField(importService, "maxRows", 100);
+        user = new User();
+        user.setId("user1");
+
+        Category food = new Category();
+        food.setId("cat1");
+        food.setName("Food");
+        when(categoryRepository.findByUserId("user1")).thenReturn(List.of(food));
+        when(mongoTemplate.bulkOps(eq(BulkMode.UNORDERED), eq(Transaction.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    @Test
+    public void testImportCsv_ReadsExportLayoutAndReportsEveryRow() throws Exception {
+        String csv = "ID,Amount,Type,Date,Note,Category\r\n"
+                + ",12.50,expense,2024-05-03,\"Lunch, with \"\"team\"\"\",food\r\n"
+                + ",abc,EXPENSE,2024-05-03,,Food\r\n"
+                + ",100,INCOME,2024-05-04,Salary,\r\n"
+                + ",5,EXPENSE,2024-05-05,,Travel\r\n";
+
+        ImportResult result = importService.importCsv(user, new StringReader(csv));
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getAccepted());
+        assertEquals(2, result.getRejected());
+        ImportResult.RowResult first = result.getRows().get(0);
+        assertEquals(ImportResult.RowResult.ACCEPTED, first.getStatus());
+        assertNotNull(first.getId());
+        assertEquals("Invalid amount", result.getRows().get(1).getMessage());
+        assertEquals("Category not found: Travel", result.getRows().get(3).getMessage());
+
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        Transaction lunch = inserted.getValue().get(0);
+        assertEquals("Lunch, with \"team\"", lunch.getNote());
+        assertEquals("cat1", lunch.getCategoryId());
+        assertEquals("Food", lunch.getCategoryName());
+        assertEquals(TransactionType.EXPENSE, lunch.getType());
+        assertEquals("user1", lunch.getUserId());
+    }
+
+    @Test
+    public void testImportTransactions_ValidatesAgainstRunningTotals() {
+        Budget budget = new Budget();
+        budget.setMonthlyLimit(Money.of(100.0));
+        budget.setPreventExceed(true);
+        when(budgetRepository.findByUserIdAndYearAndMonth("user1", 2024, 5)).thenReturn(List.of(budget));
+        when(rollupService.getMonthlyTotals(any(), eq(YearMonth.of(2024, 5)))).thenReturn(new MonthlyTotals());
+
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(transaction(TransactionType.EXPENSE, 40.0, LocalDate.of(2024, 5, 1 + i)));
+        }
+
+        ImportResult result = importService.importTransactions(user, rows);
+
+        assertEquals(2, result.getAccepted());
+        assertEquals("Expense would exceed overall monthly budget", result.getRows().get(2).getMessage());
+        assertNull(result.getRows().get(2).getId());
+        // Budgets and totals are read once for the month, not once per row
+        verify(budgetRepository, times(1)).findByUserIdAndYearAndMonth(any(), any(), any());
+        verify(rollupService, times(1)).getMonthlyTotals(any(), any());
+    }
+
+    @Test
+    public void testImportTransactions_WritesInBatches() {
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(transaction(TransactionType.INCOME, 10.0, LocalDate.of(2024, 5, 1)));
+        }
+
+        ImportResult result = importService.importTransactions(user, rows);
+
+        assertEquals(5, result.getAccepted());
+        verify(bulkOperations, times(3)).execute();
+        verify(rollupService, times(3)).onCreated(anyList());
+        verify(budgetReservationService, times(3)).apply(eq("user1"), anyList());
+    }
+
+    @Test
+    public void testImportTransactions_ReservesEachBatchAgainstTheCounters() {
+        when(budgetReservationService.isEnabled()).thenReturn(true);
+        when(budgetReservationService.reserve(eq("user1"), anyList())).thenReturn(List.of(
+                new BudgetService.BudgetValidationResult(true, null, null),
+                new BudgetService.BudgetValidationResult(false, "Expense would exceed overall monthly budget",
+                        BudgetStatusResponse.BudgetStatus.EXCEEDED)));
+
+        ImportResult result = importService.importTransactions(user, List.of(
+                transaction(TransactionType.EXPENSE, 40.0, LocalDate.of(2024, 5, 1)),
+                transaction(TransactionType.EXPENSE, 80.0, LocalDate.of(2024, 5, 2))));
+
+        assertEquals(1, result.getAccepted());
+        assertEquals("Expense would exceed overall monthly budget", result.getRows().get(1).getMessage());
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        // Already counted by the reservation; no in-memory totals
+        verify(budgetReservationService, never()).apply(any(), anyList());
+        verifyNoInteractions(budgetRepository);
+    }
+
+    private static Transaction transaction(TransactionType type, double amount, LocalDate date) {
+        Transaction tx = new Transaction();
+        tx.setType(type);
+        tx.setAmount(Money.of(amount));
+        tx.setDate(date);
+        return tx;
+    }
+}
@@ -0,0 +1,128 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+@ExtendWith(MockitoExtension.class)
+public class MoneyMigrationServiceTest {
+
+    @InjectMocks
+    private MoneyMigrationService migrationService;
+
+    @Mock
+    private BatchedMigration batchedMigration;
+
+    @Mock
+    private DerivedStateService derivedStateService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    public void testTransactionsGetMinorUnitsAndUpperCaseTypes() {
+        migrationService.convertAmounts();
+
+        List<WriteModel<Document>> writes = handler("money-minor-units:transactions").apply(List.of(
+                new Document("_id", 1).append("amount", 12.5).append("type", "expense"),
+                new Document("_id", 2).append("amount", 1000L).append("type", "income"),
+                new Document("_id", 3).append("amount", 0.1 + 0.2).append("type", "EXPENSE")));
+
+        assertEquals(3, writes.size());
+        BsonDocument first = set(writes.get(0));
+        assertEquals(1250L, first.getInt64("amount").getValue());
+        assertEquals("EXPENSE", first.getString("type").getValue());
+        // Already in minor units: only the type is rewritten
+        BsonDocument second = set(writes.get(1));
+        assertFalse(second.containsKey("amount"));
+        assertEquals("INCOME", second.getString("type").getValue());
+        // Rounded to the cent, type left alone
+        BsonDocument third = set(writes.get(2));
+        assertEquals(30L, third.getInt64("amount").getValue());
+        assertFalse(third.containsKey("type"));
+    }
+
+    @Test
+    public void testBudgetLimitsGetMinorUnits() {
+        migrationService.convertAmounts();
+
+        List<WriteModel<Document>> writes = handler("money-minor-units:budgets").apply(List.of(
+                new Document("_id", 1).append("monthlyLimit", 250.0),
+                new Document("_id", 2).append("monthlyLimit", 25000L)));
+
+        assertEquals(1, writes.size());
+        assertEquals(25000L, set(writes.get(0)).getInt64("monthlyLimit").getValue());
+    }
+
+    @Test
+    public void testRebuildDerivedRunsOnce() {
+        MongoCollection<Document> checkpoints = collection();
+        FindIterable<Document> found = iterable();
+        when(mongoTemplate.getCollection("migrations")).thenReturn(checkpoints);
+        when(checkpoints.find(any(Bson.class))).thenReturn(found);
+        when(found.first()).thenReturn(null, new Document("_id", "money-minor-units:derived-rebuilt"));
+
+        assertTrue(migrationService.rebuildDerived());
+        verify(derivedStateService).rebuildAll();
+        verify(checkpoints).replaceOne(any(Bson.class), any(Document.class), any(ReplaceOptions.class));
+
+        assertFalse(migrationService.rebuildDerived());
+        verify(derivedStateService).rebuildAll();
+    }
+
+    @Test
+    public void testDerivedCountersAreNotConvertedInPlace() {
+        migrationService.convertAmounts();
+
+        verify(batchedMigration, never()).run(any(), eq("monthly_rollups"), any(), any(), any());
+    }
+
+    private Function<List<Document>, List<WriteModel<Document>>> handler(String checkpointId) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Function<List<Document>, List<WriteModel<Document>>>> handler =
+                ArgumentCaptor.forClass(Function.class);
+        verify(batchedMigration).run(eq(checkpointId), anyString(), any(), any(), handler.capture());
+        return handler.getValue();
+    }
+
+    private static BsonDocument set(WriteModel<Document> write) {
+        return ((UpdateOneModel<Document>) write).getUpdate().toBsonDocument().getDocument("$set");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCollection<Document> collection() {
+        return mock(MongoCollection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> iterable() {
+        return mock(FindIterable.class);
+    }
+}
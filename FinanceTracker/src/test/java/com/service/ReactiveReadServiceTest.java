@@ -0,0 +1,160 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dto.BudgetStatusResponse;
+import com.dto.CategoryTypeTotal;
+import com.dto.MonthlySummaryResponse;
+import com.entity.Budget;
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.repository.ReactiveBudgetRepository;
+import com.repository.ReactiveCategoryRepository;
+import com.repository.ReactiveMonthlyRollupRepository;
+import com.repository.ReactiveTransactionRepository;
+
+import reactor.core.publisher.Flux;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveReadServiceTest {
+
+    private static final YearMonth MAY = YearMonth.of(2024, 5);
+
+    @InjectMocks
+    private ReactiveReadService readService;
+
+    @Mock
+    private ReactiveBudgetRepository budgetRepository;
+
+    @Mock
+    private ReactiveCategoryRepository categoryRepository;
+
+    @Mock
+    private ReactiveMonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private ReactiveTransactionRepository transactionRepository;
+
+    @Mock
+    private RollupService rollupService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    public void setUp() {
+        user.setId("user1");
+        ReflectionTestUtils.setField(readService, "rollupsEnabled", true);
+        ReflectionTestUtils.setField(readService, "rollupsBackfilled", true);
+        ReflectionTestUtils.setField(readService, "batchSize", 500);
+    }
+
+    @Test
+    public void testBudgetStatusMatchesServletStack() {
+        Budget overall = new Budget();
+        overall.setMonthlyLimit(Money.of(200.0));
+        Budget food = new Budget();
+        food.setCategoryId("cat1");
+        food.setCategoryName("Food");
+        food.setMonthlyLimit(Money.of(100.0));
+
+        when(budgetRepository.findByUserIdAndYearAndMonth("user1", 2024, 5)).thenReturn(Flux.just(overall, food));
+        when(rollupRepository.findByUserIdAndYearAndMonth("user1", 2024, 5))
+                .thenReturn(Flux.just(rollup("cat1", 1000, 5000), rollup(null, 0, 5000)));
+
+        BudgetStatusResponse response = readService.getBudgetStatus(user, MAY).block();
+
+        // Same numbers BudgetService reports from the same data: (100 - 10) spent of 200
+        BudgetStatusResponse expected = BudgetService.buildBudgetStatus(List.of(overall, food),
+                MonthlyTotals.from(List.of(
+                        new CategoryTypeTotal("cat1", TransactionType.INCOME, 1000, 1),
+                        new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 5000, 1),
+                        new CategoryTypeTotal(null, TransactionType.EXPENSE, 5000, 1))));
+        assertEquals(90.0, response.getOverallSpent());
+        assertEquals(expected.getOverallRemaining(), response.getOverallRemaining());
+        assertEquals(40.0, response.getCategoryBudgets().get(0).getSpent());
+        assertEquals(expected.getAlerts().size(), response.getAlerts().size());
+    }
+
+    @Test
+    public void testMonthlySummaryLoadsTotalsOnce() {
+        Category cat = new Category();
+        cat.setId("cat1");
+        cat.setName("Food");
+
+        when(budgetRepository.findByUserIdAndYearAndMonth(any(), any(), any())).thenReturn(Flux.empty());
+        when(rollupRepository.findByUserIdAndYearAndMonth(any(), any(), any()))
+                .thenReturn(Flux.just(rollup("cat1", 0, 2550), rollup(null, 10000, 0)));
+        when(categoryRepository.findAllById(List.of("cat1"))).thenReturn(Flux.just(cat));
+
+        MonthlySummaryResponse response = readService.getMonthlySummary(user, MAY).block();
+
+        assertEquals(100.0, response.getTotalIncome());
+        assertEquals(25.5, response.getTotalExpenses());
+        assertEquals("Food", response.getCategoryExpenses().get(0).getCategoryName());
+        // Budget status from the same totals: income covers the expenses, so nothing net spent
+        assertEquals(0.0, response.getBudgetStatus().getOverallSpent());
+        verify(rollupRepository).findByUserIdAndYearAndMonth("user1", 2024, 5);
+    }
+
+    @Test
+    public void testTotalsFallBackToAggregationWithoutRollups() {
+        ReflectionTestUtils.setField(readService, "rollupsEnabled", false);
+        when(transactionRepository.sumByCategoryAndType("user1", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)))
+                .thenReturn(Flux.just(new CategoryTypeTotal("cat1", TransactionType.EXPENSE, 1234, 3)));
+
+        MonthlyTotals totals = readService.getMonthlyTotals(user, MAY).block();
+
+        assertEquals(1234, totals.getTotalExpenses());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    public void testTransactionStreamIsPulledOnDemand() {
+        List<Transaction> all = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Transaction tx = new Transaction();
+            tx.setId("tx" + i);
+            all.add(tx);
+        }
+        AtomicLong requested = new AtomicLong();
+        when(transactionRepository.stream(eq("user1"), any(), eq(500)))
+                .thenReturn(Flux.fromIterable(all).doOnRequest(requested::addAndGet));
+
+        // A subscriber that has only asked for 3 lines gets 3, and nothing more is read
+        List<Transaction> received = readService.streamTransactions(user, null).take(3, true).collectList().block();
+
+        assertEquals(3, received.size());
+        assertEquals(3, requested.get());
+    }
+
+    private MonthlyRollup rollup(String categoryId, long income, long expenses) {
+        MonthlyRollup rollup = new MonthlyRollup();
+        rollup.setCategoryId(categoryId);
+        rollup.setIncome(income);
+        rollup.setExpenses(expenses);
+        return rollup;
+    }
+}
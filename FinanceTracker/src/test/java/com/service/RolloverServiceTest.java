@@ -0,0 +1,152 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.entity.Budget;
+import com.entity.Money;
+import com.repository.BudgetRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class RolloverServiceTest {
+
+    @InjectMocks
+    private RolloverService rolloverService;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private SnapshotService snapshotService;
+
+    @Mock
+    private BudgetAlertService budgetAlertService;
+
+    // Category "food" budgets by month, looked up like the repository would
+    private final Map<YearMonth, Budget> budgets = new HashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(budgetRepository.findByUserIdAndYearAndMonthAndCategoryId(
+                eq("user1"), anyInt(), anyInt(), eq("food")))
+                .thenAnswer(inv -> Optional.ofNullable(budgets.get(
+                        YearMonth.of(inv.<Integer>getArgument(1), inv.<Integer>getArgument(2)))));
+        lenient().when(budgetRepository.findByUserIdAndYearAndMonth(eq("user1"), anyInt(), anyInt()))
+                .thenAnswer(inv -> {
+                    Budget budget = budgets.get(YearMonth.of(inv.<Integer>getArgument(1), inv.<Integer>getArgument(2)));
+                    return budget == null ? List.of() : List.of(budget);
+                });
+    }
+
+    @Test
+    public void testNewBudgetStartsWithThePreviousMonthsUnusedAmount() {
+        // 200 limit + 30 carried in, 150 spent: 80 unused
+        budget(YearMonth.of(2025, 1), 200.0, 30.0, 150.0, true);
+
+        assertEquals(Money.of(80.0), rolloverService.carryInto("user1", YearMonth.of(2025, 2), "food"));
+        assertEquals(Money.ZERO, rolloverService.carryInto("user1", YearMonth.of(2025, 5), "food"));
+    }
+
+    @Test
+    public void testIncomeHeavyMonthCarriesNoMoreThanItsLimit() {
+        // Salary and refunds outweigh expenses: net spent is -300
+        budget(YearMonth.of(2025, 1), 200.0, 30.0, -300.0, true);
+
+        assertEquals(Money.of(230.0), rolloverService.carryInto("user1", YearMonth.of(2025, 2), "food"));
+    }
+
+    @Test
+    public void testOverspentOrNonRolloverBudgetsCarryNothing() {
+        budget(YearMonth.of(2025, 1), 200.0, 0.0, 250.0, true);
+        budget(YearMonth.of(2025, 3), 200.0, 0.0, 50.0, false);
+
+        assertEquals(Money.ZERO, rolloverService.carryInto("user1", YearMonth.of(2025, 2), "food"));
+        assertEquals(Money.ZERO, rolloverService.carryInto("user1", YearMonth.of(2025, 4), "food"));
+    }
+
+    @Test
+    public void testLateExpenseUpdatesTheChainUntilTheCarryStopsChanging() {
+        // Jan passes 100 to Feb; Feb passes 100 + 100 - 50 = 150 to Mar; Mar is overspent and passes 0 to Apr
+        budget(YearMonth.of(2025, 1), 100.0, 0.0, 0.0, true);
+        budget(YearMonth.of(2025, 2), 100.0, 100.0, 50.0, true);
+        budget(YearMonth.of(2025, 3), 100.0, 150.0, 400.0, true);
+        budget(YearMonth.of(2025, 4), 100.0, 0.0, 0.0, true);
+
+        // A 40 expense dated in January
+        budgets.get(YearMonth.of(2025, 1)).setSpent(Money.of(40.0));
+        rolloverService.onTransactionsChanged(new TransactionsChangedEvent("user1", Set.of(YearMonth.of(2025, 1))));
+
+        assertEquals(Money.of(60.0), budgets.get(YearMonth.of(2025, 2)).getCarriedOver());
+        assertEquals(Money.of(110.0), budgets.get(YearMonth.of(2025, 3)).getCarriedOver());
+        verify(budgetRepository).setCarriedOver("2025-02", Money.of(60.0));
+        verify(budgetRepository).setCarriedOver("2025-03", Money.of(110.0));
+        // March still passes 0, so April is left as it was
+        verify(budgetRepository, never()).setCarriedOver(eq("2025-04"), any());
+        verify(snapshotService).invalidate("user1", List.of(YearMonth.of(2025, 2), YearMonth.of(2025, 3)));
+        // Their effective limits changed, so their stored alert levels are re-evaluated
+        verify(budgetAlertService).evaluate(budgets.get(YearMonth.of(2025, 2)));
+        verify(budgetAlertService).evaluate(budgets.get(YearMonth.of(2025, 3)));
+        verify(budgetAlertService, never()).evaluate(budgets.get(YearMonth.of(2025, 4)));
+    }
+
+    @Test
+    public void testUnchangedCarryTouchesNothingAfterTheNextMonth() {
+        budget(YearMonth.of(2025, 1), 100.0, 0.0, 20.0, true);
+        budget(YearMonth.of(2025, 2), 100.0, 80.0, 0.0, true);
+
+        rolloverService.propagate(budgets.get(YearMonth.of(2025, 1)));
+
+        verify(budgetRepository, never()).setCarriedOver(anyString(), any());
+        verifyNoInteractions(snapshotService, rollupService, budgetAlertService);
+    }
+
+    @Test
+    public void testDeletedBudgetStopsCarryingIntoTheNextMonth() {
+        Budget january = budget(YearMonth.of(2025, 1), 100.0, 0.0, 20.0, true);
+        budget(YearMonth.of(2025, 2), 100.0, 80.0, 0.0, false);
+        budgets.remove(YearMonth.of(2025, 1));
+
+        rolloverService.propagateDeleted(january);
+
+        verify(budgetRepository).setCarriedOver("2025-02", Money.ZERO);
+    }
+
+    private Budget budget(YearMonth yearMonth, double limit, double carriedOver, double spent, boolean rollover) {
+        Budget budget = new Budget();
+        budget.setId(yearMonth.toString());
+        budget.setUserId("user1");
+        budget.setCategoryId("food");
+        budget.setYear(yearMonth.getYear());
+        budget.setMonth(yearMonth.getMonthValue());
+        budget.setMonthlyLimit(Money.of(limit));
+        budget.setCarriedOver(Money.of(carriedOver));
+        budget.setSpent(Money.of(spent));
+        budget.setAllowRollover(rollover);
+        budgets.put(yearMonth, budget);
+        return budget;
+    }
+}
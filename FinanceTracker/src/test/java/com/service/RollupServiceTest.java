@@ -0,0 +1,213 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.entity.Category;
+import com.entity.Money;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.UpdateResult;
+import com.repository.MonthlyRollupRepository;
+import com.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class RollupServiceTest {
+
+    @InjectMocks
+    private RollupService rollupService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(rollupService, "enabled", true);
+        user = new User();
+        user.setId("user1");
+    }
+
+    @Test
+    public void testOnUpdated_MovesAmountBetweenMonthsAndCategories() {
+        Transaction before = transaction("EXPENSE", 40.0, LocalDate.of(2024, 5, 31), category("food"));
+        Transaction after = transaction("EXPENSE", 55.0, LocalDate.of(2024, 6, 1), category("travel"));
+
+        rollupService.onUpdated(before, after);
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(queries.capture(), updates.capture(), eq(MonthlyRollup.class));
+
+        List<Query> q = queries.getAllValues();
+        List<Update> u = updates.getAllValues();
+
+        // Old bucket: May / food decremented
+        assertEquals(5, q.get(0).getQueryObject().get("month"));
+        assertEquals("food", q.get(0).getQueryObject().get("categoryId"));
+        assertEquals(-4000L, inc(u.get(0)).get("expenses"));
+        assertEquals(-1, inc(u.get(0)).get("count"));
+
+        // New bucket: June / travel incremented
+        assertEquals(6, q.get(1).getQueryObject().get("month"));
+        assertEquals("travel", q.get(1).getQueryObject().get("categoryId"));
+        assertEquals(5500L, inc(u.get(1)).get("expenses"));
+        assertEquals(1, inc(u.get(1)).get("count"));
+    }
+
+    @Test
+    public void testOnCreated_IncomeGoesToIncomeBucket() {
+        rollupService.onCreated(transaction("income", 12.5, LocalDate.of(2024, 1, 10), null));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(MonthlyRollup.class));
+
+        assertEquals(null, query.getValue().getQueryObject().get("categoryId"));
+        assertEquals(1250L, inc(update.getValue()).get("income"));
+    }
+
+    @Test
+    public void testDisabled_DoesNotTouchRollups() {
+        ReflectionTestUtils.setField(rollupService, "enabled", false);
+
+        rollupService.onDeleted(transaction("EXPENSE", 10.0, LocalDate.of(2024, 1, 10), null));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void testTotalsComeFromTransactionsUntilBackfilled() {
+        MongoCollection<Document> checkpoints = collection();
+        when(mongoTemplate.getCollection("migrations")).thenReturn(checkpoints);
+        FindIterable<Document> none = iterable(List.of());
+        when(checkpoints.find(any(Bson.class))).thenReturn(none);
+        YearMonth march = YearMonth.of(2024, 3);
+
+        rollupService.getMonthlyTotals(user, march);
+
+        verify(transactionRepository).sumByCategoryAndType("user1", march.atDay(1), march.atEndOfMonth());
+        verifyNoInteractions(rollupRepository);
+
+        ReflectionTestUtils.setField(rollupService, "backfilled", true);
+        rollupService.getMonthlyTotals(user, march);
+
+        verify(rollupRepository).findByUserIdAndYearAndMonth("user1", 2024, 3);
+    }
+
+    @Test
+    public void testRebuildLeavesABucketThatChangedSinceItWasRead() {
+        MongoCollection<Document> rollups = collection();
+        MongoCollection<Document> transactions = collection();
+        when(mongoTemplate.getCollectionName(MonthlyRollup.class)).thenReturn("monthly_rollups");
+        when(mongoTemplate.getCollectionName(Transaction.class)).thenReturn("transactions");
+        when(mongoTemplate.getCollection("monthly_rollups")).thenReturn(rollups);
+        when(mongoTemplate.getCollection("transactions")).thenReturn(transactions);
+
+        Document bucket = new Document("_id", "b1").append("userId", "user1").append("year", 2024)
+                .append("month", 3).append("categoryId", null)
+                .append("income", 0L).append("expenses", 1000L).append("count", 1L);
+        FindIterable<Document> buckets = iterable(List.of(bucket));
+        when(rollups.find(any(Bson.class))).thenReturn(buckets);
+        Date date = Date.from(LocalDate.of(2024, 3, 5).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        FindIterable<Document> txs = iterable(List.of(
+                new Document("amount", 1000L).append("type", "EXPENSE").append("date", date),
+                new Document("amount", 250L).append("type", "EXPENSE").append("date", date)));
+        when(transactions.find(any(Bson.class))).thenReturn(txs);
+        when(txs.projection(any())).thenReturn(txs);
+        when(txs.batchSize(1000)).thenReturn(txs);
+        // A $inc got in between: the bucket no longer holds what was read
+        when(rollups.updateOne(any(Bson.class), any(Bson.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertFalse(rollupService.tryRebuild("user1"));
+
+        when(rollups.updateOne(any(Bson.class), any(Bson.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        assertTrue(rollupService.tryRebuild("user1"));
+        ArgumentCaptor<Bson> replace = ArgumentCaptor.forClass(Bson.class);
+        verify(rollups, times(2)).updateOne(any(Bson.class), replace.capture());
+        assertEquals(1250L, replace.getValue().toBsonDocument().getDocument("$set").getInt64("expenses").getValue());
+        verify(mongoTemplate, never()).insert(any(MonthlyRollup.class));
+    }
+
+    private Transaction transaction(String type, double amount, LocalDate date, Category category) {
+        Transaction tx = new Transaction();
+        tx.setUserId(user.getId());
+        tx.setType(TransactionType.parse(type));
+        tx.setAmount(Money.of(amount));
+        tx.setDate(date);
+        tx.setCategoryId(category != null ? category.getId() : null);
+        return tx;
+    }
+
+    private static Category category(String id) {
+        Category category = new Category();
+        category.setId(id);
+        return category;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCollection<Document> collection() {
+        return mock(MongoCollection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FindIterable<Document> iterable(List<Document> docs) {
+        FindIterable<Document> iterable = mock(FindIterable.class);
+        lenient().when(iterable.first()).thenReturn(docs.isEmpty() ? null : docs.get(0));
+        lenient().when(iterable.iterator()).thenAnswer(invocation -> {
+            Iterator<Document> it = docs.iterator();
+            MongoCursor<Document> cursor = mock(MongoCursor.class);
+            lenient().when(cursor.hasNext()).thenAnswer(i -> it.hasNext());
+            lenient().when(cursor.next()).thenAnswer(i -> it.next());
+            return cursor;
+        });
+        return iterable;
+    }
+
+    private static Document inc(Update update) {
+        return update.getUpdateObject().get("$inc", Document.class);
+    }
+}
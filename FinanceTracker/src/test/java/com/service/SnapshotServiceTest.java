@@ -0,0 +1,104 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dto.MonthlySummaryResponse;
+import com.entity.MonthlySnapshot;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotServiceTest {
+
+    @InjectMocks
+    private SnapshotService snapshotService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(snapshotService, "enabled", true);
+        ReflectionTestUtils.setField(snapshotService, "clock",
+                Clock.fixed(LocalDate.of(2025, 6, 15).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                        ZoneId.systemDefault()));
+    }
+
+    @Test
+    public void testOnlyClosedMonthsUseSnapshots() {
+        assertTrue(snapshotService.appliesTo(YearMonth.of(2025, 5)));
+        assertFalse(snapshotService.appliesTo(YearMonth.of(2025, 6)));
+        assertFalse(snapshotService.appliesTo(YearMonth.of(2025, 7)));
+    }
+
+    @Test
+    public void testLateWritesMarkClosedMonthsStaleInOneBulkUpsert() {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, MonthlySnapshot.class)).thenReturn(bulkOperations);
+
+        snapshotService.onTransactionsChanged(new TransactionsChangedEvent("user1",
+                Set.of(YearMonth.of(2025, 3), YearMonth.of(2025, 6))));
+
+        // The open month has no snapshot to invalidate
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(1)).upsert(query.capture(), update.capture());
+        verify(bulkOperations).execute();
+        assertEquals("user1:2025-03", query.getValue().getQueryObject().get("_id"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(true, set.get("stale"));
+        assertEquals(1, inc.get("version"));
+    }
+
+    @Test
+    public void testWritesToTheOpenMonthDoNotTouchSnapshots() {
+        snapshotService.invalidate("user1", List.of(YearMonth.of(2025, 6)));
+
+        verify(mongoTemplate, never()).bulkOps(any(BulkMode.class), eq(MonthlySnapshot.class));
+    }
+
+    @Test
+    public void testRefreshIsConditionalOnTheVersionItRead() {
+        MonthlySnapshot seen = new MonthlySnapshot();
+        seen.setId("user1:2025-03");
+        seen.setVersion(4);
+
+        snapshotService.save("user1", YearMonth.of(2025, 3), seen, new MonthlySummaryResponse());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(query.capture(), any(Update.class), eq(MonthlySnapshot.class));
+        assertEquals("user1:2025-03", query.getValue().getQueryObject().get("_id"));
+        assertEquals(4L, query.getValue().getQueryObject().get("version"));
+    }
+}
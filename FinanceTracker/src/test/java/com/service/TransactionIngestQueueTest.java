@@ -0,0 +1,236 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.controller.TransactionController;
+import com.entity.Money;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionIngestQueueTest {
+
+    @InjectMocks
+    private TransactionIngestQueue ingestQueue;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private BudgetReservationService budgetReservationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(ingestQueue, "enabled", true);
+        ReflectionTestUtils.setField(ingestQueue, "capacity", 10);
+        // No writer threads unless a test starts some: stop() drains the queue on the calling thread
+        ReflectionTestUtils.setField(ingestQueue, "writers", 0);
+        ReflectionTestUtils.setField(ingestQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(ingestQueue, "offerTimeout", Duration.ZERO);
+        ReflectionTestUtils.setField(ingestQueue, "persistTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(ingestQueue, "drainTimeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void testQueuedTransactionsAreWrittenAsOneBulkOnDrain() throws Exception {
+        stubBulk();
+        ingestQueue.start();
+        CompletableFuture<Transaction> a = ingestQueue.submit(tx("u1"));
+        CompletableFuture<Transaction> b = ingestQueue.submit(tx("u1"));
+        CompletableFuture<Transaction> c = ingestQueue.submit(tx("u2"));
+        assertEquals(3, ingestQueue.size());
+
+        ingestQueue.stop();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        assertEquals(3, inserted.getValue().size());
+        verify(rollupService).onCreated(inserted.getValue());
+        // One change event per user
+        verify(eventPublisher, times(2)).publishEvent(any(TransactionsChangedEvent.class));
+
+        // Ids are assigned at submit, so an accepted response can already carry them
+        assertNotNull(a.get().getId());
+        assertSame(inserted.getValue().get(1), b.get());
+        assertEquals("u2", c.get().getUserId());
+        assertEquals(3, ingestQueue.written());
+        assertEquals(0, ingestQueue.size());
+    }
+
+    @Test
+    public void testFullQueueAnswersServiceUnavailable() {
+        ReflectionTestUtils.setField(ingestQueue, "capacity", 1);
+        ingestQueue.start();
+        ingestQueue.submit(tx("u1"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> ingestQueue.submit(tx("u1")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    }
+
+    @Test
+    public void testFailedInsertReleasesItsReservation() throws Exception {
+        stubBulk();
+        BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("bulk write failed",
+                new MongoBulkWriteException(BulkWriteResult.unacknowledged(), List.of(duplicate),
+                        null, new ServerAddress(), Set.of())));
+
+        ingestQueue.start();
+        CompletableFuture<Transaction> ok = ingestQueue.submit(tx("u1"));
+        Transaction failing = tx("u1");
+        CompletableFuture<Transaction> failed = ingestQueue.submit(failing);
+        ingestQueue.stop();
+
+        assertNotNull(ok.get());
+        assertTrue(failed.isCompletedExceptionally());
+        verify(budgetReservationService).release("u1", failing);
+        verify(rollupService).onCreated(List.of(ok.get()));
+        assertEquals(1, ingestQueue.written());
+        assertEquals(1, ingestQueue.failed());
+    }
+
+    @Test
+    public void testRollupFailureStillCompletesTheWrittenTransactions() throws Exception {
+        stubBulk();
+        doThrow(new IllegalStateException("rollups down")).when(rollupService).onCreated(anyList());
+
+        ingestQueue.start();
+        CompletableFuture<Transaction> future = ingestQueue.submit(tx("u1"));
+        ingestQueue.stop();
+
+        // The insert went through: the caller gets its 200, the rollup failure is counted apart
+        assertNotNull(future.get());
+        assertEquals(1, ingestQueue.written());
+        assertEquals(0, ingestQueue.failed());
+        assertEquals(1, ingestQueue.derivedFailed());
+        verify(eventPublisher).publishEvent(any(TransactionsChangedEvent.class));
+    }
+
+    @Test
+    public void testAckParamIsCaseInsensitive() throws Exception {
+        ReflectionTestUtils.setField(ingestQueue, "defaultAck", TransactionIngestQueue.Ack.PERSISTED);
+        TransactionController controller = new TransactionController();
+        ReflectionTestUtils.setField(controller, "transactionService", transactionService);
+        ReflectionTestUtils.setField(controller, "ingestQueue", ingestQueue);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        User user = new User();
+        user.setId("u1");
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null, List.of());
+        when(transactionService.enqueue(any(), any())).thenReturn(CompletableFuture.completedFuture(tx("u1")));
+        String body = "{\"amount\": 12.50, \"type\": \"EXPENSE\"}";
+
+        mockMvc.perform(post("/api/transactions?ack=accepted").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(post("/api/transactions?ack=Persisted").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/transactions").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/transactions?ack=eventually").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+        // The rejected one was never queued
+        verify(transactionService, times(3)).enqueue(any(), any());
+    }
+
+    @Test
+    public void testWriterThreadCompletesPersistedAck() throws Exception {
+        stubBulk();
+        ReflectionTestUtils.setField(ingestQueue, "writers", 1);
+        ingestQueue.start();
+        try {
+            Transaction tx = tx("u1");
+            Transaction saved = ingestQueue.awaitPersisted(ingestQueue.submit(tx));
+
+            assertSame(tx, saved);
+            verify(budgetReservationService, never()).release(any(), any());
+        } finally {
+            ingestQueue.stop();
+        }
+    }
+
+    @Test
+    public void testSubmitAfterStopIsRejected() {
+        ingestQueue.start();
+        ingestQueue.stop();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> ingestQueue.submit(tx("u1")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    }
+
+    private void stubBulk() {
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, Transaction.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    private static Transaction tx(String userId) {
+        Transaction tx = new Transaction();
+        tx.setUserId(userId);
+        tx.setAmount(Money.of(12.5));
+        tx.setType(TransactionType.EXPENSE);
+        tx.setDate(LocalDate.of(2025, 3, 14));
+        return tx;
+    }
+}
@@ -0,0 +1,94 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.dto.TransactionCursor;
+import com.dto.TransactionPage;
+import com.entity.Transaction;
+import com.entity.User;
+import com.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionServiceTest {
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(transactionService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(transactionService, "maxPageSize", 10);
+        user = new User();
+        user.setId("user1");
+    }
+
+    @Test
+    public void testFindPage_ReturnsCursorOfLastItemWhenMoreRowsExist() {
+        when(transactionRepository.findPage(eq("user1"), any(), isNull(), eq(3)))
+                .thenReturn(rows(3));
+
+        TransactionPage page = transactionService.findPage(user, null, null, null);
+
+        assertEquals(2, page.getItems().size());
+        TransactionCursor cursor = TransactionCursor.decode(page.getNextCursor());
+        assertEquals("tx1", cursor.getId());
+        assertEquals(LocalDate.of(2024, 5, 9), cursor.getDate());
+    }
+
+    @Test
+    public void testFindPage_PassesDecodedCursorAndStopsOnLastPage() {
+        String token = new TransactionCursor(LocalDate.of(2024, 5, 9), "tx1").encode();
+        when(transactionRepository.findPage(eq("user1"), any(), any(), eq(6))).thenReturn(rows(1));
+
+        TransactionPage page = transactionService.findPage(user, null, token, 5);
+
+        ArgumentCaptor<TransactionCursor> after = ArgumentCaptor.forClass(TransactionCursor.class);
+        verify(transactionRepository).findPage(eq("user1"), any(), after.capture(), eq(6));
+        assertEquals("tx1", after.getValue().getId());
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void testFindPage_RejectsMalformedCursor() {
+        assertThrows(ResponseStatusException.class,
+                () -> transactionService.findPage(user, null, "not-a-cursor", null));
+    }
+
+    private static List<Transaction> rows(int n) {
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Transaction tx = new Transaction();
+            tx.setId("tx" + i);
+            tx.setDate(LocalDate.of(2024, 5, 10 - i));
+            rows.add(tx);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,138 @@
+package com.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dto.TrendResponse;
+import com.entity.Category;
+import com.entity.TransactionType;
+import com.entity.User;
+import com.repository.CategoryRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TrendServiceTest {
+
+    // "Now" is mid-June 2025: everything up to May 2025 is closed
+    private static final YearMonth CURRENT = YearMonth.of(2025, 6);
+
+    @InjectMocks
+    private TrendService trendService;
+
+    @Mock
+    private RollupService rollupService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private final User user = new User();
+
+    @BeforeEach
+    public void setUp() {
+        user.setId("user1");
+        ReflectionTestUtils.setField(trendService, "maxMonths", 36);
+        ReflectionTestUtils.setField(trendService, "maxSize", 1000L);
+        ReflectionTestUtils.setField(trendService, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(trendService, "clock",
+                Clock.fixed(LocalDate.of(2025, 6, 15).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                        ZoneId.systemDefault()));
+        trendService.init();
+
+        Category food = new Category();
+        food.setId("food");
+        food.setName("Food");
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(food));
+    }
+
+    @Test
+    public void testTrendFromOneQueryWithMonthOverMonthAndYearOverYear() {
+        // 12-month window Jul 2024..Jun 2025 plus the 12 months before it, in one range query
+        Map<YearMonth, MonthlyTotals> data = new HashMap<>();
+        data.put(YearMonth.of(2024, 5), totals(300000, 100000));
+        data.put(YearMonth.of(2025, 4), totals(400000, 200000));
+        data.put(YearMonth.of(2025, 5), totals(400000, 250000));
+        when(rollupService.getMonthlyTotals(eq(user), eq(YearMonth.of(2023, 7)), eq(CURRENT))).thenReturn(data);
+
+        TrendResponse response = trendService.getTrend(user, CURRENT, 12);
+
+        assertEquals(12, response.getTrend().size());
+        TrendResponse.MonthTrend may = response.getTrend().get(10);
+        assertEquals(5, may.getMonth());
+        assertEquals(4000.0, may.getIncome());
+        assertEquals(2500.0, may.getExpenses());
+        assertEquals(1500.0, may.getSavings());
+        assertEquals(37.5, may.getSavingsRate());
+        assertEquals(2500.0, may.getCategoryExpenses().get("Food"));
+        assertEquals(500.0, may.getMonthOverMonth().getExpenses());
+        assertEquals(25.0, may.getMonthOverMonth().getExpensesPercentage());
+        assertEquals(1500.0, may.getYearOverYear().getExpenses());
+        assertEquals(150.0, may.getYearOverYear().getExpensesPercentage());
+
+        // June has no data yet: a drop to zero, no percentage against an empty month
+        TrendResponse.MonthTrend june = response.getTrend().get(11);
+        assertEquals(0.0, june.getExpenses());
+        assertEquals(-2500.0, june.getMonthOverMonth().getExpenses());
+        assertNull(june.getYearOverYear().getExpensesPercentage());
+    }
+
+    @Test
+    public void testClosedMonthsAreServedFromCacheUntilWrittenTo() {
+        when(rollupService.getMonthlyTotals(eq(user), any(), any())).thenReturn(new HashMap<>());
+
+        trendService.getTrend(user, CURRENT, 24);
+        trendService.getTrend(user, CURRENT, 24);
+
+        // Second call only re-reads the open current month
+        verify(rollupService).getMonthlyTotals(user, YearMonth.of(2022, 7), CURRENT);
+        verify(rollupService).getMonthlyTotals(user, CURRENT, CURRENT);
+
+        // A write dated in March 2025 drops that month only
+        trendService.onTransactionsChanged(new TransactionsChangedEvent("user1", Set.of(YearMonth.of(2025, 3))));
+        trendService.getTrend(user, CURRENT, 24);
+
+        verify(rollupService).getMonthlyTotals(user, YearMonth.of(2025, 3), CURRENT);
+        verify(rollupService, times(3)).getMonthlyTotals(eq(user), any(), any());
+    }
+
+    @Test
+    public void testWritesByOtherUsersKeepTheCache() {
+        when(rollupService.getMonthlyTotals(eq(user), any(), any())).thenReturn(new HashMap<>());
+
+        trendService.getTrend(user, YearMonth.of(2025, 5), 12);
+        trendService.onTransactionsChanged(new TransactionsChangedEvent("user2", Set.of(YearMonth.of(2025, 3))));
+        trendService.getTrend(user, YearMonth.of(2025, 5), 12);
+
+        // The whole window is closed: the second call needs no query at all
+        verify(rollupService, times(1)).getMonthlyTotals(eq(user), any(), any());
+        assertEquals(24, trendService.size());
+    }
+
+    private static MonthlyTotals totals(long income, long foodExpenses) {
+        MonthlyTotals totals = new MonthlyTotals();
+        totals.add(null, TransactionType.INCOME, income);
+        totals.add("food", TransactionType.EXPENSE, foodExpenses);
+        return totals;
+    }
+}
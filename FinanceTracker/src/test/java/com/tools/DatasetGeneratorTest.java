@@ -0,0 +1,102 @@
+package com.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.entity.Budget;
+import com.entity.MonthlyRollup;
+import com.entity.Transaction;
+import com.entity.TransactionType;
+
+public class DatasetGeneratorTest {
+
+    private static final YearMonth LAST = YearMonth.of(2024, 12);
+
+    @Test
+    public void testSameSeedSameData() {
+        DatasetGenerator.UserData a = new DatasetGenerator(7, LAST, 12).generateUser(3);
+        DatasetGenerator.UserData b = new DatasetGenerator(7, LAST, 12).generateUser(3);
+        DatasetGenerator.UserData other = new DatasetGenerator(8, LAST, 12).generateUser(3);
+
+        assertEquals(a.getUser().getId(), b.getUser().getId());
+        assertEquals(ids(a.getTransactions()), ids(b.getTransactions()));
+        assertEquals(a.getTransactions().get(0).getAmount(), b.getTransactions().get(0).getAmount());
+        assertNotEquals(a.getUser().getId(), other.getUser().getId());
+    }
+
+    @Test
+    public void testExactTransactionCountWithinRange() {
+        DatasetGenerator generator = new DatasetGenerator(1, LAST, 12);
+        DatasetGenerator.UserData data = generator.generateUser(0, 5000);
+
+        assertEquals(5000, data.getTransactions().size());
+        assertEquals("seed.user0@example.com", data.getUser().getEmail());
+        for (Transaction tx : data.getTransactions()) {
+            YearMonth ym = YearMonth.from(tx.getDate());
+            assertTrue(!ym.isBefore(generator.getFirstMonth()) && !ym.isAfter(LAST));
+            assertTrue(tx.getAmount().isPositive());
+        }
+    }
+
+    @Test
+    public void testRollupsAndSpentMatchTransactions() {
+        DatasetGenerator.UserData data = new DatasetGenerator(2, LAST, 6).generateUser(0, 2000);
+
+        Map<String, long[]> expected = new HashMap<>();
+        for (Transaction tx : data.getTransactions()) {
+            long[] sums = expected.computeIfAbsent(YearMonth.from(tx.getDate()) + "|" + tx.getCategoryId(),
+                    k -> new long[2]);
+            sums[tx.getType() == TransactionType.INCOME ? 0 : 1] += tx.getAmount().minor();
+        }
+        assertEquals(expected.size(), data.getRollups().size());
+        for (MonthlyRollup r : data.getRollups()) {
+            long[] sums = expected.get(YearMonth.of(r.getYear(), r.getMonth()) + "|" + r.getCategoryId());
+            assertEquals(sums[0], r.getIncome());
+            assertEquals(sums[1], r.getExpenses());
+        }
+
+        for (Budget budget : data.getBudgets()) {
+            long net = data.getRollups().stream()
+                    .filter(r -> r.getYear().equals(budget.getYear()) && r.getMonth().equals(budget.getMonth()))
+                    .filter(r -> budget.isOverallBudget() || budget.getCategoryId().equals(r.getCategoryId()))
+                    .mapToLong(r -> r.getExpenses() - r.getIncome())
+                    .sum();
+            assertEquals(net, budget.getSpent().minor());
+        }
+        // One overall budget per month
+        assertEquals(6, data.getBudgets().stream().filter(Budget::isOverallBudget).count());
+    }
+
+    @Test
+    public void testVolumeIsSkewedTowardsFewUsers() {
+        DatasetGenerator generator = new DatasetGenerator(42, LAST, 12);
+        int users = 1000;
+        int[] counts = new int[users];
+        for (int i = 0; i < users; i++) {
+            counts[i] = generator.generateUser(i).getTransactions().size();
+        }
+        Arrays.sort(counts);
+
+        long total = Arrays.stream(counts).asLongStream().sum();
+        long top1Percent = Arrays.stream(counts, users - users / 100, users).asLongStream().sum();
+        int median = counts[users / 2];
+
+        // The top 1% carry far more than 1% of the data, and dwarf the median user
+        assertTrue(top1Percent > total / 10, "top 1% share: " + top1Percent + "/" + total);
+        assertTrue(counts[users - 1] > median * 20, "max " + counts[users - 1] + " vs median " + median);
+    }
+
+    private static List<String> ids(List<Transaction> txs) {
+        return txs.stream().map(Transaction::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+package com.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.entity.Transaction;
+import com.entity.User;
+
+@ExtendWith(MockitoExtension.class)
+public class DatasetSeederTest {
+
+    @InjectMocks
+    private DatasetSeeder datasetSeeder;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testSeedsMissingUsersInBatches() {
+        ReflectionTestUtils.setField(datasetSeeder, "batchSize", 100);
+
+        User existing = new User();
+        existing.setEmail(DatasetGenerator.emailFor(1));
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(existing));
+        when(mongoTemplate.bulkOps(eq(BulkMode.UNORDERED), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        DatasetGenerator generator = new DatasetGenerator(5, YearMonth.of(2024, 6), 3);
+        DatasetSeeder.SeedResult result = datasetSeeder.seed(generator, 4, "hash");
+
+        assertEquals(3, result.getUsers());
+        assertEquals(1, result.getSkippedUsers());
+
+        long expectedTransactions = generator.generateUser(0).getTransactions().size()
+                + generator.generateUser(2).getTransactions().size()
+                + generator.generateUser(3).getTransactions().size();
+        assertEquals(expectedTransactions, result.getTransactions());
+
+        // No insert is larger than the batch size, and every user carries the shared hash
+        ArgumentCaptor<List> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations, atLeastOnce()).insert(inserted.capture());
+        long users = 0;
+        for (List<?> batch : inserted.getAllValues()) {
+            if (!batch.isEmpty() && batch.get(0) instanceof Transaction) {
+                assertTrue(batch.size() <= 100);
+            }
+            for (Object doc : batch) {
+                if (doc instanceof User) {
+                    assertEquals("hash", ((User) doc).getPassword());
+                    users++;
+                }
+            }
+        }
+        assertEquals(3, users);
+    }
+}
@@ -34,7 +34,7 @@ export default function Analytics() {
       const newAlerts = []
       if (Array.isArray(budgets)) {
         for (const budget of budgets) {
-          const catName = budget.category?.name
+          const catName = budget.categoryName
           if (!catName) continue // only category-specific budgets
           const spent = bd[catName] || 0
           if (spent > (budget.monthlyLimit || 0)) {
@@ -61,7 +61,7 @@ export default function Budgets() {
           {budgets.map((b) => (
             <li key={b.id} className="budget-item">
               <div className="budget-main">
-                <span>{b.category?.name || 'General'}</span>
+                <span>{b.categoryName || 'General'}</span>
                 <div className="budget-actions">
                   <span className="budget-amount">{b.monthlyLimit}</span>
                   <button
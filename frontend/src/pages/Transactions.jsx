@@ -3,6 +3,7 @@ import { getTransactions, addTransaction, deleteTransaction, getCategories, expo
 
 export default function Transactions() {
   const [transactions, setTransactions] = useState([])
+  const [nextCursor, setNextCursor] = useState(null)
   const [categories, setCategories] = useState([])
   const [loading, setLoading] = useState(false)
 
@@ -18,8 +19,9 @@ export default function Transactions() {
   async function load() {
     setLoading(true)
     try {
-      const [tx, cats] = await Promise.all([getTransactions(), getCategories()])
-      setTransactions(Array.isArray(tx) ? tx : [])
+      const [page, cats] = await Promise.all([getTransactions(), getCategories()])
+      setTransactions(Array.isArray(page?.items) ? page.items : [])
+      setNextCursor(page?.nextCursor || null)
       setCategories(Array.isArray(cats) ? cats : [])
     } catch (err) {
       console.error(err)
@@ -28,6 +30,17 @@ export default function Transactions() {
     }
   }
 
+  async function loadMore() {
+    if (!nextCursor) return
+    try {
+      const page = await getTransactions({ cursor: nextCursor })
+      setTransactions((prev) => prev.concat(Array.isArray(page?.items) ? page.items : []))
+      setNextCursor(page?.nextCursor || null)
+    } catch (err) {
+      console.error(err)
+    }
+  }
+
   async function handleAdd(e) {
     e.preventDefault()
     if (!amount) return
@@ -38,7 +51,7 @@ export default function Transactions() {
         date,
         note,
       }
-      if (categoryId) payload.category = { id: categoryId }
+      if (categoryId) payload.categoryId = categoryId
       await addTransaction(payload)
       setAmount('')
       setNote('')
@@ -113,7 +126,7 @@ export default function Transactions() {
           {transactions.map((tx) => (
             <li key={tx.id} className="transaction-item">
               <div className="transaction-main">
-                <span className="transaction-category">{tx.category?.name || tx.category || 'Uncategorized'}</span>
+                <span className="transaction-category">{tx.categoryName || 'Uncategorized'}</span>
                 <span className="transaction-amount">{tx.amount}</span>
               </div>
               <div className="transaction-meta">
@@ -130,6 +143,9 @@ export default function Transactions() {
           ))}
         </ul>
       )}
+      {nextCursor && (
+        <button type="button" className="secondary-btn" onClick={loadMore}>Load more</button>
+      )}
     </section>
   )
 }
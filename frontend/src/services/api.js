@@ -48,14 +48,27 @@ export function logout() {
   localStorage.removeItem('jwt')
 }
 
-export async function getTransactions() {
-  return request('/transactions')
+// Returns one page: { items, nextCursor, hasMore }. Pass nextCursor back as params.cursor for the next page.
+export async function getTransactions(params = {}) {
+  const qs = new URLSearchParams(
+    Object.entries(params).filter(([, v]) => v !== undefined && v !== null && v !== '')
+  ).toString()
+  return request(`/transactions${qs ? `?${qs}` : ''}`)
 }
 
 export async function addTransaction(tx) {
   return request('/transactions', { method: 'POST', body: JSON.stringify(tx) })
 }
 
+// Bulk import; pass a CSV string (export column layout) or an array of transactions.
+// Returns { received, accepted, rejected, warnings, rows: [{ row, status, id, message }] }
+export async function importTransactions(data) {
+  if (typeof data === 'string') {
+    return request('/transactions/import', { method: 'POST', body: data, headers: { 'Content-Type': 'text/csv' } })
+  }
+  return request('/transactions/import', { method: 'POST', body: JSON.stringify(data) })
+}
+
 export async function updateTransaction(id, tx) {
   return request(`/transactions/${id}`, { method: 'PUT', body: JSON.stringify(tx) })
 }
@@ -118,6 +131,7 @@ export default {
   logout,
   getTransactions,
   addTransaction,
+  importTransactions,
   updateTransaction,
   deleteTransaction,
   getCategories,